@@ -2,6 +2,7 @@ package org.eclipse.buildship.core
 
 import java.util.function.Function
 
+import org.gradle.tooling.IntermediateResultHandler
 import org.gradle.tooling.ModelBuilder
 import org.gradle.tooling.ProjectConnection
 import org.gradle.tooling.ResultHandler
@@ -18,6 +19,8 @@ import org.eclipse.buildship.core.internal.console.ProcessStreamsProvider
 import org.eclipse.buildship.core.internal.test.fixtures.TestProcessStreamProvider
 import org.eclipse.buildship.core.internal.util.gradle.BuildActionUtil
 import org.eclipse.buildship.core.internal.workspace.DefaultModelProvider
+import org.eclipse.buildship.core.internal.workspace.FetchStrategy
+import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild
 
 class GradleBuildConnectionCachingTest extends BaseProjectConfiguratorTest {
 
@@ -94,6 +97,46 @@ class GradleBuildConnectionCachingTest extends BaseProjectConfiguratorTest {
         assertModelLoadedOnce()
     }
 
+    def "Models loaded during synchronization are published to the model cache"() {
+        setup:
+        TestConfigurator configurator = new TestConfigurator({ ProjectConnection p -> p.getModel(GradleProject) })
+        registerConfigurator(configurator)
+        InternalGradleBuild gradleBuild = gradleBuildFor(location)
+
+        when:
+        gradleBuild.synchronize(new NullProgressMonitor())
+        GradleProject gradleProject = gradleBuild.modelProvider.fetchModel(GradleProject, FetchStrategy.FROM_CACHE_ONLY, null, null)
+        Collection<EclipseProject> eclipseProjects = gradleBuild.modelProvider.fetchModels(EclipseProject, FetchStrategy.LOAD_IF_NOT_CACHED, null, null)
+
+        then:
+        gradleProject.is(configurator.result)
+        eclipseProjects.size() == 1
+        assertModelLoadedTwice()
+    }
+
+    def "Phased build action loads value from cache during synchronization"() {
+        setup:
+        IntermediateResultHandler<Collection<EclipseProject>> firstHandler = Mock(IntermediateResultHandler)
+        IntermediateResultHandler<Collection<EclipseProject>> secondHandler = Mock(IntermediateResultHandler)
+        TestConfigurator firstConfigurator = new TestConfigurator({ ProjectConnection p -> p.action().buildFinished(BuildActionUtil.compositeModelQuery(EclipseProject.class), firstHandler).build().run() })
+        TestConfigurator secondConfigurator = new TestConfigurator({ ProjectConnection p -> p.action().buildFinished(BuildActionUtil.compositeModelQuery(EclipseProject.class), secondHandler).build().run() })
+        registerConfigurator(firstConfigurator)
+        registerConfigurator(secondConfigurator)
+        GradleBuild gradleBuild = gradleBuildFor(location)
+        Collection<EclipseProject> result
+
+        when:
+        gradleBuild.synchronize(new NullProgressMonitor())
+
+        then:
+        1 * firstHandler.onComplete({ result = it })
+        1 * secondHandler.onComplete({ it.is(result) })
+        // synchronization loads EclipseProject with CompositeModelQuery build action
+        // first configurator loads EclipseProject with the phased build action
+        // second configurator loads the phased build action results from the cache
+        assertModelLoadedTwice()
+    }
+
     def "Result loaded from the build cache if same properties are specified"() {
         setup:
         List<String> tasks = ['projects']
@@ -0,0 +1,78 @@
+package org.eclipse.buildship.core.internal
+
+import org.gradle.tooling.ProjectConnection
+import org.gradle.tooling.model.build.BuildEnvironment
+
+import org.eclipse.core.resources.IProject
+import org.eclipse.core.resources.IResource
+import org.eclipse.core.runtime.NullProgressMonitor
+
+import org.eclipse.buildship.core.GradleDistribution
+import org.eclipse.buildship.core.internal.configuration.GradleArguments
+import org.eclipse.buildship.core.internal.test.fixtures.WorkspaceSpecification
+
+class BuildEnvironmentCacheTest extends WorkspaceSpecification {
+
+    def cleanup() {
+        cache.invalidateAll()
+    }
+
+    def "Build environment is loaded once per arguments"() {
+        setup:
+        ProjectConnection connection = Mock(ProjectConnection)
+        GradleArguments arguments = arguments(dir('build'), null)
+        GradleArguments otherJavaHome = arguments(dir('build'), dir('java-home'))
+
+        when:
+        cache.get(arguments, connection)
+        cache.get(arguments, connection)
+        cache.get(otherJavaHome, connection)
+
+        then:
+        2 * connection.getModel(BuildEnvironment) >> Mock(BuildEnvironment)
+    }
+
+    def "Build environment is reloaded when the wrapper properties change"() {
+        setup:
+        IProject project = newProject('build')
+        ProjectConnection connection = Mock(ProjectConnection) {
+            getModel(BuildEnvironment) >> Mock(BuildEnvironment)
+        }
+        GradleArguments arguments = arguments(project.location.toFile(), null)
+        cache.get(arguments, connection)
+
+        when:
+        new File(dir('build/gradle/wrapper'), 'gradle-wrapper.properties') << 'distributionUrl=https\\://services.gradle.org/distributions/gradle-5.0-bin.zip'
+        project.refreshLocal(IResource.DEPTH_INFINITE, new NullProgressMonitor())
+        cache.get(arguments, connection)
+
+        then:
+        1 * connection.getModel(BuildEnvironment) >> Mock(BuildEnvironment)
+    }
+
+    def "Build environment is reloaded when the Gradle properties change"() {
+        setup:
+        IProject project = newProject('build')
+        ProjectConnection connection = Mock(ProjectConnection) {
+            getModel(BuildEnvironment) >> Mock(BuildEnvironment)
+        }
+        GradleArguments arguments = arguments(project.location.toFile(), null)
+        cache.get(arguments, connection)
+
+        when:
+        new File(dir('build'), 'gradle.properties') << 'org.gradle.jvmargs=-Xmx1g'
+        project.refreshLocal(IResource.DEPTH_INFINITE, new NullProgressMonitor())
+        cache.get(arguments, connection)
+
+        then:
+        1 * connection.getModel(BuildEnvironment) >> Mock(BuildEnvironment)
+    }
+
+    private static GradleArguments arguments(File rootDir, File javaHome) {
+        GradleArguments.from(rootDir, GradleDistribution.fromBuild(), null, javaHome, false, false, [], [])
+    }
+
+    private static BuildEnvironmentCache getCache() {
+        CorePlugin.buildEnvironmentCache()
+    }
+}
@@ -0,0 +1,83 @@
+package org.eclipse.buildship.core.internal
+
+import org.gradle.tooling.ProjectConnection
+
+import org.eclipse.buildship.core.GradleDistribution
+import org.eclipse.buildship.core.internal.configuration.GradleArguments
+import org.eclipse.buildship.core.internal.test.fixtures.WorkspaceSpecification
+
+class ProjectConnectionPoolTest extends WorkspaceSpecification {
+
+    def "Released connection is reused by lease with equal arguments"() {
+        setup:
+        ProjectConnectionPool pool = new ProjectConnectionPool(2, 60000)
+        ProjectConnection connection = Mock(ProjectConnection)
+        pool.release(arguments('build'), connection)
+
+        expect:
+        pool.lease(arguments('build')).is(connection)
+        pool.idleConnectionCount == 0
+
+        cleanup:
+        pool.close()
+    }
+
+    def "Least recently released connection is closed if the pool is full"() {
+        setup:
+        ProjectConnectionPool pool = new ProjectConnectionPool(2, 60000)
+        ProjectConnection first = Mock(ProjectConnection)
+        ProjectConnection second = Mock(ProjectConnection)
+        ProjectConnection third = Mock(ProjectConnection)
+
+        when:
+        pool.release(arguments('first'), first)
+        pool.release(arguments('second'), second)
+        pool.release(arguments('third'), third)
+
+        then:
+        1 * first.close()
+        0 * second.close()
+        0 * third.close()
+        pool.idleConnectionCount == 2
+
+        cleanup:
+        pool.close()
+    }
+
+    def "Idle connections are closed after the idle timeout"() {
+        setup:
+        ProjectConnectionPool pool = new ProjectConnectionPool(2, 100)
+        ProjectConnection connection = Mock(ProjectConnection)
+
+        when:
+        pool.release(arguments('build'), connection)
+        waitFor { pool.idleConnectionCount == 0 }
+
+        then:
+        1 * connection.close()
+
+        cleanup:
+        pool.close()
+    }
+
+    def "Connections are closed when the pool is closed"() {
+        setup:
+        ProjectConnectionPool pool = new ProjectConnectionPool(2, 60000)
+        ProjectConnection idle = Mock(ProjectConnection)
+        ProjectConnection leased = Mock(ProjectConnection)
+        pool.release(arguments('build'), idle)
+
+        when:
+        pool.close()
+        pool.release(arguments('build'), leased)
+
+        then:
+        1 * idle.close()
+        1 * leased.close()
+        pool.idleConnectionCount == 0
+    }
+
+    private GradleArguments arguments(String rootDir) {
+        GradleArguments.from(dir(rootDir), GradleDistribution.fromBuild(), null, null, false, false, [], [])
+    }
+}
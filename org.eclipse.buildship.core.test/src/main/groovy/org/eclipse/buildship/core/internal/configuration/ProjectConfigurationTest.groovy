@@ -304,6 +304,64 @@ class ProjectConfigurationTest extends ProjectSynchronizationSpecification {
         configurationManager.buildConfigurationPersistence.readPathToRoot(projectDir) == "../$rootProjectDir.name"
     }
 
+    def "project configuration is cached until the preferences file changes"() {
+        setup:
+        BuildConfiguration buildConfig = createInheritingBuildConfiguration(rootProjectDir)
+        configurationManager.saveProjectConfiguration(configurationManager.createProjectConfiguration(buildConfig, projectDir))
+        configurationManager.loadProjectConfiguration(project)
+        File preferencesFile = new File(projectDir, ".settings/${CorePlugin.PLUGIN_ID}.prefs")
+
+        when:
+        preferencesFile.text = 'connection.project.dir=../nonexistent-project'
+
+        then:
+        configurationManager.loadProjectConfiguration(project).buildConfiguration.rootProjectDirectory == rootProjectDir
+
+        when:
+        project.refreshLocal(IResource.DEPTH_INFINITE, new NullProgressMonitor())
+        configurationManager.loadProjectConfiguration(project)
+
+        then:
+        thrown RuntimeException
+    }
+
+    def "write session saves the configuration upon commit"() {
+        setup:
+        BuildConfiguration buildConfig = createInheritingBuildConfiguration(rootProjectDir)
+        ConfigurationWriteSession session = configurationManager.beginWriteSession()
+        File preferencesFile = new File(projectDir, ".settings/${CorePlugin.PLUGIN_ID}.prefs")
+
+        when:
+        session.saveProjectConfiguration(configurationManager.createProjectConfiguration(buildConfig, rootProjectDir))
+        session.saveProjectConfiguration(configurationManager.createProjectConfiguration(buildConfig, projectDir))
+
+        then:
+        !preferencesFile.exists()
+        configurationManager.loadProjectConfiguration(project).buildConfiguration == buildConfig
+
+        when:
+        session.commit()
+
+        then:
+        preferencesFile.exists()
+        configurationManager.loadProjectConfiguration(project).buildConfiguration == buildConfig
+    }
+
+    def "write session does not rewrite unchanged configuration"() {
+        setup:
+        BuildConfiguration buildConfig = createInheritingBuildConfiguration(rootProjectDir)
+        configurationManager.saveProjectConfiguration(configurationManager.createProjectConfiguration(buildConfig, projectDir))
+        long modificationStamp = project.getFile(".settings/${CorePlugin.PLUGIN_ID}.prefs").modificationStamp
+
+        when:
+        ConfigurationWriteSession session = configurationManager.beginWriteSession()
+        session.saveProjectConfiguration(configurationManager.createProjectConfiguration(buildConfig, projectDir))
+        session.commit()
+
+        then:
+        project.getFile(".settings/${CorePlugin.PLUGIN_ID}.prefs").modificationStamp == modificationStamp
+    }
+
     private void setInvalidPreferenceOn(IProject project) {
         PreferenceStore preferences = PreferenceStore.forProjectScope(project, CorePlugin.PLUGIN_ID)
         preferences.write(BuildConfigurationPersistence.PREF_KEY_CONNECTION_PROJECT_DIR, '../nonexistent-project')
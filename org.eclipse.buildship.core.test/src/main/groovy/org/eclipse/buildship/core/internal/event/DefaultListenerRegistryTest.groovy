@@ -0,0 +1,172 @@
+package org.eclipse.buildship.core.internal.event
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+
+import spock.lang.Specification
+
+class DefaultListenerRegistryTest extends Specification {
+
+    DefaultListenerRegistry registry = new DefaultListenerRegistry()
+
+    def cleanup() {
+        registry.close()
+    }
+
+    def "Untyped listeners receive all events synchronously"() {
+        setup:
+        EventListener listener = Mock(EventListener)
+        registry.addEventListener(listener)
+        Event event = new FirstEvent()
+
+        when:
+        registry.dispatch(event)
+
+        then:
+        1 * listener.onEvent(event)
+    }
+
+    def "Synchronous typed listeners receive the events of the subscribed types and their subtypes"() {
+        setup:
+        TypedEventListener<Event> listener = Mock(TypedEventListener)
+        registry.addEventListener(FirstEvent, listener, EventDelivery.SYNCHRONOUS)
+        Event first = new FirstEvent()
+        Event sub = new FirstSubEvent()
+
+        when:
+        registry.dispatch(first)
+        registry.dispatch(new SecondEvent())
+        registry.dispatch(sub)
+
+        then:
+        1 * listener.onEvents([first])
+        1 * listener.onEvents([sub])
+        0 * listener._
+    }
+
+    def "Removed typed listeners receive no events"() {
+        setup:
+        TypedEventListener<Event> listener = Mock(TypedEventListener)
+        registry.addEventListener(FirstEvent, listener, EventDelivery.SYNCHRONOUS)
+        registry.addEventListener(SecondEvent, listener, EventDelivery.SYNCHRONOUS)
+
+        when:
+        registry.removeEventListener(listener)
+        registry.dispatch(new FirstEvent())
+        registry.dispatch(new SecondEvent())
+
+        then:
+        0 * listener._
+    }
+
+    def "Asynchronous listeners receive bursts of events in order and in batches"() {
+        setup:
+        CountDownLatch blocked = new CountDownLatch(1)
+        CountDownLatch proceed = new CountDownLatch(1)
+        List<List<Event>> batches = new CopyOnWriteArrayList()
+        TypedEventListener<Event> listener = new TypedEventListener<Event>() {
+            void onEvents(List<? extends Event> events) {
+                batches.add(new ArrayList(events))
+                blocked.countDown()
+                proceed.await(10, TimeUnit.SECONDS)
+            }
+        }
+        registry.addEventListener(FirstEvent, listener, EventDelivery.ASYNCHRONOUS)
+        registry.addEventListener(SecondEvent, listener, EventDelivery.ASYNCHRONOUS)
+        List<Event> events = (1..500).collect { it % 2 ? new FirstEvent() : new SecondEvent() }
+
+        when:
+        // the listener is blocked while processing the first event
+        registry.dispatch(events[0])
+        blocked.await(10, TimeUnit.SECONDS)
+        events.tail().each { registry.dispatch(it) }
+        proceed.countDown()
+
+        then:
+        waitFor { batches.sum { it.size() } == 500 }
+        batches.size() == 2
+        batches.flatten() == events
+    }
+
+    def "Asynchronous listeners don't block the dispatching thread"() {
+        setup:
+        CountDownLatch proceed = new CountDownLatch(1)
+        CountDownLatch delivered = new CountDownLatch(1)
+        TypedEventListener<Event> listener = new TypedEventListener<Event>() {
+            void onEvents(List<? extends Event> events) {
+                proceed.await(10, TimeUnit.SECONDS)
+                delivered.countDown()
+            }
+        }
+        registry.addEventListener(Event, listener, EventDelivery.ASYNCHRONOUS)
+
+        when:
+        registry.dispatch(new FirstEvent())
+
+        then:
+        delivered.count == 1
+
+        when:
+        proceed.countDown()
+
+        then:
+        delivered.await(10, TimeUnit.SECONDS)
+    }
+
+    def "Asynchronous listeners of a closed registry receive no events"() {
+        setup:
+        TypedEventListener<Event> listener = Mock(TypedEventListener)
+        registry.addEventListener(Event, listener, EventDelivery.ASYNCHRONOUS)
+
+        when:
+        registry.close()
+        registry.dispatch(new FirstEvent())
+
+        then:
+        0 * listener._
+        registry.asyncExecutor.isShutdown()
+    }
+
+    def "Asynchronous listeners share a bounded number of dispatcher threads"() {
+        setup:
+        CountDownLatch proceed = new CountDownLatch(1)
+        Set<Thread> threads = Collections.synchronizedSet(new HashSet())
+        List<TypedEventListener<Event>> listeners = (1..20).collect {
+            new TypedEventListener<Event>() {
+                void onEvents(List<? extends Event> events) {
+                    threads.add(Thread.currentThread())
+                    proceed.await(10, TimeUnit.SECONDS)
+                }
+            }
+        }
+        listeners.each { registry.addEventListener(Event, it, EventDelivery.ASYNCHRONOUS) }
+
+        when:
+        registry.dispatch(new FirstEvent())
+
+        then:
+        waitFor { threads.size() == DefaultListenerRegistry.MAX_DISPATCHER_THREADS }
+        registry.asyncExecutor.largestPoolSize == DefaultListenerRegistry.MAX_DISPATCHER_THREADS
+
+        cleanup:
+        proceed.countDown()
+    }
+
+    private static boolean waitFor(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 10000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        condition()
+    }
+
+    static class FirstEvent implements Event {
+    }
+
+    static class FirstSubEvent extends FirstEvent {
+    }
+
+    static class SecondEvent implements Event {
+    }
+}
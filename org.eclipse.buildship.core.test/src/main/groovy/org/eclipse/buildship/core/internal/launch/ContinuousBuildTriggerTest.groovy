@@ -0,0 +1,70 @@
+package org.eclipse.buildship.core.internal.launch
+
+import org.eclipse.core.resources.IFile
+import org.eclipse.core.resources.IFolder
+import org.eclipse.core.resources.IProject
+import org.eclipse.core.runtime.IProgressMonitor
+import org.eclipse.core.runtime.NullProgressMonitor
+
+import org.eclipse.buildship.core.internal.test.fixtures.WorkspaceSpecification
+
+class ContinuousBuildTriggerTest extends WorkspaceSpecification {
+
+    ContinuousBuildTrigger trigger
+    IProject project
+
+    def setup() {
+        project = newProject('sample-project')
+        trigger = ContinuousBuildTrigger.createAndRegister(project.location.toFile(), 0)
+    }
+
+    def cleanup() {
+        trigger.close()
+    }
+
+    def "Source change releases the waiting client"() {
+        when:
+        IFile file = project.getFile('Source.java')
+        file.create(new ByteArrayInputStream('class Source {}'.bytes), true, new NullProgressMonitor())
+
+        then:
+        trigger.awaitChange(monitorCanceledAfter(5000))
+    }
+
+    def "Changes in derived resources are ignored"() {
+        setup:
+        IFolder buildFolder = project.getFolder('build')
+        buildFolder.create(true, true, new NullProgressMonitor())
+        buildFolder.setDerived(true, new NullProgressMonitor())
+
+        when:
+        IFile file = buildFolder.getFile('Source.class')
+        file.create(new ByteArrayInputStream(new byte[0]), true, new NullProgressMonitor())
+
+        then:
+        !trigger.awaitChange(monitorCanceledAfter(500))
+    }
+
+    def "Changes in other builds are ignored"() {
+        setup:
+        IProject other = newProject('other-project')
+
+        when:
+        IFile file = other.getFile('Source.java')
+        file.create(new ByteArrayInputStream('class Source {}'.bytes), true, new NullProgressMonitor())
+
+        then:
+        !trigger.awaitChange(monitorCanceledAfter(500))
+    }
+
+    private static IProgressMonitor monitorCanceledAfter(long millis) {
+        long deadline = System.currentTimeMillis() + millis
+        new NullProgressMonitor() {
+
+            @Override
+            boolean isCanceled() {
+                System.currentTimeMillis() > deadline
+            }
+        }
+    }
+}
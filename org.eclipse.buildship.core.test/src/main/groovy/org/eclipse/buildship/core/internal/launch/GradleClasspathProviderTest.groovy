@@ -0,0 +1,127 @@
+package org.eclipse.buildship.core.internal.launch
+
+import static org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants.*
+
+import org.eclipse.core.runtime.NullProgressMonitor
+import org.eclipse.debug.core.ILaunchConfiguration
+import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy
+import org.eclipse.jdt.core.IClasspathEntry
+import org.eclipse.jdt.core.IJavaProject
+import org.eclipse.jdt.core.JavaCore
+import org.eclipse.jdt.launching.IRuntimeClasspathEntry
+
+import org.eclipse.buildship.core.internal.test.fixtures.ProjectSynchronizationSpecification
+
+class GradleClasspathProviderTest extends ProjectSynchronizationSpecification {
+
+    File location
+    File buildFile
+
+    def setup() {
+        location = dir('sample-project') {
+            file('settings.gradle') << "include 'a', 'b'"
+            dir('a/src/main/java')
+            dir('a/lib')
+            dir('b/src/main/java')
+            buildFile = file 'build.gradle', '''
+                subprojects {
+                    apply plugin: 'java'
+                }
+
+                project(':a') {
+                    dependencies {
+                        compile project(':b')
+                    }
+                }
+            '''
+        }
+    }
+
+    def "Classpath is reused by subsequent launches"() {
+        setup:
+        importAndWait(location)
+        GradleClasspathProvider provider = new GradleClasspathProvider()
+        ILaunchConfiguration configuration = createJdtLaunchConfigFor('a')
+
+        when:
+        IRuntimeClasspathEntry[] first = resolveClasspath(provider, configuration)
+        IRuntimeClasspathEntry[] second = resolveClasspath(provider, configuration)
+
+        then:
+        first == second
+        !first.is(second)
+        // the launching infrastructure may modify the entries, so they're not shared between launches
+        (0..<first.length).every { !first[it].is(second[it]) }
+        second.find { it.type == IRuntimeClasspathEntry.PROJECT && it.path.lastSegment() == 'b' }
+    }
+
+    def "Classpath is recomputed after synchronization"() {
+        setup:
+        importAndWait(location)
+        GradleClasspathProvider provider = new GradleClasspathProvider()
+        ILaunchConfiguration configuration = createJdtLaunchConfigFor('a')
+
+        expect:
+        !resolveClasspath(provider, configuration).find { it.path.lastSegment() == 'lib' }
+
+        when:
+        buildFile << '''
+            project(':a') {
+                dependencies {
+                    compile files('lib')
+                }
+            }
+        '''
+        synchronizeAndWait(location)
+
+        then:
+        resolveClasspath(provider, configuration).find { it.path.lastSegment() == 'lib' }
+    }
+
+    def "Classpath is recomputed after the output location of a dependency changes"() {
+        setup:
+        importAndWait(location)
+        GradleClasspathProvider provider = new GradleClasspathProvider()
+        ILaunchConfiguration configuration = createJdtLaunchConfigFor('a')
+        IJavaProject dependency = findJavaProject('b')
+
+        expect:
+        !resolveClasspath(provider, configuration).find { it.path.lastSegment() == 'custom-output' }
+
+        when:
+        IClasspathEntry[] rawClasspath = dependency.rawClasspath.collect { IClasspathEntry entry ->
+            entry.entryKind == IClasspathEntry.CPE_SOURCE ? JavaCore.newSourceEntry(entry.path, entry.inclusionPatterns, entry.exclusionPatterns, dependency.project.fullPath.append('custom-output'), entry.extraAttributes) : entry
+        } as IClasspathEntry[]
+        dependency.setRawClasspath(rawClasspath, new NullProgressMonitor())
+
+        then:
+        resolveClasspath(provider, configuration).find { it.path.lastSegment() == 'custom-output' }
+    }
+
+    def "Classpath is recomputed after a dependency project is closed"() {
+        setup:
+        importAndWait(location)
+        GradleClasspathProvider provider = new GradleClasspathProvider()
+        ILaunchConfiguration configuration = createJdtLaunchConfigFor('a')
+
+        expect:
+        resolveClasspath(provider, configuration).find { it.path.segmentCount() > 0 && it.path.segment(0) == 'b' }
+
+        when:
+        findProject('b').close(new NullProgressMonitor())
+
+        then:
+        !resolveClasspath(provider, configuration).find { it.path.segmentCount() > 0 && it.path.segment(0) == 'b' }
+    }
+
+    private ILaunchConfiguration createJdtLaunchConfigFor(String projectName) {
+        ILaunchConfigurationWorkingCopy launchConfig = createLaunchConfig(SupportedLaunchConfigType.JDT_JAVA_APPLICATION.id)
+        launchConfig.setAttribute(ATTR_PROJECT_NAME, projectName)
+        launchConfig.setAttribute(ATTR_CLASSPATH_PROVIDER, GradleClasspathProvider.ID)
+        launchConfig.doSave()
+    }
+
+    private static IRuntimeClasspathEntry[] resolveClasspath(GradleClasspathProvider provider, ILaunchConfiguration configuration) {
+        provider.resolveClasspath(provider.computeUnresolvedClasspath(configuration), configuration)
+    }
+}
@@ -1,10 +1,13 @@
 package org.eclipse.buildship.core.internal.launch
 
-
+import org.eclipse.core.runtime.jobs.Job
 import org.eclipse.jdt.core.IType
 
 import org.eclipse.buildship.core.internal.CorePlugin
 import org.eclipse.buildship.core.internal.configuration.RunConfiguration
+import org.eclipse.buildship.core.internal.operation.ToolingApiJobResultHandler
+import org.eclipse.buildship.core.internal.operation.ToolingApiStatus
+import org.eclipse.buildship.core.internal.test.fixtures.TestProcessStreamProvider
 
 class RunGradleTestLaunchRequestJobTest extends BaseLaunchRequestJobTest {
 
@@ -23,6 +26,16 @@ class RunGradleTestLaunchRequestJobTest extends BaseLaunchRequestJobTest {
                     public @org.junit.Test void test() { org.junit.Assert.assertTrue(true); }
                 }
             """
+            file 'src/test/java/OtherTest.java', """
+                public class OtherTest {
+                    public @org.junit.Test void test() { org.junit.Assert.assertTrue(true); }
+                }
+            """
+            file 'src/test/java/FailingTest.java', """
+                public class FailingTest {
+                    public @org.junit.Test void test() { org.junit.Assert.fail(); }
+                }
+            """
         }
     }
 
@@ -54,14 +67,54 @@ class RunGradleTestLaunchRequestJobTest extends BaseLaunchRequestJobTest {
         buildConfig.contains 'Tests: MyTest'
     }
 
+    def "Concurrent test launches are executed in one build"() {
+        setup:
+        def job = new RunGradleJvmTestLaunchRequestJob(testTargets('MyTest'), createRunConfigurationMock())
+        def otherJob = new RunGradleJvmTestLaunchRequestJob(testTargets('OtherTest'), createRunConfigurationMock())
+
+        when:
+        job.schedule()
+        otherJob.schedule()
+        job.join()
+        otherJob.join()
+
+        then:
+        job.getResult().isOK()
+        otherJob.getResult().isOK()
+        TestProcessStreamProvider testStreams = CorePlugin.processStreamsProvider()
+        testStreams.processStreams.findAll { it.out.contains 'BUILD SUCCESSFUL' }.size() == 1
+        testStreams.processStreams.findAll { it.conf.contains 'Executed together with' }.size() == 2
+    }
+
+    def "Test failures are only reported to the launch of the failed test"() {
+        setup:
+        def job = new RunGradleJvmTestLaunchRequestJob(testTargets('MyTest'), createRunConfigurationMock())
+        def failingJob = new RunGradleJvmTestLaunchRequestJob(testTargets('FailingTest'), createRunConfigurationMock())
+        List<ToolingApiStatus> failures = [].asSynchronized()
+        List<Job> succeeded = [].asSynchronized()
+        [job, failingJob].each { j ->
+            j.resultHandler = [onSuccess: { succeeded << j }, onFailure: { ToolingApiStatus status -> failures << status }] as ToolingApiJobResultHandler
+        }
+
+        when:
+        job.schedule()
+        failingJob.schedule()
+        job.join()
+        failingJob.join()
+
+        then:
+        succeeded == [job]
+        failures.size() == 1
+    }
+
     RunConfiguration createRunConfigurationMock() {
         CorePlugin.configurationManager().loadRunConfiguration(createLaunchConfiguration(projectDir))
     }
 
-    List<TestTarget> testTargets() {
+    List<TestTarget> testTargets(String testClass = 'MyTest') {
         IType type = Mock(IType)
-        type.elementName >> 'MyTest'
-        type.fullyQualifiedName >> 'MyTest'
+        type.elementName >> testClass
+        type.fullyQualifiedName >> testClass
         [new TestType(type)]
     }
 }
@@ -2,9 +2,12 @@ package org.eclipse.buildship.core.internal.preferences
 
 import spock.lang.Issue
 
+import com.google.common.base.Optional
+
 import org.eclipse.core.resources.IProject
 import org.eclipse.core.runtime.NullProgressMonitor
 import org.eclipse.core.runtime.Path
+import org.eclipse.core.runtime.preferences.InstanceScope
 import org.eclipse.jdt.core.JavaCore
 
 import org.eclipse.buildship.core.internal.CorePlugin
@@ -53,7 +56,7 @@ class DefaultModelPersistenceTest extends WorkspaceSpecification {
         command.setBuilderName('custom-command')
         def managedBuilders = [command]
 
-        PersistentModel model = new DefaultPersistentModel(project, buildDir, buildScriptPath, subProjectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders)
+        PersistentModel model = new DefaultPersistentModel(project, buildDir, buildScriptPath, subProjectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders, [], Optional.absent())
 
         when:
         CorePlugin.modelPersistence().saveModel(model)
@@ -82,7 +85,7 @@ class DefaultModelPersistenceTest extends WorkspaceSpecification {
         command.setBuilderName('custom-command')
         def managedBuilders = [command]
 
-        PersistentModel model = new DefaultPersistentModel(project, buildDir, buildScriptPath, subProjectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders)
+        PersistentModel model = new DefaultPersistentModel(project, buildDir, buildScriptPath, subProjectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders, [], Optional.absent())
         CorePlugin.modelPersistence().saveModel(model)
 
         when:
@@ -106,7 +109,7 @@ class DefaultModelPersistenceTest extends WorkspaceSpecification {
         command.setBuilderName('custom-command')
         def managedBuilders = [command]
 
-        PersistentModel model = new DefaultPersistentModel(project, buildDir, buildScriptPath, subProjectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders)
+        PersistentModel model = new DefaultPersistentModel(project, buildDir, buildScriptPath, subProjectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders, [], Optional.absent())
         CorePlugin.modelPersistence().saveModel(model)
 
         when:
@@ -122,6 +125,46 @@ class DefaultModelPersistenceTest extends WorkspaceSpecification {
         model.linkedResources == linkedResources
     }
 
+    def "Model stored in the legacy format is converted upon loading"() {
+        setup:
+        def classpath = [JavaCore.newProjectEntry(new Path('/project-path'))]
+        PersistentModel model = new DefaultPersistentModel(project, new Path('buildDir'), new Path('build.gradle'), [new Path('subproject')], classpath, [new Path('derived')], [new Path('linked')], [], [], [], Optional.absent())
+        File legacyFile = stateLocation('project-preferences', project.name)
+        legacyFile.parentFile.mkdirs()
+        legacyFile.withWriter('UTF-8') { PersistentModelConverter.toProperties(model).store(it, '') }
+
+        when:
+        PersistentModel loaded = CorePlugin.modelPersistence().loadModel(project)
+
+        then:
+        loaded == model
+        !legacyFile.exists()
+        stateLocation('project-models', project.name).exists()
+    }
+
+    def "Saved model is written to the disk in the background"() {
+        setup:
+        PersistentModel model = new DefaultPersistentModel(project, new Path('buildDir'), new Path('build.gradle'), [], [JavaCore.newProjectEntry(new Path('/project-path'))], [], [], [], [], [], Optional.absent())
+        File modelFile = stateLocation('project-models', project.name)
+        InstanceScope.INSTANCE.getNode(CorePlugin.PLUGIN_ID).putInt('modelPersistence.flushDelay', 0)
+
+        when:
+        CorePlugin.modelPersistence().saveModel(model)
+
+        then:
+        waitFor { modelFile.exists() }
+        !stateLocation('project-models.tmp', project.name).exists()
+
+        when:
+        PersistentModel loaded = modelFile.withInputStream { PersistentModelSerializer.read(project, it) }
+
+        then:
+        loaded == model
+
+        cleanup:
+        InstanceScope.INSTANCE.getNode(CorePlugin.PLUGIN_ID).remove('modelPersistence.flushDelay')
+    }
+
     @Issue('https://github.com/eclipse/buildship/issues/404')
     def "Cached absent model is not persisted"() {
         setup:
@@ -129,9 +172,13 @@ class DefaultModelPersistenceTest extends WorkspaceSpecification {
         persistence.loadModel(project)
 
         when:
-        persistence.persistAllProjectPrefs()
+        persistence.persistDirtyModels()
 
         then:
         notThrown RuntimeException
     }
+
+    private static File stateLocation(String folder, String projectName) {
+        CorePlugin.instance.stateLocation.append(folder).append(projectName).toFile()
+    }
 }
@@ -0,0 +1,80 @@
+package org.eclipse.buildship.core.internal.preferences
+
+import com.google.common.base.Optional
+
+import org.eclipse.core.resources.IProject
+import org.eclipse.core.runtime.Path
+import org.eclipse.jdt.core.IAccessRule
+import org.eclipse.jdt.core.IClasspathAttribute
+import org.eclipse.jdt.core.JavaCore
+
+import org.eclipse.buildship.core.internal.test.fixtures.WorkspaceSpecification
+
+class PersistentModelSerializerTest extends WorkspaceSpecification {
+
+    IProject project
+
+    def setup() {
+        project = newProject('sample-project')
+    }
+
+    def "Can write and read a model"() {
+        setup:
+        def command = project.description.newCommand()
+        command.setBuilderName('custom-command')
+        command.setArguments(['key' : 'value'])
+        def classpath = [
+            JavaCore.newLibraryEntry(new Path('/path/to/lib.jar'), new Path('/path/to/lib-sources.jar'), null,
+                [JavaCore.newAccessRule(new Path('com/**'), IAccessRule.K_DISCOURAGED | IAccessRule.IGNORE_IF_BETTER)] as IAccessRule[],
+                [JavaCore.newClasspathAttribute('gradle_used_by_scope', 'main,test')] as IClasspathAttribute[],
+                true),
+            JavaCore.newProjectEntry(new Path('/project-path'), [] as IAccessRule[], false, [] as IClasspathAttribute[], true),
+            JavaCore.newContainerEntry(new Path('org.eclipse.jdt.launching.JRE_CONTAINER'))
+        ]
+        PersistentModel model = new DefaultPersistentModel(project, new Path('build'), new Path('build.gradle'), [new Path('sub1'), new Path('sub2')],
+            classpath, [new Path('build'), new Path('.gradle')], [new Path('linked')], ['org.eclipse.pde.UpdateSiteNature'], [command], [new Path('settings.gradle'), new Path('buildSrc/src')], Optional.of('fingerprint'))
+
+        when:
+        PersistentModel loaded = roundTrip(model)
+
+        then:
+        loaded == model
+        loaded.buildDir == model.buildDir
+        loaded.getbuildScriptPath() == model.getbuildScriptPath()
+        loaded.subprojectPaths == model.subprojectPaths
+        loaded.derivedResources == model.derivedResources
+        loaded.linkedResources == model.linkedResources
+        loaded.managedNatures == model.managedNatures
+        loaded.managedBuilders == model.managedBuilders
+        loaded.watchedInputs == model.watchedInputs
+        loaded.fingerprint == model.fingerprint
+        loaded.classpath == classpath
+    }
+
+    def "Repeated strings are stored once"() {
+        setup:
+        def paths = (1..100).collect { new Path('path/to/a/very/long/directory/name') }
+        PersistentModel model = new DefaultPersistentModel(project, new Path('build'), new Path('build.gradle'), paths, [], paths, paths, [], [], paths, Optional.absent())
+
+        expect:
+        serialize(model).length < 2000
+    }
+
+    def "Can't read content with unknown format"() {
+        when:
+        PersistentModelSerializer.read(project, new ByteArrayInputStream('buildDir=build'.bytes))
+
+        then:
+        thrown IOException
+    }
+
+    private PersistentModel roundTrip(PersistentModel model) {
+        PersistentModelSerializer.read(project, new ByteArrayInputStream(serialize(model)))
+    }
+
+    private byte[] serialize(PersistentModel model) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream()
+        PersistentModelSerializer.write(model, output)
+        output.toByteArray()
+    }
+}
@@ -16,6 +16,7 @@ import org.junit.rules.TemporaryFolder
 import spock.lang.AutoCleanup
 import spock.lang.Specification
 
+import com.google.common.base.Optional
 import com.google.common.collect.ImmutableList
 import com.google.common.io.Files
 
@@ -212,7 +213,7 @@ abstract class WorkspaceSpecification extends Specification {
     }
 
     protected PersistentModel emptyPersistentModel(IProject project) {
-        new DefaultPersistentModel(project, new Path("build"), new Path("build.gradle"), [], [], [], [], [], [])
+        new DefaultPersistentModel(project, new Path("build"), new Path("build.gradle"), [], [], [], [], [], [], [], Optional.absent())
     }
 
     protected ILaunchConfigurationWorkingCopy createLaunchConfig(String id, String name = 'launch-config') {
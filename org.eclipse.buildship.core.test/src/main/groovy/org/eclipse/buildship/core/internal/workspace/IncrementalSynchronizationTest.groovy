@@ -0,0 +1,98 @@
+package org.eclipse.buildship.core.internal.workspace
+
+import org.eclipse.core.runtime.IPath
+import org.eclipse.core.runtime.NullProgressMonitor
+import org.eclipse.core.runtime.preferences.IEclipsePreferences
+import org.eclipse.core.runtime.preferences.InstanceScope
+import org.eclipse.jdt.core.IClasspathEntry
+import org.eclipse.jdt.core.IJavaProject
+import org.eclipse.jdt.core.JavaCore
+
+import org.eclipse.buildship.core.internal.CorePlugin
+import org.eclipse.buildship.core.internal.preferences.PersistentModel
+import org.eclipse.buildship.core.internal.test.fixtures.ProjectSynchronizationSpecification
+
+class IncrementalSynchronizationTest extends ProjectSynchronizationSpecification {
+
+    File rootDir
+
+    def setup() {
+        rootDir = dir('root') {
+            file 'settings.gradle', "include 'sub1', 'sub2'"
+            file 'build.gradle', "subprojects { apply plugin: 'java' }"
+            dir('sub1/src/main/java')
+            dir('sub2/src/main/java')
+        }
+        importAndWait(rootDir)
+    }
+
+    def cleanup() {
+        preferences.remove('synchronization.incremental')
+    }
+
+    def "Unchanged projects are not reconfigured"() {
+        setup:
+        PersistentModel sub1Model = persistentModel('sub1')
+        PersistentModel sub2Model = persistentModel('sub2')
+
+        when:
+        new File(rootDir, 'sub1/build.gradle') << "dependencies { compile project(':sub2') }"
+        synchronizeAndWait(rootDir)
+
+        then:
+        sub1Model.fingerprint.present
+        !persistentModel('sub1').is(sub1Model)
+        persistentModel('sub1').fingerprint != sub1Model.fingerprint
+        persistentModel('sub2').is(sub2Model)
+    }
+
+    def "Project is reconfigured if its configuration was changed in the workspace"() {
+        setup:
+        IJavaProject javaProject = JavaCore.create(findProject('sub2'))
+        IClasspathEntry[] classpath = javaProject.rawClasspath.findAll { it.path != GradleClasspathContainer.CONTAINER_PATH }
+        javaProject.setRawClasspath(classpath, new NullProgressMonitor())
+
+        when:
+        synchronizeAndWait(rootDir)
+
+        then:
+        javaProject.rawClasspath.find { it.path == GradleClasspathContainer.CONTAINER_PATH }
+    }
+
+    def "Output location and compiler settings of unchanged projects are restored"() {
+        setup:
+        IJavaProject javaProject = JavaCore.create(findProject('sub2'))
+        IPath outputLocation = javaProject.outputLocation
+        String compliance = javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true)
+        javaProject.setOutputLocation(javaProject.path.append('custom-output'), new NullProgressMonitor())
+        javaProject.setOption(JavaCore.COMPILER_COMPLIANCE, compliance == '1.4' ? '1.3' : '1.4')
+
+        when:
+        synchronizeAndWait(rootDir)
+
+        then:
+        javaProject.outputLocation == outputLocation
+        javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true) == compliance
+    }
+
+    def "Incremental synchronization can be disabled"() {
+        setup:
+        preferences.putBoolean('synchronization.incremental', false)
+        PersistentModel sub2Model = persistentModel('sub2')
+
+        when:
+        synchronizeAndWait(rootDir)
+
+        then:
+        !persistentModel('sub2').is(sub2Model)
+        persistentModel('sub2') == sub2Model
+    }
+
+    private PersistentModel persistentModel(String projectName) {
+        CorePlugin.modelPersistence().loadModel(findProject(projectName))
+    }
+
+    private static IEclipsePreferences getPreferences() {
+        InstanceScope.INSTANCE.getNode(CorePlugin.PLUGIN_ID)
+    }
+}
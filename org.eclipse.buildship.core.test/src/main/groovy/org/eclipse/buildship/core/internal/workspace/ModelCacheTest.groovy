@@ -0,0 +1,134 @@
+package org.eclipse.buildship.core.internal.workspace
+
+import java.util.concurrent.TimeUnit
+
+import org.gradle.tooling.model.eclipse.EclipseExternalDependency
+import org.gradle.tooling.model.eclipse.EclipseProject
+import spock.lang.Specification
+
+import com.google.common.base.Ticker
+
+import org.eclipse.buildship.core.internal.GradlePluginsRuntimeException
+import org.eclipse.buildship.core.internal.configuration.BuildConfiguration
+import org.eclipse.buildship.core.internal.util.gradle.ModelUtils
+
+class ModelCacheTest extends Specification {
+
+    BuildConfiguration build1 = Mock(BuildConfiguration)
+    BuildConfiguration build2 = Mock(BuildConfiguration)
+    FakeTicker ticker = new FakeTicker()
+
+    def "Models are loaded once"() {
+        setup:
+        ModelCache cache = new ModelCache(100, TimeUnit.HOURS.toMillis(1), ticker)
+        int loadCount = 0
+
+        when:
+        def first = cache.get(build1, String, { loadCount++; 'model' })
+        def second = cache.get(build1, String, { loadCount++; 'other' })
+
+        then:
+        first == 'model'
+        second == 'model'
+        loadCount == 1
+        cache.statistics.hitCount() == 1
+        cache.statistics.missCount() == 1
+        cache.statistics.loadSuccessCount() == 1
+    }
+
+    def "Models are cached per build"() {
+        setup:
+        ModelCache cache = new ModelCache(100, TimeUnit.HOURS.toMillis(1), ticker)
+
+        when:
+        cache.get(build1, String, { 'model1' })
+        cache.get(build2, String, { 'model2' })
+
+        then:
+        cache.getIfPresent(build1, String) == 'model1'
+        cache.getIfPresent(build2, String) == 'model2'
+
+        when:
+        cache.invalidate(build1)
+
+        then:
+        cache.getIfPresent(build1, String) == null
+        cache.getIfPresent(build2, String) == 'model2'
+    }
+
+    def "Models are evicted when the maximum weight is exceeded"() {
+        setup:
+        ModelCache cache = new ModelCache(10, TimeUnit.HOURS.toMillis(1), ticker)
+
+        when:
+        cache.get(build1, EclipseProject, { eclipseProject(4) })
+        cache.get(build2, EclipseProject, { eclipseProject(8) })
+
+        then:
+        cache.size() == 1
+        cache.weight() <= 10
+        cache.getIfPresent(build1, EclipseProject) == null
+        cache.getIfPresent(build2, EclipseProject) != null
+        cache.statistics.evictionCount() == 1
+    }
+
+    def "Models are evicted when not accessed"() {
+        setup:
+        ModelCache cache = new ModelCache(100, TimeUnit.MINUTES.toMillis(10), ticker)
+        cache.get(build1, String, { 'model1' })
+        cache.get(build2, String, { 'model2' })
+
+        when:
+        ticker.advance(TimeUnit.MINUTES.toNanos(6))
+        cache.getIfPresent(build2, String)
+        ticker.advance(TimeUnit.MINUTES.toNanos(6))
+
+        then:
+        cache.getIfPresent(build1, String) == null
+        cache.getIfPresent(build2, String) == 'model2'
+    }
+
+    def "Failed loads are not cached"() {
+        setup:
+        ModelCache cache = new ModelCache(100, TimeUnit.HOURS.toMillis(1), ticker)
+
+        when:
+        cache.get(build1, String, { throw new IllegalStateException() })
+
+        then:
+        thrown(IllegalStateException)
+        cache.size() == 0
+
+        when:
+        cache.get(build1, String, { throw new IOException() })
+
+        then:
+        GradlePluginsRuntimeException e = thrown()
+        e.cause instanceof IOException
+        cache.statistics.loadExceptionCount() == 2
+    }
+
+    private EclipseProject eclipseProject(int classpathSize) {
+        EclipseProject project = Stub(EclipseProject)
+        project.classpath >> ModelUtils.asDomainObjectSet([Stub(EclipseExternalDependency)] * classpathSize)
+        project.projectDependencies >> ModelUtils.asDomainObjectSet([])
+        project.sourceDirectories >> ModelUtils.asDomainObjectSet([])
+        project.linkedResources >> ModelUtils.asDomainObjectSet([])
+        project.children >> ModelUtils.asDomainObjectSet([])
+        project
+    }
+
+    static class FakeTicker extends Ticker {
+
+        long nanos
+
+        @Override
+        long read() {
+            nanos
+        }
+
+        void advance(long nanos) {
+            this.nanos += nanos
+        }
+    }
+}
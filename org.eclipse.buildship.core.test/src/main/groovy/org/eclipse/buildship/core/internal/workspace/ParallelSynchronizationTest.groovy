@@ -0,0 +1,68 @@
+package org.eclipse.buildship.core.internal.workspace
+
+import org.eclipse.core.resources.IProject
+import org.eclipse.core.runtime.preferences.IEclipsePreferences
+import org.eclipse.core.runtime.preferences.InstanceScope
+import org.eclipse.jdt.core.IClasspathEntry
+import org.eclipse.jdt.core.IJavaProject
+import org.eclipse.jdt.core.JavaCore
+
+import org.eclipse.buildship.core.internal.CorePlugin
+import org.eclipse.buildship.core.internal.configuration.GradleProjectNature
+import org.eclipse.buildship.core.internal.test.fixtures.ProjectSynchronizationSpecification
+
+class ParallelSynchronizationTest extends ProjectSynchronizationSpecification {
+
+    def setup() {
+        preferences.putInt('synchronization.parallelism', 4)
+    }
+
+    def cleanup() {
+        preferences.remove('synchronization.parallelism')
+    }
+
+    def "Parallel synchronization imports all projects"() {
+        setup:
+        File rootDir = createMultiProjectBuild(10)
+
+        when:
+        importAndWait(rootDir)
+
+        then:
+        (1..10).every { GradleProjectNature.isPresentOn(findProject("sub$it")) }
+        JavaCore.create(findProject('sub2')).getResolvedClasspath(false).find { it.entryKind == IClasspathEntry.CPE_PROJECT && it.path.toPortableString() == '/sub1' }
+    }
+
+    def "Parallel synchronization updates the persistent model"() {
+        setup:
+        File rootDir = createMultiProjectBuild(3)
+        importAndWait(rootDir)
+
+        when:
+        new File(rootDir, 'sub3/build.gradle') << "dependencies { compile project(':sub1') }"
+        synchronizeAndWait(rootDir)
+
+        then:
+        IProject project = findProject('sub3')
+        CorePlugin.modelPersistence().loadModel(project).classpath.collect { it.path.toPortableString() }.containsAll(['/sub1', '/sub2'])
+    }
+
+    private File createMultiProjectBuild(int numOfSubprojects) {
+        dir('root') {
+            file 'settings.gradle', (1..numOfSubprojects).collect { "include 'sub$it'" }.join('\n')
+            file 'build.gradle', "subprojects { apply plugin: 'java' }"
+            (1..numOfSubprojects).each { index ->
+                dir("sub$index") {
+                    dir 'src/main/java'
+                    if (index > 1) {
+                        file 'build.gradle', "dependencies { compile project(':sub${index - 1}') }"
+                    }
+                }
+            }
+        }
+    }
+
+    private static IEclipsePreferences getPreferences() {
+        InstanceScope.INSTANCE.getNode(CorePlugin.PLUGIN_ID)
+    }
+}
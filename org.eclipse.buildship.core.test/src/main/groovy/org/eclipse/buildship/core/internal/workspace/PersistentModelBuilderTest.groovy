@@ -1,5 +1,7 @@
 package org.eclipse.buildship.core.internal.workspace
 
+import com.google.common.base.Optional
+
 import org.eclipse.core.resources.IProject
 import org.eclipse.core.runtime.Path
 import org.eclipse.jdt.core.JavaCore
@@ -28,8 +30,9 @@ class PersistentModelBuilderTest extends WorkspaceSpecification {
         def command = project.description.newCommand()
         command.setBuilderName('custom-command')
         def managedBuilders = [command]
+        def watchedInputs = [new Path('settings.gradle')]
 
-        def previous = new DefaultPersistentModel(project, buildDir, buildScriptPath, subProjectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders)
+        def previous = new DefaultPersistentModel(project, buildDir, buildScriptPath, subProjectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders, watchedInputs, Optional.absent())
         def model = new PersistentModelBuilder(previous).build()
 
         expect:
@@ -42,6 +45,7 @@ class PersistentModelBuilderTest extends WorkspaceSpecification {
         model.linkedResources == linkedResources
         model.managedNatures == managedNatures
         model.managedBuilders == managedBuilders
+        model.watchedInputs == watchedInputs as Set
     }
 
 
@@ -57,8 +61,9 @@ class PersistentModelBuilderTest extends WorkspaceSpecification {
         def command = project.description.newCommand()
         command.setBuilderName('custom-command')
         def managedBuilders = [command]
+        def watchedInputs = [new Path('settings.gradle')]
 
-        def previous = new DefaultPersistentModel(project, buildDir, buildScriptPath, subProjectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders)
+        def previous = new DefaultPersistentModel(project, buildDir, buildScriptPath, subProjectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders, watchedInputs, Optional.absent())
         def builder = new PersistentModelBuilder(previous)
         builder."${method}"(null)
 
@@ -69,6 +74,6 @@ class PersistentModelBuilderTest extends WorkspaceSpecification {
         thrown NullPointerException
 
         where:
-        method << [ 'buildDir', 'subprojectPaths', 'classpath', 'derivedResources', 'linkedResources', 'managedNatures', 'managedBuilders' ]
+        method << [ 'buildDir', 'subprojectPaths', 'classpath', 'derivedResources', 'linkedResources', 'managedNatures', 'managedBuilders', 'watchedInputs', 'fingerprint' ]
     }
 }
@@ -4,6 +4,7 @@ import org.gradle.api.JavaVersion
 import spock.lang.IgnoreIf
 import spock.lang.Issue
 
+import org.eclipse.core.runtime.NullProgressMonitor
 import org.eclipse.core.runtime.Path
 import org.eclipse.jdt.core.IClasspathEntry
 import org.eclipse.jdt.core.IJavaProject
@@ -185,6 +186,95 @@ class RuntimeClasspathTest extends ProjectSynchronizationSpecification {
         resolvedClasspath.find { it.path.lastSegment().contains 'guava' }
     }
 
+    def "Project dependencies in diamond-shaped graph are resolved once"() {
+        setup:
+        new File(location, 'settings.gradle') << "\ninclude 'd'"
+        new File(location, 'd/src/main/java').mkdirs()
+        buildFile << '''
+            project(':a') {
+                dependencies {
+                    compile project(':d')
+                }
+            }
+
+            project(':b') {
+                dependencies {
+                    compile project(':d')
+                }
+            }
+
+            project(':c') {
+                dependencies {
+                    compile project(':a')
+                    compile project(':b')
+                }
+            }
+        '''
+        importAndWait(location)
+
+        when:
+        IRuntimeClasspathEntry[] classpath = containerRuntimeClasspath(findJavaProject('c'))
+
+        then:
+        classpath.findAll { it.type == IRuntimeClasspathEntry.PROJECT && it.path.lastSegment() == 'd' }.size() == 1
+    }
+
+    def "Resolved container entries are updated after synchronization"() {
+        setup:
+        new File(location, 'a/lib').mkdirs()
+        importAndWait(location)
+        GradleClasspathContainerRuntimeClasspathEntryResolver resolver = new GradleClasspathContainerRuntimeClasspathEntryResolver()
+
+        expect:
+        !containerRuntimeClasspath(findJavaProject('a'), resolver).find { it.path.lastSegment() == 'lib' }
+
+        when:
+        buildFile << '''
+            project(':a') {
+                dependencies {
+                    compile files('lib')
+                }
+            }
+        '''
+        synchronizeAndWait(location)
+
+        then:
+        containerRuntimeClasspath(findJavaProject('a'), resolver).find { it.path.lastSegment() == 'lib' }
+    }
+
+    def "Resolved container entries are updated after a dependency project is closed and reopened"() {
+        setup:
+        buildFile << '''
+            project(':a') {
+                dependencies {
+                    compile project(':b')
+                }
+            }
+        '''
+        importAndWait(location)
+        GradleClasspathContainerRuntimeClasspathEntryResolver resolver = new GradleClasspathContainerRuntimeClasspathEntryResolver()
+
+        expect:
+        containerRuntimeClasspath(findJavaProject('a'), resolver).find { it.type == IRuntimeClasspathEntry.PROJECT && it.path.lastSegment() == 'b' }
+
+        when:
+        findProject('b').close(new NullProgressMonitor())
+
+        then:
+        !containerRuntimeClasspath(findJavaProject('a'), resolver).find { it.type == IRuntimeClasspathEntry.PROJECT && it.path.lastSegment() == 'b' }
+
+        when:
+        findProject('b').open(new NullProgressMonitor())
+
+        then:
+        containerRuntimeClasspath(findJavaProject('a'), resolver).find { it.type == IRuntimeClasspathEntry.PROJECT && it.path.lastSegment() == 'b' }
+    }
+
+    private IRuntimeClasspathEntry[] containerRuntimeClasspath(IJavaProject project, GradleClasspathContainerRuntimeClasspathEntryResolver resolver = new GradleClasspathContainerRuntimeClasspathEntryResolver()) {
+        IRuntimeClasspathEntry containerEntry = JavaRuntime.newRuntimeContainerClasspathEntry(GradleClasspathContainer.CONTAINER_PATH, IRuntimeClasspathEntry.USER_CLASSES, project)
+        resolver.resolveRuntimeClasspathEntry(containerEntry, project)
+    }
+
     private IRuntimeClasspathEntry[] projectRuntimeClasspath(IJavaProject project) {
         IRuntimeClasspathEntry projectEntry = JavaRuntime.computeUnresolvedRuntimeClasspath(project).find { it.path == project.project.fullPath }
         JavaRuntime.resolveRuntimeClasspathEntry(projectEntry, project)
@@ -1,7 +1,12 @@
 package org.eclipse.buildship.core.internal.workspace
 
 import org.eclipse.core.resources.IProject
+import org.eclipse.core.resources.IResource
 import org.eclipse.core.runtime.NullProgressMonitor
+import org.eclipse.core.runtime.jobs.IJobChangeEvent
+import org.eclipse.core.runtime.jobs.IJobChangeListener
+import org.eclipse.core.runtime.jobs.Job
+import org.eclipse.core.runtime.jobs.JobChangeAdapter
 import org.eclipse.jdt.core.JavaCore
 
 import org.eclipse.buildship.core.internal.configuration.BuildConfiguration
@@ -128,6 +133,62 @@ class SynchronizingBuildScriptUpdateListenerTest extends ProjectSynchronizationS
         waitFor { JavaCore.create(project).getResolvedClasspath(false).find { it.path.toPortableString().endsWith('spring-beans-1.2.8.jar') } }
     }
 
+    def "Subsequent build script changes are synchronized once"() {
+        setup:
+        File projectDir = dir('auto-sync-test-project') {
+            dir('src/main/java')
+            file 'build.gradle', 'apply plugin: "java"'
+        }
+        importAndWait(projectDir)
+        IProject project = findProject('auto-sync-test-project')
+        enableProjectAutoSync(project)
+
+        when:
+        List<Job> synchronizationJobs = recordSynchronizationJobs {
+            3.times {
+                String buildScript = "apply plugin: 'java' // change $it"
+                project.getFile('build.gradle').setContents(new ByteArrayInputStream(buildScript.bytes), 0, new NullProgressMonitor())
+                waitForResourceChangeEvents()
+            }
+        }
+
+        then:
+        synchronizationJobs.size() == 1
+    }
+
+    def "Execute project synchronization when watched input changes"(String path, int numOfSynchronizations) {
+        setup:
+        File projectDir = dir('auto-sync-test-project') {
+            dir('src/main/java')
+            file 'build.gradle', 'apply plugin: "java"'
+        }
+        importAndWait(projectDir)
+        IProject project = findProject('auto-sync-test-project')
+        enableProjectAutoSync(project)
+
+        when:
+        List<Job> synchronizationJobs = recordSynchronizationJobs {
+            File file = new File(projectDir, path)
+            file.parentFile.mkdirs()
+            file.text = '// content'
+            project.refreshLocal(IResource.DEPTH_INFINITE, new NullProgressMonitor())
+            waitForResourceChangeEvents()
+        }
+
+        then:
+        synchronizationJobs.size() == numOfSynchronizations
+
+        where:
+        path                                     | numOfSynchronizations
+        'settings.gradle'                        | 1
+        'settings.gradle.kts'                    | 1
+        'gradle.properties'                      | 1
+        'gradle/libs.versions.toml'              | 1
+        'buildSrc/src/main/groovy/Plugin.groovy' | 1
+        'buildSrc/build/classes/Plugin.class'    | 0
+        'src/main/java/Foo.java'                 | 0
+    }
+
     def "Synchronization can be disabled for the entire workspace"() {
         setup:
         File projectDir = dir('auto-sync-test-project') {
@@ -179,6 +240,25 @@ class SynchronizingBuildScriptUpdateListenerTest extends ProjectSynchronizationS
         waitFor { !JavaCore.create(project).getResolvedClasspath(false).find { it.path.toPortableString().endsWith('spring-beans-1.2.8.jar') } }
     }
 
+    private List<Job> recordSynchronizationJobs(Closure action) {
+        List<Job> result = [].asSynchronized()
+        IJobChangeListener listener = new JobChangeAdapter() {
+            void scheduled(IJobChangeEvent event) {
+                if (event.job instanceof SynchronizationJob) {
+                    result << event.job
+                }
+            }
+        }
+        Job.jobManager.addJobChangeListener(listener)
+        try {
+            action()
+            waitForGradleJobsToFinish()
+        } finally {
+            Job.jobManager.removeJobChangeListener(listener)
+        }
+        result
+    }
+
     private void disableWorkspaceAutoSync() {
         setWorkspaceAutoSync(false)
     }
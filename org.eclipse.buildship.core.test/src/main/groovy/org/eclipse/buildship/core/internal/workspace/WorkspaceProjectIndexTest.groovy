@@ -0,0 +1,115 @@
+package org.eclipse.buildship.core.internal.workspace
+
+import org.eclipse.core.resources.IProject
+import org.eclipse.core.runtime.NullProgressMonitor
+import org.eclipse.core.runtime.Path
+
+import org.eclipse.buildship.core.internal.CorePlugin
+import org.eclipse.buildship.core.internal.test.fixtures.WorkspaceSpecification
+
+class WorkspaceProjectIndexTest extends WorkspaceSpecification {
+
+    def "Index is consistent after project creation"() {
+        when:
+        IProject project = newProject('sample-project')
+
+        then:
+        index.checkConsistency().empty
+        index.findProjectByName('sample-project').get() == project
+        index.findProjectByLocation(dir('sample-project').canonicalFile).get() == project
+    }
+
+    def "Index is consistent after project deletion"() {
+        setup:
+        IProject project = newProject('sample-project')
+
+        when:
+        project.delete(false, new NullProgressMonitor())
+
+        then:
+        index.checkConsistency().empty
+        !index.findProjectByName('sample-project').present
+        !index.findProjectByLocation(dir('sample-project').canonicalFile).present
+    }
+
+    def "Index is consistent after project rename"() {
+        setup:
+        IProject project = newProject('sample-project')
+
+        when:
+        IProject renamed = workspaceOperations.renameProject(project, 'renamed-project', new NullProgressMonitor())
+
+        then:
+        index.checkConsistency().empty
+        !index.findProjectByName('sample-project').present
+        index.findProjectByName('renamed-project').get() == renamed
+        index.findProjectByLocation(dir('sample-project').canonicalFile).get() == renamed
+    }
+
+    def "Index is consistent after project is closed and reopened"() {
+        setup:
+        IProject project = newProject('sample-project')
+
+        when:
+        project.close(new NullProgressMonitor())
+
+        then:
+        index.checkConsistency().empty
+        index.findProjectByLocation(dir('sample-project').canonicalFile).get() == project
+
+        when:
+        project.open(new NullProgressMonitor())
+
+        then:
+        index.checkConsistency().empty
+        index.findProjectByLocation(dir('sample-project').canonicalFile).get() == project
+    }
+
+    def "Projects created in a workspace operation are visible before the change events are sent"() {
+        setup:
+        File location = dir('sample-project').canonicalFile
+        IProject project
+
+        when:
+        workspace.run({ monitor ->
+            project = workspaceOperations.createProject('sample-project', location, [], monitor)
+            assert workspaceOperations.findProjectByLocation(location).get() == project
+        }, new NullProgressMonitor())
+
+        then:
+        index.checkConsistency().empty
+    }
+
+    def "Projects created by other plugins in a workspace operation are found by location after the operation"() {
+        setup:
+        File location = dir('sample-project').canonicalFile
+        index.findProjectByLocation(location)
+        IProject project = workspace.root.getProject('sample-project')
+
+        when:
+        workspace.run({ monitor ->
+            def description = workspace.newProjectDescription('sample-project')
+            description.location = new Path(location.absolutePath)
+            project.create(description, monitor)
+            project.open(monitor)
+        }, new NullProgressMonitor())
+
+        then:
+        workspaceOperations.findProjectByLocation(location).get() == project
+        index.checkConsistency().empty
+    }
+
+    def "Lookup recovers from stale index"() {
+        setup:
+        IProject project = newProject('sample-project')
+        index.remove(project)
+
+        expect:
+        index.findProjectByName('sample-project').get() == project
+        index.checkConsistency().empty
+    }
+
+    private static WorkspaceProjectIndex getIndex() {
+        CorePlugin.workspaceProjectIndex()
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal;
+
+import java.io.File;
+import java.util.concurrent.ExecutionException;
+
+import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.model.build.BuildEnvironment;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import org.eclipse.buildship.core.internal.configuration.GradleArguments;
+
+/**
+ * Caches the {@link BuildEnvironment} model used to configure the Tooling API operations.
+ * <p/>
+ * The entries are keyed by the {@link GradleArguments}, so changing the Gradle distribution, the
+ * Java home or the Gradle user home results in a new entry. The Gradle version defined in the
+ * wrapper properties and the Java home and JVM arguments defined in the root
+ * {@code gradle.properties} file are not part of the arguments, therefore the entries of a build
+ * are removed when its {@code gradle/wrapper/gradle-wrapper.properties} or its
+ * {@code gradle.properties} file changes. The idle pooled connections of the build are closed at
+ * the same time, as they are bound to the previous distribution.
+ */
+public final class BuildEnvironmentCache implements IResourceChangeListener {
+
+    private static final IPath WRAPPER_PROPERTIES_PATH = new Path("gradle/wrapper/gradle-wrapper.properties");
+    private static final IPath GRADLE_PROPERTIES_PATH = new Path("gradle.properties");
+
+    private final Cache<GradleArguments, BuildEnvironment> cache = CacheBuilder.newBuilder().maximumSize(64).build();
+
+    private BuildEnvironmentCache() {
+    }
+
+    /**
+     * Returns the build environment of the target build, loading it via the connection if it is
+     * not cached.
+     *
+     * @param gradleArguments the arguments the connection was opened with
+     * @param connection the connection to load the build environment with
+     * @return the build environment
+     */
+    public BuildEnvironment get(GradleArguments gradleArguments, ProjectConnection connection) {
+        try {
+            return this.cache.get(gradleArguments, () -> connection.getModel(BuildEnvironment.class));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else {
+                throw new GradlePluginsRuntimeException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Removes the cached build environments of a build.
+     *
+     * @param rootDir the root directory of the build
+     */
+    public void invalidate(File rootDir) {
+        for (GradleArguments gradleArguments : this.cache.asMap().keySet()) {
+            if (gradleArguments.getRootDir().equals(rootDir)) {
+                this.cache.invalidate(gradleArguments);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+
+        for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+            IProject project = (IProject) projectDelta.getResource();
+            IPath location = project.getLocation();
+            if (location != null && (projectDelta.findMember(WRAPPER_PROPERTIES_PATH) != null || projectDelta.findMember(GRADLE_PROPERTIES_PATH) != null)) {
+                File rootDir = location.toFile();
+                invalidate(rootDir);
+                CorePlugin.projectConnectionPool().evict(rootDir);
+            }
+        }
+    }
+
+    public static BuildEnvironmentCache createAndRegister() {
+        BuildEnvironmentCache cache = new BuildEnvironmentCache();
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(cache, IResourceChangeEvent.POST_CHANGE);
+        return cache;
+    }
+
+    public void close() {
+        ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+        this.cache.invalidateAll();
+    }
+}
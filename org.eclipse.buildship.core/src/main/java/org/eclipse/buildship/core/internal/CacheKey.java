@@ -16,9 +16,12 @@ import java.util.Objects;
 
 import org.gradle.tooling.BuildAction;
 
+import org.eclipse.buildship.core.internal.workspace.CompositeModelQuery;
+
 class CacheKey {
     private boolean invalid = false;
     private BuildAction<?> buildAction;
+    private List<?> phasedActions;
     private Class<?> modelType;
     private List<String> tasks;
     private Map<String, String> envVariables;
@@ -38,6 +41,10 @@ class CacheKey {
         this.buildAction = buildAction;
     }
 
+    public void setPhasedActions(List<?> phasedActions) {
+        this.phasedActions = phasedActions;
+    }
+
     public void setModelType(Class<?> modelType) {
         this.modelType = modelType;
     }
@@ -74,9 +81,32 @@ class CacheKey {
         this.jvmArguments = newJvmArguments;
     }
 
+    /**
+     * Returns the key of the cached value in the long-lived {@link org.eclipse.buildship.core.internal.workspace.ModelCache}.
+     * Only plain model queries and composite model queries without custom arguments are shared.
+     *
+     * @return the model cache key or {@code null} if the value should not be shared
+     */
+    public Object getModelCacheKey() {
+        if (this.invalid || this.phasedActions != null || this.tasks != null || this.envVariables != null || this.javaHome != null || this.arguments != null || this.jvmArguments != null) {
+            return null;
+        } else if (this.buildAction == null) {
+            return this.modelType;
+        } else if (isCompositeModelQuery(this.buildAction)) {
+            return this.buildAction;
+        } else {
+            return null;
+        }
+    }
+
+    private static boolean isCompositeModelQuery(BuildAction<?> buildAction) {
+        // in development mode the query class is loaded by an isolated class loader
+        return buildAction.getClass().getName().equals(CompositeModelQuery.class.getName());
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(this.buildAction, this.modelType, this.invalid, this.tasks, this.envVariables, this.javaHome, this.arguments, this.jvmArguments);
+        return Objects.hash(this.buildAction, this.phasedActions, this.modelType, this.invalid, this.tasks, this.envVariables, this.javaHome, this.arguments, this.jvmArguments);
     }
 
     @Override
@@ -92,6 +122,7 @@ class CacheKey {
         }
         CacheKey other = (CacheKey) obj;
         return Objects.equals(this.buildAction, other.buildAction)
+                && Objects.equals(this.phasedActions, other.phasedActions)
                 && Objects.equals(this.modelType, other.modelType)
                 && Objects.equals(this.invalid, other.invalid)
                 && Objects.equals(this.tasks, other.tasks)
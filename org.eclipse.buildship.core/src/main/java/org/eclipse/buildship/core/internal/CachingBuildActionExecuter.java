@@ -33,10 +33,14 @@ public class CachingBuildActionExecuter<T> implements BuildActionExecuter<T> {
     private final CacheKey cacheKey;
 
     CachingBuildActionExecuter(BuildActionExecuter<T> delegate, BuildAction<T> buildAction, Cache<Object, Object> cache) {
+        this(delegate, cache, new CacheKey());
+        this.cacheKey.setBuildAction(buildAction);
+    }
+
+    CachingBuildActionExecuter(BuildActionExecuter<T> delegate, Cache<Object, Object> cache, CacheKey cacheKey) {
         this.delegate = delegate;
         this.cache = cache;
-        this.cacheKey = new CacheKey();
-        this.cacheKey.setBuildAction(buildAction);
+        this.cacheKey = cacheKey;
     }
 
     @Override
@@ -188,7 +192,7 @@ public class CachingBuildActionExecuter<T> implements BuildActionExecuter<T> {
     @Override
     @SuppressWarnings("unchecked")
     public T run() throws GradleConnectionException, IllegalStateException {
-        Object cachedValue = this.cacheKey.isInvalid() ? null : this.cache.getIfPresent(this.cacheKey);
+        Object cachedValue = getCachedValue();
         if (cachedValue != null) {
             return (T) cachedValue;
         } else {
@@ -200,15 +204,38 @@ public class CachingBuildActionExecuter<T> implements BuildActionExecuter<T> {
 
     @Override
     @SuppressWarnings("unchecked")
-    public void run(ResultHandler<? super T> handler) throws IllegalStateException {
-        Object cachedValue = this.cacheKey.isInvalid() ? null : this.cache.getIfPresent(this.cacheKey);
+    public void run(final ResultHandler<? super T> handler) throws IllegalStateException {
+        Object cachedValue = getCachedValue();
         if (cachedValue != null) {
             handler.onComplete((T) cachedValue);
         } else {
-            InspectableResultHandler<T> inspectableResultHandler = new InspectableResultHandler<>();
-            this.delegate.run(inspectableResultHandler);
-            inspectableResultHandler.getResult().ifPresent(r -> this.cache.put(this.cacheKey, r));
-            inspectableResultHandler.forwardResults(handler);
+            this.delegate.run(new ResultHandler<T>() {
+
+                @Override
+                public void onComplete(T result) {
+                    if (result != null) {
+                        CachingBuildActionExecuter.this.cache.put(CachingBuildActionExecuter.this.cacheKey, result);
+                    }
+                    handler.onComplete(result);
+                }
+
+                @Override
+                public void onFailure(GradleConnectionException failure) {
+                    handler.onFailure(failure);
+                }
+            });
         }
     }
+
+    BuildActionExecuter<T> getDelegate() {
+        return this.delegate;
+    }
+
+    Object getCachedValue() {
+        return this.cacheKey.isInvalid() ? null : this.cache.getIfPresent(this.cacheKey);
+    }
+
+    void putCachedValue(Object value) {
+        this.cache.put(this.cacheKey, value);
+    }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.gradle.tooling.BuildAction;
+import org.gradle.tooling.BuildActionExecuter;
+import org.gradle.tooling.BuildActionExecuter.Builder;
+import org.gradle.tooling.GradleConnectionException;
+import org.gradle.tooling.IntermediateResultHandler;
+import org.gradle.tooling.ResultHandler;
+
+import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Phased build action builder storing the results of the phase actions in the cache.
+ * <p/>
+ * The cache key contains the phase actions in the order they were registered, and the arguments of
+ * the executer. Phased executions with equal actions share the results, so the actions have to
+ * implement {@code equals()} and {@code hashCode()} to be reused across different clients. On a
+ * cache hit the intermediate result handlers are notified with the cached results in the order the
+ * phases are executed by Gradle.
+ */
+final class CachingPhasedBuildActionBuilder implements Builder {
+
+    private final Builder delegate;
+    private final Cache<Object, Object> cache;
+    private final List<PhasedAction<?>> projectsLoadedActions = new ArrayList<>();
+    private final List<PhasedAction<?>> buildFinishedActions = new ArrayList<>();
+
+    CachingPhasedBuildActionBuilder(Builder delegate, Cache<Object, Object> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public <T> Builder projectsLoaded(BuildAction<T> buildAction, IntermediateResultHandler<? super T> handler) throws IllegalArgumentException {
+        PhasedAction<T> action = new PhasedAction<>(Phase.PROJECTS_LOADED, buildAction, handler);
+        this.delegate.projectsLoaded(buildAction, action);
+        this.projectsLoadedActions.add(action);
+        return this;
+    }
+
+    @Override
+    public <T> Builder buildFinished(BuildAction<T> buildAction, IntermediateResultHandler<? super T> handler) throws IllegalArgumentException {
+        PhasedAction<T> action = new PhasedAction<>(Phase.BUILD_FINISHED, buildAction, handler);
+        this.delegate.buildFinished(buildAction, action);
+        this.buildFinishedActions.add(action);
+        return this;
+    }
+
+    @Override
+    public BuildActionExecuter<Void> build() {
+        List<PhasedAction<?>> actions = ImmutableList.<PhasedAction<?>>builder().addAll(this.projectsLoadedActions).addAll(this.buildFinishedActions).build();
+        CacheKey cacheKey = new CacheKey();
+        cacheKey.setPhasedActions(actions);
+        return new CachingPhasedBuildActionExecuter(this.delegate.build(), this.cache, cacheKey, actions);
+    }
+
+    /**
+     * The build phases supported by the phased build actions.
+     */
+    private enum Phase {
+        PROJECTS_LOADED, BUILD_FINISHED
+    }
+
+    /**
+     * A registered phase action. Records the result of the action and forwards it to the client's
+     * handler. Only the phase and the action are part of the cache key.
+     */
+    private static final class PhasedAction<T> implements IntermediateResultHandler<T> {
+
+        private final Phase phase;
+        private final BuildAction<T> buildAction;
+        private final IntermediateResultHandler<? super T> handler;
+        private boolean completed;
+        private T result;
+
+        PhasedAction(Phase phase, BuildAction<T> buildAction, IntermediateResultHandler<? super T> handler) {
+            this.phase = phase;
+            this.buildAction = buildAction;
+            this.handler = handler;
+        }
+
+        @Override
+        public void onComplete(T result) {
+            this.completed = true;
+            this.result = result;
+            this.handler.onComplete(result);
+        }
+
+        @SuppressWarnings("unchecked")
+        void replay(Object cachedResult) {
+            this.handler.onComplete((T) cachedResult);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.phase, this.buildAction);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null) {
+                return false;
+            }
+            if (getClass() != obj.getClass()) {
+                return false;
+            }
+            PhasedAction<?> other = (PhasedAction<?>) obj;
+            return Objects.equals(this.phase, other.phase) && Objects.equals(this.buildAction, other.buildAction);
+        }
+    }
+
+    /**
+     * Executer running the phased actions or replaying the cached results. The results are only
+     * cached if all phase actions completed.
+     */
+    private static final class CachingPhasedBuildActionExecuter extends CachingBuildActionExecuter<Void> {
+
+        private final List<PhasedAction<?>> actions;
+
+        CachingPhasedBuildActionExecuter(BuildActionExecuter<Void> delegate, Cache<Object, Object> cache, CacheKey cacheKey, List<PhasedAction<?>> actions) {
+            super(delegate, cache, cacheKey);
+            this.actions = actions;
+        }
+
+        @Override
+        public Void run() throws GradleConnectionException, IllegalStateException {
+            if (!replayCachedResults()) {
+                getDelegate().run();
+                cacheResults();
+            }
+            return null;
+        }
+
+        @Override
+        public void run(final ResultHandler<? super Void> handler) throws IllegalStateException {
+            if (replayCachedResults()) {
+                handler.onComplete(null);
+            } else {
+                getDelegate().run(new ResultHandler<Void>() {
+
+                    @Override
+                    public void onComplete(Void result) {
+                        // the phase actions are complete when the build action finishes
+                        cacheResults();
+                        handler.onComplete(result);
+                    }
+
+                    @Override
+                    public void onFailure(GradleConnectionException failure) {
+                        handler.onFailure(failure);
+                    }
+                });
+            }
+        }
+
+        private boolean replayCachedResults() {
+            List<?> cachedResults = (List<?>) getCachedValue();
+            if (cachedResults == null) {
+                return false;
+            }
+            for (int i = 0; i < this.actions.size(); i++) {
+                this.actions.get(i).replay(cachedResults.get(i));
+            }
+            return true;
+        }
+
+        private void cacheResults() {
+            // the results can be null, so they are stored in a list that allows null elements
+            List<Object> results = new ArrayList<>(this.actions.size());
+            for (PhasedAction<?> action : this.actions) {
+                if (!action.completed) {
+                    return;
+                }
+                results.add(action.result);
+            }
+            putCachedValue(results);
+        }
+    }
+}
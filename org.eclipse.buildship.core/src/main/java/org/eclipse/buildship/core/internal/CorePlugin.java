@@ -15,6 +15,7 @@ package org.eclipse.buildship.core.internal;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
@@ -27,8 +28,10 @@ import com.google.common.collect.Maps;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Plugin;
 
+import org.eclipse.buildship.core.internal.configuration.ConfigurationCache;
 import org.eclipse.buildship.core.internal.configuration.ConfigurationManager;
 import org.eclipse.buildship.core.internal.configuration.DefaultConfigurationManager;
+import org.eclipse.buildship.core.internal.configuration.PerformancePreferences;
 import org.eclipse.buildship.core.internal.console.ProcessStreamsProvider;
 import org.eclipse.buildship.core.internal.console.StdProcessStreamsProvider;
 import org.eclipse.buildship.core.internal.event.DefaultListenerRegistry;
@@ -46,12 +49,15 @@ import org.eclipse.buildship.core.internal.preferences.DefaultModelPersistence;
 import org.eclipse.buildship.core.internal.preferences.ModelPersistence;
 import org.eclipse.buildship.core.internal.util.gradle.PublishedGradleVersionsWrapper;
 import org.eclipse.buildship.core.internal.util.logging.EclipseLogger;
+import org.eclipse.buildship.core.internal.workspace.ClasspathChangeTracker;
 import org.eclipse.buildship.core.internal.workspace.DefaultGradleWorkspace;
 import org.eclipse.buildship.core.internal.workspace.DefaultWorkspaceOperations;
 import org.eclipse.buildship.core.internal.workspace.InternalGradleWorkspace;
+import org.eclipse.buildship.core.internal.workspace.ModelCache;
 import org.eclipse.buildship.core.internal.workspace.ProjectChangeListener;
 import org.eclipse.buildship.core.internal.workspace.SynchronizingBuildScriptUpdateListener;
 import org.eclipse.buildship.core.internal.workspace.WorkspaceOperations;
+import org.eclipse.buildship.core.internal.workspace.WorkspaceProjectIndex;
 import org.eclipse.buildship.core.invocation.InvocationCustomizer;
 
 /**
@@ -96,7 +102,15 @@ public final class CorePlugin extends Plugin {
     private ServiceTracker gradleLaunchConfigurationServiceTracker;
     private ServiceTracker listenerRegistryServiceTracker;
 
+    private DefaultListenerRegistry listenerRegistry;
+
+    private WorkspaceProjectIndex workspaceProjectIndex;
+    private ModelCache modelCache;
+    private ProjectConnectionPool projectConnectionPool;
+    private BuildEnvironmentCache buildEnvironmentCache;
     private DefaultModelPersistence modelPersistence;
+    private ConfigurationCache configurationCache;
+    private ClasspathChangeTracker classpathChangeTracker;
     private ProjectChangeListener projectChangeListener;
     private SynchronizingBuildScriptUpdateListener buildScriptUpdateListener;
     private InvocationCustomizer invocationCustomizer;
@@ -147,13 +161,21 @@ public final class CorePlugin extends Plugin {
         this.internalGradleWorkspaceService = registerService(context, InternalGradleWorkspace.class, createGradleWorkspace(), preferences);
         this.processStreamsProviderService = registerService(context, ProcessStreamsProvider.class, createProcessStreamsProvider(), preferences);
         this.gradleLaunchConfigurationService = registerService(context, GradleLaunchConfigurationManager.class, createGradleLaunchConfigurationManager(), preferences);
-        this.listenerRegistryService = registerService(context, ListenerRegistry.class, createListenerRegistry(), preferences);
-
+        this.listenerRegistry = createListenerRegistry();
+        this.listenerRegistryService = registerService(context, ListenerRegistry.class, this.listenerRegistry, preferences);
+
+        this.workspaceProjectIndex = WorkspaceProjectIndex.createAndRegister();
+        // the configuration cache has to process the resource changes before the other listeners
+        this.configurationCache = ConfigurationCache.createAndRegister();
+        this.modelCache = createModelCache();
+        this.projectConnectionPool = createProjectConnectionPool();
+        this.buildEnvironmentCache = BuildEnvironmentCache.createAndRegister();
         this.modelPersistence = DefaultModelPersistence.createAndRegister();
+        this.classpathChangeTracker = ClasspathChangeTracker.createAndRegister();
         this.projectChangeListener = ProjectChangeListener.createAndRegister();
         this.buildScriptUpdateListener = SynchronizingBuildScriptUpdateListener.createAndRegister();
         this.invocationCustomizer = new InvocationCustomizerCollector();
-        this.configurationManager = new DefaultConfigurationManager();
+        this.configurationManager = new DefaultConfigurationManager(this.configurationCache);
         this.externalLaunchConfigurationManager = DefaultExternalLaunchConfigurationManager.createAndRegister();
         this.operationManager = new DefaultToolingApiOperationManager();
         this.extensionManager = new DefaultExtensionManager();
@@ -198,16 +220,31 @@ public final class CorePlugin extends Plugin {
         return new DefaultGradleLaunchConfigurationManager();
     }
 
-    private ListenerRegistry createListenerRegistry() {
+    private DefaultListenerRegistry createListenerRegistry() {
         return new DefaultListenerRegistry();
     }
 
+    private ModelCache createModelCache() {
+        return new ModelCache(PerformancePreferences.getModelCacheMaximumWeight(), TimeUnit.MINUTES.toMillis(PerformancePreferences.getModelCacheExpiration()));
+    }
+
+    private ProjectConnectionPool createProjectConnectionPool() {
+        return new ProjectConnectionPool(PerformancePreferences.getConnectionPoolSize(), PerformancePreferences.getConnectionPoolIdleTimeout());
+    }
+
     private void unregisterServices() {
         this.externalLaunchConfigurationManager.unregister();
         this.buildScriptUpdateListener.close();
         this.projectChangeListener.close();
+        this.classpathChangeTracker.close();
         this.modelPersistence.close();
+        this.buildEnvironmentCache.close();
+        this.projectConnectionPool.close();
+        this.modelCache.invalidateAll();
+        this.configurationCache.close();
+        this.workspaceProjectIndex.close();
         this.listenerRegistryService.unregister();
+        this.listenerRegistry.close();
         this.gradleLaunchConfigurationService.unregister();
         this.processStreamsProviderService.unregister();
         this.internalGradleWorkspaceService.unregister();
@@ -256,10 +293,30 @@ public final class CorePlugin extends Plugin {
         return (ListenerRegistry) getInstance().listenerRegistryServiceTracker.getService();
     }
 
+    public static WorkspaceProjectIndex workspaceProjectIndex() {
+        return getInstance().workspaceProjectIndex;
+    }
+
+    public static ModelCache modelCache() {
+        return getInstance().modelCache;
+    }
+
+    public static ProjectConnectionPool projectConnectionPool() {
+        return getInstance().projectConnectionPool;
+    }
+
+    public static BuildEnvironmentCache buildEnvironmentCache() {
+        return getInstance().buildEnvironmentCache;
+    }
+
     public static ModelPersistence modelPersistence() {
         return getInstance().modelPersistence;
     }
 
+    public static ClasspathChangeTracker classpathChangeTracker() {
+        return getInstance().classpathChangeTracker;
+    }
+
     public static InvocationCustomizer invocationCustomizer() {
         return getInstance().invocationCustomizer;
     }
@@ -49,6 +49,7 @@ import org.eclipse.buildship.core.internal.workspace.DefaultModelProvider;
 import org.eclipse.buildship.core.internal.workspace.FetchStrategy;
 import org.eclipse.buildship.core.internal.workspace.ImportRootProjectOperation;
 import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
+import org.eclipse.buildship.core.internal.workspace.ModelCache;
 import org.eclipse.buildship.core.internal.workspace.ModelProvider;
 import org.eclipse.buildship.core.internal.workspace.ModelProviderUtil;
 import org.eclipse.buildship.core.internal.workspace.NewProjectHandler;
@@ -64,16 +65,15 @@ public final class DefaultGradleBuild implements InternalGradleBuild {
 
     private final org.eclipse.buildship.core.internal.configuration.BuildConfiguration buildConfig;
 
-    // TODO (donat) Now, we have two caches: one for the project configurators and that lives within
-    // a synchronization (projectConnectionCache field) and one that lives forever (modelProvider).
-    // We should revisit this at some point and unify them.
+    // The models are cached in two layers. The synchronization layer stores every Tooling API query
+    // result while a synchronization is running, so the project configurators can reuse the models
+    // loaded by the synchronization. At the end of the synchronization, the shareable results are
+    // published to the long-lived model cache used by the model provider.
     private final ModelProvider modelProvider;
-    private final Cache<Object, Object> projectConnectionCache;
 
     public DefaultGradleBuild(org.eclipse.buildship.core.internal.configuration.BuildConfiguration buildConfiguration) {
         this.buildConfig = buildConfiguration;
         this.modelProvider = new DefaultModelProvider(this);
-        this.projectConnectionCache = CacheBuilder.newBuilder().build();
     }
 
     @Override
@@ -167,6 +167,7 @@ public final class DefaultGradleBuild implements InternalGradleBuild {
 
         private final DefaultGradleBuild gradleBuild;
         private final NewProjectHandler newProjectHandler;
+        private final Cache<Object, Object> models = CacheBuilder.newBuilder().build();
         private List<SynchronizationProblem> failures;
 
         public SynchronizeOperation(DefaultGradleBuild gradleBuild, NewProjectHandler newProjectHandler) {
@@ -220,10 +221,21 @@ public final class DefaultGradleBuild implements InternalGradleBuild {
                 this.failures = new SynchronizeGradleBuildOperation(allProjects, this.gradleBuild, this.newProjectHandler,
                         ProjectConfigurators.create(this.gradleBuild, CorePlugin.extensionManager().loadConfigurators())).run(progress.newChild(1));
             } finally {
-                this.gradleBuild.projectConnectionCache.invalidateAll();
+                publishModels();
             }
         }
 
+        private void publishModels() {
+            ModelCache modelCache = CorePlugin.modelCache();
+            for (Map.Entry<Object, Object> entry : this.models.asMap().entrySet()) {
+                Object modelCacheKey = ((CacheKey) entry.getKey()).getModelCacheKey();
+                if (modelCacheKey != null) {
+                    modelCache.put(this.gradleBuild.getBuildConfig(), modelCacheKey, entry.getValue());
+                }
+            }
+            this.models.invalidateAll();
+        }
+
         @Override
         public ISchedulingRule getRule() {
             return ResourcesPlugin.getWorkspace().getRoot();
@@ -304,8 +316,9 @@ public final class DefaultGradleBuild implements InternalGradleBuild {
         public void runInToolingApi(CancellationTokenSource tokenSource, IProgressMonitor monitor) throws Exception {
             // TODO (donat) use AutoCloseable once we update to Tooling API 5.0
             ProjectConnection connection = IdeAttachedProjectConnection.newInstance(tokenSource, getGradleArguments(), monitor);
-            if (isSynchronizing()) {
-                connection = new CachingProjectConnection(connection, DefaultGradleBuild.this.projectConnectionCache);
+            SynchronizeOperation synchronization = syncOperations.get(DefaultGradleBuild.this);
+            if (synchronization != null) {
+                connection = new CachingProjectConnection(connection, synchronization.models);
             }
 
             try {
@@ -14,7 +14,6 @@ import org.gradle.tooling.BuildActionExecuter.Builder;
 import org.gradle.tooling.BuildLauncher;
 import org.gradle.tooling.CancellationTokenSource;
 import org.gradle.tooling.GradleConnectionException;
-import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.IntermediateResultHandler;
 import org.gradle.tooling.LongRunningOperation;
 import org.gradle.tooling.ModelBuilder;
@@ -61,7 +60,7 @@ final class IdeAttachedProjectConnection implements ProjectConnection {
     }
 
     private <T extends LongRunningOperation> T configureOperation(T operation) {
-        BuildEnvironment buildEnvironment = this.delegate.getModel(BuildEnvironment.class);
+        BuildEnvironment buildEnvironment = CorePlugin.buildEnvironmentCache().get(this.gradleArguments, this.delegate);
         this.gradleArguments.applyTo(operation, buildEnvironment);
         this.progressAttributes.applyTo(operation);
         return operation;
@@ -69,7 +68,7 @@ final class IdeAttachedProjectConnection implements ProjectConnection {
 
     @Override
     public void close() {
-        this.delegate.close();
+        CorePlugin.projectConnectionPool().release(this.gradleArguments, this.delegate);
     }
 
     @Override
@@ -88,9 +87,7 @@ final class IdeAttachedProjectConnection implements ProjectConnection {
     }
 
     public static ProjectConnection newInstance(CancellationTokenSource tokenSource, GradleArguments gradleArguments, IProgressMonitor monitor) {
-        GradleConnector connector = GradleConnector.newConnector();
-        gradleArguments.applyTo(connector);
-        ProjectConnection connection = connector.connect();
+        ProjectConnection connection = CorePlugin.projectConnectionPool().lease(gradleArguments);
 
         GradleProgressAttributes progressAttributes = GradleProgressAttributes.builder(tokenSource, monitor)
                 .forBackgroundProcess()
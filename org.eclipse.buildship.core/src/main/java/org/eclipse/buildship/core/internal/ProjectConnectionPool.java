@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ProjectConnection;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.buildship.core.internal.configuration.GradleArguments;
+
+/**
+ * Pool of Tooling API project connections.
+ * <p/>
+ * Connections are leased for the duration of one or more Tooling API operations and released
+ * afterwards. Released connections are kept idle and reused by subsequent leases with equal
+ * {@link GradleArguments}. The number of idle connections is limited, the least recently released
+ * connections are closed first. Idle connections are also closed after the idle timeout.
+ * <p/>
+ * A leased connection is used exclusively by its client, so the connections must not be closed by
+ * the clients directly.
+ */
+public final class ProjectConnectionPool {
+
+    private final int maxIdleConnections;
+    private final long idleTimeoutMillis;
+    private final Deque<IdleConnection> idleConnections = new ArrayDeque<>();
+    private final EvictionJob evictionJob = new EvictionJob();
+    private boolean closed = false;
+
+    public ProjectConnectionPool(int maxIdleConnections, long idleTimeoutMillis) {
+        Preconditions.checkArgument(maxIdleConnections >= 0, "Maximum number of idle connections must not be negative");
+        Preconditions.checkArgument(idleTimeoutMillis >= 0, "Idle timeout must not be negative");
+        this.maxIdleConnections = maxIdleConnections;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Leases a connection. If there is an idle connection with equal arguments then it is reused,
+     * otherwise a new connection is opened.
+     *
+     * @param gradleArguments the arguments to configure the connection with
+     * @return the leased connection
+     */
+    public ProjectConnection lease(GradleArguments gradleArguments) {
+        Preconditions.checkNotNull(gradleArguments);
+        synchronized (this) {
+            Iterator<IdleConnection> iterator = this.idleConnections.iterator();
+            while (iterator.hasNext()) {
+                IdleConnection idleConnection = iterator.next();
+                if (idleConnection.gradleArguments.equals(gradleArguments)) {
+                    iterator.remove();
+                    return idleConnection.connection;
+                }
+            }
+        }
+
+        GradleConnector connector = GradleConnector.newConnector();
+        gradleArguments.applyTo(connector);
+        return connector.connect();
+    }
+
+    /**
+     * Returns a leased connection to the pool.
+     *
+     * @param gradleArguments the arguments the connection was leased with
+     * @param connection the connection to return
+     */
+    public void release(GradleArguments gradleArguments, ProjectConnection connection) {
+        Preconditions.checkNotNull(gradleArguments);
+        Preconditions.checkNotNull(connection);
+        List<ProjectConnection> evicted = new ArrayList<>();
+        synchronized (this) {
+            if (this.closed || this.maxIdleConnections == 0) {
+                evicted.add(connection);
+            } else {
+                this.idleConnections.addFirst(new IdleConnection(gradleArguments, connection, System.nanoTime()));
+                while (this.idleConnections.size() > this.maxIdleConnections) {
+                    evicted.add(this.idleConnections.removeLast().connection);
+                }
+            }
+        }
+        closeConnections(evicted);
+        scheduleEviction();
+    }
+
+    /**
+     * Closes the idle connections of a build. Subsequent leases open new connections.
+     *
+     * @param rootDir the root directory of the build
+     */
+    public void evict(File rootDir) {
+        List<ProjectConnection> evicted = new ArrayList<>();
+        synchronized (this) {
+            Iterator<IdleConnection> iterator = this.idleConnections.iterator();
+            while (iterator.hasNext()) {
+                IdleConnection idleConnection = iterator.next();
+                if (idleConnection.gradleArguments.getRootDir().equals(rootDir)) {
+                    iterator.remove();
+                    evicted.add(idleConnection.connection);
+                }
+            }
+        }
+        closeConnections(evicted);
+    }
+
+    /**
+     * Returns the number of idle connections in the pool.
+     *
+     * @return the number of idle connections
+     */
+    public synchronized int getIdleConnectionCount() {
+        return this.idleConnections.size();
+    }
+
+    /**
+     * Closes the idle connections. Connections released after this call are closed immediately.
+     */
+    public void close() {
+        this.evictionJob.cancel();
+        List<ProjectConnection> evicted = new ArrayList<>();
+        synchronized (this) {
+            this.closed = true;
+            for (IdleConnection idleConnection : this.idleConnections) {
+                evicted.add(idleConnection.connection);
+            }
+            this.idleConnections.clear();
+        }
+        closeConnections(evicted);
+    }
+
+    private void scheduleEviction() {
+        int state = this.evictionJob.getState();
+        if (state != Job.WAITING && state != Job.SLEEPING) {
+            this.evictionJob.schedule(this.idleTimeoutMillis);
+        }
+    }
+
+    private void evictExpiredConnections() {
+        long expirationTime = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(this.idleTimeoutMillis);
+        List<ProjectConnection> evicted = new ArrayList<>();
+        boolean hasIdleConnections;
+        synchronized (this) {
+            // the connections are ordered by the release time, the oldest is at the end
+            while (!this.idleConnections.isEmpty() && this.idleConnections.getLast().releaseTime - expirationTime <= 0) {
+                evicted.add(this.idleConnections.removeLast().connection);
+            }
+            hasIdleConnections = !this.idleConnections.isEmpty();
+        }
+        closeConnections(evicted);
+        if (hasIdleConnections) {
+            this.evictionJob.schedule(this.idleTimeoutMillis);
+        }
+    }
+
+    private static void closeConnections(List<ProjectConnection> connections) {
+        for (ProjectConnection connection : connections) {
+            try {
+                connection.close();
+            } catch (Exception e) {
+                CorePlugin.logger().warn("Cannot close project connection", e);
+            }
+        }
+    }
+
+    /**
+     * An idle connection in the pool.
+     */
+    private static final class IdleConnection {
+
+        private final GradleArguments gradleArguments;
+        private final ProjectConnection connection;
+        private final long releaseTime;
+
+        private IdleConnection(GradleArguments gradleArguments, ProjectConnection connection, long releaseTime) {
+            this.gradleArguments = gradleArguments;
+            this.connection = connection;
+            this.releaseTime = releaseTime;
+        }
+    }
+
+    /**
+     * Closes the connections that have been idle for longer than the idle timeout.
+     */
+    private final class EvictionJob extends Job {
+
+        EvictionJob() {
+            super("Close idle Gradle connections");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            evictExpiredConnections();
+            return Status.OK_STATUS;
+        }
+    }
+}
@@ -38,6 +38,14 @@ public interface BuildConfiguration {
 
     boolean isAutoSync();
 
+    /**
+     * Returns the time in milliseconds that has to pass without further build script changes
+     * before an automatic synchronization starts.
+     *
+     * @return the automatic synchronization quiet period
+     */
+    int getAutoSyncQuietPeriod();
+
     List<String> getArguments();
 
     List<String> getJvmArguments();
@@ -71,6 +71,34 @@ final class BuildConfigurationPersistence {
         savePreferences(properties, preferences);
     }
 
+    /**
+     * Writes the build configuration properties and the path to the root project of a project
+     * in one step. The preferences are only flushed if their content changed.
+     *
+     * @param project the project to save the configuration for
+     * @param properties the build configuration properties to save, or {@code null}
+     * @param pathToRoot the path to the root project to save, or {@code null}
+     */
+    public void saveConfiguration(IProject project, DefaultBuildConfigurationProperties properties, String pathToRoot) {
+        Preconditions.checkNotNull(project);
+        saveConfiguration(PreferenceStore.forProjectScope(project, PREF_NODE), properties, pathToRoot);
+    }
+
+    public void saveConfiguration(File projectDir, DefaultBuildConfigurationProperties properties, String pathToRoot) {
+        Preconditions.checkNotNull(projectDir);
+        saveConfiguration(PreferenceStore.forPreferenceFile(getProjectPrefsFile(projectDir, PREF_NODE)), properties, pathToRoot);
+    }
+
+    private static void saveConfiguration(PreferenceStore preferences, DefaultBuildConfigurationProperties properties, String pathToRoot) {
+        if (properties != null) {
+            writePreferences(properties, preferences);
+        }
+        if (pathToRoot != null) {
+            preferences.write(PREF_KEY_CONNECTION_PROJECT_DIR, pathToRoot);
+        }
+        preferences.flush();
+    }
+
     public String readPathToRoot(IProject project) {
         Preconditions.checkNotNull(project);
         PreferenceStore preferences = PreferenceStore.forProjectScope(project, PREF_NODE);
@@ -150,6 +178,11 @@ final class BuildConfigurationPersistence {
     }
 
     private static void savePreferences(DefaultBuildConfigurationProperties properties, PreferenceStore preferences) {
+        writePreferences(properties, preferences);
+        preferences.flush();
+    }
+
+    private static void writePreferences(DefaultBuildConfigurationProperties properties, PreferenceStore preferences) {
         if (properties.isOverrideWorkspaceSettings()) {
             GradleDistribution gradleDistribution = properties.getGradleDistribution();
             String gradleDistributionString = gradleDistribution == null ? GradleDistribution.fromBuild().toString() : gradleDistribution.toString();
@@ -179,7 +212,6 @@ final class BuildConfigurationPersistence {
             preferences.delete(PREF_KEY_SHOW_CONSOLE_VIEW);
             preferences.delete(PREF_KEY_SHOW_EXECUTIONS_VIEW);
         }
-        preferences.flush();
     }
 
     private static String toPortableString(File file) {
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.configuration;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+
+/**
+ * In-memory cache of the project and build configurations read by the
+ * {@link DefaultConfigurationManager}.
+ * <p/>
+ * Only the configuration of accessible workspace projects is cached. The entries of a project are
+ * invalidated when the resource delta of its Buildship preferences file (or of the project itself)
+ * is received, and when the configuration is saved via the configuration manager. The listener is
+ * registered before the other Buildship resource change listeners, so they never read stale or
+ * uncached configuration from the disk.
+ * <p/>
+ * Entries loaded concurrently with an invalidation are discarded.
+ */
+public final class ConfigurationCache implements IResourceChangeListener {
+
+    private static final IPath PREFERENCES_FILE_PATH = new Path(".settings/" + CorePlugin.PLUGIN_ID + ".prefs");
+
+    private final Map<File, File> rootProjectDirectories = new ConcurrentHashMap<>();
+    private final Map<File, BuildConfigurationEntry> buildConfigurations = new ConcurrentHashMap<>();
+    private volatile long generation = 0;
+
+    private ConfigurationCache() {
+    }
+
+    long getGeneration() {
+        return this.generation;
+    }
+
+    File getRootProjectDirectory(File projectDir) {
+        return this.rootProjectDirectories.get(projectDir);
+    }
+
+    synchronized void putRootProjectDirectory(File projectDir, File rootProjectDirectory, long generation) {
+        if (generation == this.generation) {
+            this.rootProjectDirectories.put(projectDir, rootProjectDirectory);
+        }
+    }
+
+    DefaultBuildConfigurationProperties getBuildConfigurationProperties(File rootProjectDirectory) {
+        BuildConfigurationEntry entry = this.buildConfigurations.get(rootProjectDirectory);
+        return entry == null ? null : entry.properties;
+    }
+
+    synchronized void putBuildConfigurationProperties(File rootProjectDirectory, File rootProjectLocation, DefaultBuildConfigurationProperties properties, long generation) {
+        if (generation == this.generation) {
+            this.buildConfigurations.put(rootProjectDirectory, new BuildConfigurationEntry(rootProjectLocation, properties));
+        }
+    }
+
+    /**
+     * Removes the cached configuration of the project located in the target directory.
+     *
+     * @param projectDir the project location
+     */
+    synchronized void invalidate(final File projectDir) {
+        Preconditions.checkNotNull(projectDir);
+        this.generation++;
+        this.rootProjectDirectories.remove(projectDir);
+        this.buildConfigurations.remove(projectDir);
+        this.buildConfigurations.values().removeIf(entry -> entry.rootProjectLocation.equals(projectDir));
+    }
+
+    /**
+     * Removes all cached configuration.
+     */
+    synchronized void invalidateAll() {
+        this.generation++;
+        this.rootProjectDirectories.clear();
+        this.buildConfigurations.clear();
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta != null) {
+            try {
+                delta.accept(new IResourceDeltaVisitor() {
+
+                    @Override
+                    public boolean visit(IResourceDelta delta) throws CoreException {
+                        return doVisitDelta(delta);
+                    }
+                });
+            } catch (CoreException e) {
+                CorePlugin.logger().warn("Failed to process configuration changes", e);
+                invalidateAll();
+            }
+        }
+    }
+
+    private boolean doVisitDelta(IResourceDelta delta) {
+        IResource resource = delta.getResource();
+        if (resource instanceof IWorkspaceRoot) {
+            return true;
+        } else if (resource instanceof IProject) {
+            if (delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION | IResourceDelta.LOCAL_CHANGED)) != 0) {
+                invalidate(resource.getProject());
+                return false;
+            }
+            return true;
+        } else if (resource instanceof IFolder) {
+            // only the preferences folder is traversed
+            return PREFERENCES_FILE_PATH.removeLastSegments(1).equals(resource.getProjectRelativePath());
+        } else {
+            if (PREFERENCES_FILE_PATH.equals(resource.getProjectRelativePath())) {
+                invalidate(resource.getProject());
+            }
+            return false;
+        }
+    }
+
+    private void invalidate(IProject project) {
+        // the location of deleted projects is no longer available
+        IPath location = project.getLocation();
+        if (location == null) {
+            invalidateAll();
+        } else {
+            invalidate(location.toFile());
+        }
+    }
+
+    public static ConfigurationCache createAndRegister() {
+        ConfigurationCache cache = new ConfigurationCache();
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(cache, IResourceChangeEvent.POST_CHANGE);
+        return cache;
+    }
+
+    public void close() {
+        ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+        invalidateAll();
+    }
+
+    /**
+     * Cached build configuration properties along with the location of the root project owning the
+     * preferences.
+     */
+    private static final class BuildConfigurationEntry {
+
+        private final File rootProjectLocation;
+        private final DefaultBuildConfigurationProperties properties;
+
+        private BuildConfigurationEntry(File rootProjectLocation, DefaultBuildConfigurationProperties properties) {
+            this.rootProjectLocation = rootProjectLocation;
+            this.properties = properties;
+        }
+    }
+}
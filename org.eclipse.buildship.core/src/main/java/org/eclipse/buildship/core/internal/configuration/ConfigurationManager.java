@@ -48,6 +48,8 @@ public interface ConfigurationManager {
 
     void deleteProjectConfiguration(IProject project);
 
+    ConfigurationWriteSession beginWriteSession();
+
     RunConfiguration loadRunConfiguration(ILaunchConfiguration launchConfiguration);
 
     RunConfiguration createDefaultRunConfiguration(BuildConfiguration configuration);
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.configuration;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Collects project configuration changes and writes them to the preferences at once.
+ * <p/>
+ * Repeated saves of the same build or project configuration are merged, and every preferences
+ * file is flushed at most once, only if its content changed. Until the session is committed, the
+ * pending configuration is returned by the {@link ConfigurationManager} load methods.
+ */
+public final class ConfigurationWriteSession {
+
+    private final DefaultConfigurationManager configurationManager;
+    private final Map<File, DefaultBuildConfigurationProperties> buildConfigurations = new ConcurrentHashMap<>();
+    private final Map<File, File> rootProjectDirectories = new ConcurrentHashMap<>();
+    private boolean committed = false;
+
+    ConfigurationWriteSession(DefaultConfigurationManager configurationManager) {
+        this.configurationManager = Preconditions.checkNotNull(configurationManager);
+    }
+
+    /**
+     * Records the project configuration and the configuration of the containing build to be saved.
+     *
+     * @param configuration the configuration to save
+     */
+    public void saveProjectConfiguration(ProjectConfiguration configuration) {
+        Preconditions.checkState(!this.committed, "Configuration write session is already committed");
+        BuildConfiguration buildConfiguration = configuration.getBuildConfiguration();
+        Preconditions.checkArgument(buildConfiguration instanceof DefaultBuildConfiguration, "Unknow configuration type: ", buildConfiguration.getClass());
+        File rootDir = buildConfiguration.getRootProjectDirectory();
+        this.buildConfigurations.put(rootDir, ((DefaultBuildConfiguration) buildConfiguration).getProperties());
+        this.rootProjectDirectories.put(configuration.getProjectDir(), rootDir);
+    }
+
+    /**
+     * Writes the recorded configuration to the preferences. Subsequent calls do nothing.
+     */
+    public void commit() {
+        if (!this.committed) {
+            this.committed = true;
+            this.configurationManager.commit(this);
+        }
+    }
+
+    Map<File, DefaultBuildConfigurationProperties> getBuildConfigurations() {
+        return this.buildConfigurations;
+    }
+
+    Map<File, File> getRootProjectDirectories() {
+        return this.rootProjectDirectories;
+    }
+}
@@ -168,6 +168,11 @@ public final class DefaultBuildConfiguration implements BuildConfiguration {
         }
     }
 
+    @Override
+    public int getAutoSyncQuietPeriod() {
+        return PerformancePreferences.getAutoSyncQuietPeriod();
+    }
+
     @Override
     public org.eclipse.buildship.core.BuildConfiguration toApiBuildConfiguration() {
         // TODO (donat) the API BuildConfiguration corresponds to BuildConfigurationProperties. We should merge those.
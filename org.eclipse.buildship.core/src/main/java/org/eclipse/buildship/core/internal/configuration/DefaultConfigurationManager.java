@@ -11,10 +11,15 @@ package org.eclipse.buildship.core.internal.configuration;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Sets;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IPath;
@@ -29,11 +34,21 @@ import org.eclipse.buildship.core.internal.util.file.RelativePathUtils;
 
 /**
  * Default implementation for {@link ConfigurationManager}.
+ * <p/>
+ * The configuration of the accessible workspace projects is kept in a {@link ConfigurationCache}.
+ * The configuration recorded in the open {@link ConfigurationWriteSession} instances takes
+ * precedence over the persisted one.
  */
 public class DefaultConfigurationManager implements ConfigurationManager {
 
     WorkspaceConfigurationPersistence workspaceConfigurationPersistence = new WorkspaceConfigurationPersistence();
     BuildConfigurationPersistence buildConfigurationPersistence = new BuildConfigurationPersistence();
+    private final ConfigurationCache cache;
+    private final Set<ConfigurationWriteSession> openSessions = new CopyOnWriteArraySet<>();
+
+    public DefaultConfigurationManager(ConfigurationCache cache) {
+        this.cache = Preconditions.checkNotNull(cache);
+    }
 
     @Override
     public WorkspaceConfiguration loadWorkspaceConfiguration() {
@@ -67,7 +82,19 @@ public class DefaultConfigurationManager implements ConfigurationManager {
     @Override
     public BuildConfiguration loadBuildConfiguration(File rootDir) {
         Preconditions.checkNotNull(rootDir);
+        DefaultBuildConfigurationProperties buildConfigProperties = findPendingBuildConfigurationProperties(rootDir);
+        if (buildConfigProperties == null) {
+            buildConfigProperties = this.cache.getBuildConfigurationProperties(rootDir);
+        }
+        if (buildConfigProperties == null) {
+            buildConfigProperties = readBuildConfigurationProperties(rootDir);
+        }
+        return new DefaultBuildConfiguration(buildConfigProperties, loadWorkspaceConfiguration());
+    }
+
+    private DefaultBuildConfigurationProperties readBuildConfigurationProperties(File rootDir) {
         Preconditions.checkArgument(rootDir.exists());
+        long generation = this.cache.getGeneration();
         Optional<IProject> projectCandidate = CorePlugin.workspaceOperations().findProjectByLocation(rootDir);
         DefaultBuildConfigurationProperties buildConfigProperties;
         if (projectCandidate.isPresent() && projectCandidate.get().isAccessible()) {
@@ -81,10 +108,11 @@ public class DefaultConfigurationManager implements ConfigurationManager {
                 // see org.eclipse.jdt.internal.core.JavaProject.readFileEntriesWithException(Map)
                 buildConfigProperties = this.buildConfigurationPersistence.readBuildConfiguratonProperties(project.getLocation().toFile());
             }
+            this.cache.putBuildConfigurationProperties(rootDir, project.getLocation().toFile(), buildConfigProperties, generation);
         } else {
             buildConfigProperties = this.buildConfigurationPersistence.readBuildConfiguratonProperties(rootDir);
         }
-        return new DefaultBuildConfiguration(buildConfigProperties, loadWorkspaceConfiguration());
+        return buildConfigProperties;
     }
 
     @Override
@@ -95,9 +123,11 @@ public class DefaultConfigurationManager implements ConfigurationManager {
         Optional<IProject> rootProject = CorePlugin.workspaceOperations().findProjectByLocation(rootDir);
         if (rootProject.isPresent() && rootProject.get().isAccessible()) {
             this.buildConfigurationPersistence.saveBuildConfiguration(rootProject.get(), properties);
+            this.cache.invalidate(rootProject.get().getLocation().toFile());
         } else {
             this.buildConfigurationPersistence.saveBuildConfiguration(rootDir, properties);
         }
+        this.cache.invalidate(rootDir);
     }
 
     @Override
@@ -107,10 +137,22 @@ public class DefaultConfigurationManager implements ConfigurationManager {
 
     @Override
     public ProjectConfiguration loadProjectConfiguration(IProject project) {
-        String pathToRoot = this.buildConfigurationPersistence.readPathToRoot(project.getLocation().toFile());
-        File rootDir = relativePathToProjectRoot(project.getLocation(), pathToRoot);
+        File projectDir = project.getLocation().toFile();
+        boolean cacheable = project.isAccessible();
+        File rootDir = findPendingRootProjectDirectory(projectDir);
+        if (rootDir == null && cacheable) {
+            rootDir = this.cache.getRootProjectDirectory(projectDir);
+        }
+        if (rootDir == null) {
+            long generation = this.cache.getGeneration();
+            String pathToRoot = this.buildConfigurationPersistence.readPathToRoot(projectDir);
+            rootDir = relativePathToProjectRoot(project.getLocation(), pathToRoot);
+            if (cacheable) {
+                this.cache.putRootProjectDirectory(projectDir, rootDir, generation);
+            }
+        }
         BuildConfiguration buildConfig = loadBuildConfiguration(rootDir);
-        return new DefaultProjectConfiguration(project.getLocation().toFile(), buildConfig);
+        return new DefaultProjectConfiguration(projectDir, buildConfig);
     }
 
     @Override
@@ -132,19 +174,64 @@ public class DefaultConfigurationManager implements ConfigurationManager {
 
     @Override
     public void saveProjectConfiguration(ProjectConfiguration projectConfiguration) {
-        BuildConfiguration buildConfiguration = projectConfiguration.getBuildConfiguration();
-        saveBuildConfiguration(buildConfiguration);
+        ConfigurationWriteSession session = beginWriteSession();
+        session.saveProjectConfiguration(projectConfiguration);
+        session.commit();
+    }
+
+    @Override
+    public ConfigurationWriteSession beginWriteSession() {
+        ConfigurationWriteSession session = new ConfigurationWriteSession(this);
+        this.openSessions.add(session);
+        return session;
+    }
 
-        File projectDir = projectConfiguration.getProjectDir();
-        File rootDir = buildConfiguration.getRootProjectDirectory();
-        String pathToRoot = projectRootToRelativePath(projectDir, rootDir);
+    void commit(ConfigurationWriteSession session) {
+        try {
+            // the build configuration and the path to the root project of the root project are stored in the same file
+            Map<File, DefaultBuildConfigurationProperties> buildConfigurations = session.getBuildConfigurations();
+            Map<File, String> pathsToRoot = new HashMap<>();
+            for (Map.Entry<File, File> entry : session.getRootProjectDirectories().entrySet()) {
+                pathsToRoot.put(entry.getKey(), projectRootToRelativePath(entry.getKey(), entry.getValue()));
+            }
+            for (File projectDir : Sets.union(buildConfigurations.keySet(), pathsToRoot.keySet())) {
+                saveConfiguration(projectDir, buildConfigurations.get(projectDir), pathsToRoot.get(projectDir));
+            }
+        } finally {
+            this.openSessions.remove(session);
+        }
+    }
 
+    private void saveConfiguration(File projectDir, DefaultBuildConfigurationProperties properties, String pathToRoot) {
+        // the project is looked up upon commit, as it might have been renamed since the configuration was recorded
         Optional<IProject> project = CorePlugin.workspaceOperations().findProjectByLocation(projectDir);
         if (project.isPresent() && project.get().isAccessible()) {
-            this.buildConfigurationPersistence.savePathToRoot(project.get(), pathToRoot);
+            this.buildConfigurationPersistence.saveConfiguration(project.get(), properties, pathToRoot);
+            this.cache.invalidate(project.get().getLocation().toFile());
         } else {
-            this.buildConfigurationPersistence.savePathToRoot(projectDir, pathToRoot);
+            this.buildConfigurationPersistence.saveConfiguration(projectDir, properties, pathToRoot);
+        }
+        this.cache.invalidate(projectDir);
+    }
+
+    private File findPendingRootProjectDirectory(File projectDir) {
+        for (ConfigurationWriteSession session : this.openSessions) {
+            File rootDir = session.getRootProjectDirectories().get(projectDir);
+            if (rootDir != null) {
+                return rootDir;
+            }
+        }
+        return null;
+    }
+
+    private DefaultBuildConfigurationProperties findPendingBuildConfigurationProperties(File rootDir) {
+        for (ConfigurationWriteSession session : this.openSessions) {
+            DefaultBuildConfigurationProperties properties = session.getBuildConfigurations().get(rootDir);
+            if (properties != null) {
+                return properties;
+            }
         }
+        return null;
     }
 
     @Override
@@ -154,6 +241,7 @@ public class DefaultConfigurationManager implements ConfigurationManager {
         } else {
             this.buildConfigurationPersistence.deletePathToRoot(project.getLocation().toFile());
         }
+        this.cache.invalidate(project.getLocation().toFile());
     }
 
     @Override
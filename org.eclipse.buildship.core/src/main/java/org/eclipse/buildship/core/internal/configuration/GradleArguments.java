@@ -10,6 +10,7 @@ package org.eclipse.buildship.core.internal.configuration;
 
 import java.io.File;
 import java.util.List;
+import java.util.Objects;
 
 import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.LongRunningOperation;
@@ -57,6 +58,10 @@ public final class GradleArguments {
         this.jvmArguments = ImmutableList.copyOf(jvmArguments);
     }
 
+    public File getRootDir() {
+        return this.rootDir;
+    }
+
     public void describe(GradleProgressAttributes progressAttributes, BuildEnvironment buildEnvironment) {
         GradleEnvironment gradleEnv = buildEnvironment.getGradle();
         JavaEnvironment javaEnv = buildEnvironment.getJava();
@@ -111,6 +116,32 @@ public final class GradleArguments {
         return new GradleArguments(rootDir, gradleDistribution, gradleUserHome, javaHome, buildScansEnabled, offlineMode, arguments, jvmArguments);
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.rootDir, this.gradleDistribution, this.gradleUserHome, this.javaHome, this.buildScansEnabled, this.offlineMode, this.arguments, this.jvmArguments);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        GradleArguments other = (GradleArguments) obj;
+        return Objects.equals(this.rootDir, other.rootDir)
+                && Objects.equals(this.gradleDistribution, other.gradleDistribution)
+                && Objects.equals(this.gradleUserHome, other.gradleUserHome)
+                && Objects.equals(this.javaHome, other.javaHome)
+                && this.buildScansEnabled == other.buildScansEnabled
+                && this.offlineMode == other.offlineMode
+                && Objects.equals(this.arguments, other.arguments)
+                && Objects.equals(this.jvmArguments, other.jvmArguments);
+    }
 
     private static List<String> collectArguments(List<String> baseArgs, boolean buildScansEnabled, boolean offlineMode, BuildEnvironment buildEnvironment) {
         List<String> arguments = Lists.newArrayList(baseArgs);
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.configuration;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+
+/**
+ * Provides access to the hidden preferences tuning the performance of the core plug-in.
+ * <p/>
+ * The preferences are not exposed on the UI. They are looked up in the instance and in the
+ * default scope of the core plug-in, so they can be specified in the
+ * {@code plugin_customization.ini} file of the product.
+ */
+public final class PerformancePreferences {
+
+    private static final String SYNCHRONIZATION_PARALLELISM = "synchronization.parallelism";
+    private static final String MODEL_PERSISTENCE_FLUSH_DELAY = "modelPersistence.flushDelay";
+    private static final String AUTO_SYNC_QUIET_PERIOD = "autoSync.quietPeriod";
+    private static final String INCREMENTAL_SYNCHRONIZATION = "synchronization.incremental";
+    private static final String MODEL_CACHE_MAXIMUM_WEIGHT = "modelCache.maximumWeight";
+    private static final String MODEL_CACHE_EXPIRATION = "modelCache.expireAfterAccess";
+    private static final String CONNECTION_POOL_SIZE = "connectionPool.size";
+    private static final String CONNECTION_POOL_IDLE_TIMEOUT = "connectionPool.idleTimeout";
+    private static final String CONTINUOUS_BUILD_QUIET_PERIOD = "continuousBuild.quietPeriod";
+    private static final String TEST_LAUNCH_BATCH_WINDOW = "testLaunch.batchWindow";
+
+    private PerformancePreferences() {
+    }
+
+    /**
+     * Returns the number of threads used to compute the project configuration during
+     * synchronization. If the value is less than 2 then the projects are synchronized serially.
+     *
+     * @return the synchronization parallelism
+     */
+    public static int getSynchronizationParallelism() {
+        return readInt(SYNCHRONIZATION_PARALLELISM, 1);
+    }
+
+    /**
+     * Returns the delay in milliseconds after which the saved persistent models are written to the
+     * disk. Models saved within the delay are written in one batch.
+     *
+     * @return the flush delay
+     */
+    public static int getModelPersistenceFlushDelay() {
+        return Math.max(0, readInt(MODEL_PERSISTENCE_FLUSH_DELAY, 5000));
+    }
+
+    /**
+     * Returns the time in milliseconds the automatic synchronization waits for further build
+     * script changes before it starts.
+     *
+     * @return the automatic synchronization quiet period
+     */
+    public static int getAutoSyncQuietPeriod() {
+        return Math.max(0, readInt(AUTO_SYNC_QUIET_PERIOD, 1000));
+    }
+
+    /**
+     * Returns whether the synchronization skips the configuration of projects whose Gradle model
+     * and workspace state didn't change since the last synchronization.
+     *
+     * @return {@code true} if the incremental synchronization is enabled
+     */
+    public static boolean isIncrementalSynchronization() {
+        IPreferencesService service = Platform.getPreferencesService();
+        return service == null || service.getBoolean(CorePlugin.PLUGIN_ID, INCREMENTAL_SYNCHRONIZATION, true, null);
+    }
+
+    /**
+     * Returns the maximum total weight of the models stored in the model cache. See
+     * {@link org.eclipse.buildship.core.internal.workspace.ModelCache} for how the weight of a
+     * model is estimated.
+     *
+     * @return the maximum weight of the model cache
+     */
+    public static int getModelCacheMaximumWeight() {
+        return Math.max(0, readInt(MODEL_CACHE_MAXIMUM_WEIGHT, 500000));
+    }
+
+    /**
+     * Returns the time in minutes after which a model is evicted from the model cache if it wasn't
+     * accessed.
+     *
+     * @return the expiration time of the cached models
+     */
+    public static int getModelCacheExpiration() {
+        return Math.max(0, readInt(MODEL_CACHE_EXPIRATION, 60));
+    }
+
+    /**
+     * Returns the maximum number of idle Tooling API connections kept for reuse. If the value is
+     * {@code 0} then the connections are closed after each use.
+     *
+     * @return the maximum number of idle connections
+     */
+    public static int getConnectionPoolSize() {
+        return Math.max(0, readInt(CONNECTION_POOL_SIZE, 8));
+    }
+
+    /**
+     * Returns the time in milliseconds after which an idle Tooling API connection is closed.
+     *
+     * @return the idle timeout of the pooled connections
+     */
+    public static int getConnectionPoolIdleTimeout() {
+        return Math.max(0, readInt(CONNECTION_POOL_IDLE_TIMEOUT, 60000));
+    }
+
+    /**
+     * Returns the time in milliseconds a continuous build launch waits for further source changes
+     * before it executes the build again.
+     *
+     * @return the continuous build quiet period
+     */
+    public static int getContinuousBuildQuietPeriod() {
+        return Math.max(0, readInt(CONTINUOUS_BUILD_QUIET_PERIOD, 500));
+    }
+
+    /**
+     * Returns the time in milliseconds a JVM test launch waits for further test launches of the
+     * same run configuration to execute them together. If the value is {@code 0} then only the
+     * simultaneously requested launches are merged.
+     *
+     * @return the test launch batch window
+     */
+    public static int getTestLaunchBatchWindow() {
+        return Math.max(0, readInt(TEST_LAUNCH_BATCH_WINDOW, 200));
+    }
+
+    private static int readInt(String key, int defaultValue) {
+        IPreferencesService service = Platform.getPreferencesService();
+        return service == null ? defaultValue : service.getInt(CorePlugin.PLUGIN_ID, key, defaultValue, null);
+    }
+}
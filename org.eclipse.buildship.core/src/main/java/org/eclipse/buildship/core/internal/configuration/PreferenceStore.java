@@ -28,6 +28,7 @@ import java.util.Set;
 import java.util.TreeSet;
 
 import com.google.common.base.Charsets;
+import com.google.common.base.Objects;
 import com.google.common.io.Files;
 
 import org.eclipse.core.resources.IProject;
@@ -77,7 +78,9 @@ abstract class PreferenceStore {
      * @param key the preference key
      * @param value the preference value
      */
-    abstract void writeBoolean(String key, boolean value);
+    void writeBoolean(String key, boolean value) {
+        write(key, String.valueOf(value));
+    }
 
     /**
      * Deletes an entry from the preference store. Does nothing if the key doesn't exist in the
@@ -90,7 +93,8 @@ abstract class PreferenceStore {
     }
 
     /**
-     * Persists changes done on this preference store.
+     * Persists changes done on this preference store. Does nothing if no write changed the stored
+     * values since the last flush.
      *
      * @throws GradlePluginsRuntimeException if the operation fails
      */
@@ -128,6 +132,7 @@ abstract class PreferenceStore {
         private final IProject project;
         private final String node;
         private final IEclipsePreferences preferences;
+        private boolean modified = false;
 
         private ProjectScopeEclipsePreferencesPreferenceStore(IProject project, String node) {
             this.project = project;
@@ -147,22 +152,27 @@ abstract class PreferenceStore {
 
         @Override
         void write(String key, String value) {
+            if (Objects.equal(this.preferences.get(key, null), value)) {
+                return;
+            }
+
             if (value == null) {
                 this.preferences.remove(key);
             } else {
                 this.preferences.put(key, value);
             }
-        }
-
-        @Override
-        void writeBoolean(String key, boolean value) {
-            this.preferences.putBoolean(key, value);
+            this.modified = true;
         }
 
         @Override
         void flush() {
+            if (!this.modified) {
+                return;
+            }
+
             try {
                 this.preferences.flush();
+                this.modified = false;
             } catch (Exception e) {
                 throw new GradlePluginsRuntimeException(String.format("Cannot store preferences in project %s in node %s.", this.project.getName(), this.node), e);
             }
@@ -177,6 +187,7 @@ abstract class PreferenceStore {
 
         private final File propertiesFile;
         private Properties properties;
+        private boolean modified = false;
 
         private PropertiesFilePreferenceStore(File propertiesFile) {
             this.propertiesFile = propertiesFile;
@@ -223,20 +234,24 @@ abstract class PreferenceStore {
 
         @Override
         void write(String key, String value) {
+            if (Objects.equal(getProperties().getProperty(key), value)) {
+                return;
+            }
+
             if (value == null) {
                 getProperties().remove(key);
             } else {
                 getProperties().put(key, value);
             }
-        }
-
-        @Override
-        void writeBoolean(String key, boolean value) {
-            getProperties().put(key, String.valueOf(value));
+            this.modified = true;
         }
 
         @Override
         void flush() {
+            if (!this.modified) {
+                return;
+            }
+
             this.properties.put("eclipse.preferences.version", "1");
             OutputStream output = null;
             try {
@@ -249,6 +264,7 @@ abstract class PreferenceStore {
 
                 output.write(removeTimestampFromTable(this.properties).getBytes("UTF-8")); //$NON-NLS-1$
                 output.flush();
+                this.modified = false;
             } catch (IOException e) {
                 throw new GradlePluginsRuntimeException(String.format("Cannot store preferences in file %s", this.propertiesFile.getAbsolutePath()), e);
             } finally {
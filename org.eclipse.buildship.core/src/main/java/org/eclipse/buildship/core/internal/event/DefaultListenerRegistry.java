@@ -11,19 +11,47 @@
 
 package org.eclipse.buildship.core.internal.event;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
 
 /**
  * Default implementation of {@link ListenerRegistry}.
+ * <p/>
+ * Asynchronous typed listeners have their own event queue, drained by a single task at a time on a
+ * bounded pool of daemon threads. Since each listener has at most one pending task, the work queue
+ * of the pool never holds more tasks than there are listeners. Idle threads are discarded after a
+ * minute and the pool is shut down when the registry is closed.
  */
 public final class DefaultListenerRegistry implements ListenerRegistry {
 
+    private static final int MAX_DISPATCHER_THREADS = 4;
+
     private final Object LOCK = new Object();
     private final Set<EventListener> listeners = new LinkedHashSet<EventListener>();
+    private final Map<TypedEventListener<?>, Subscription> subscriptions = new LinkedHashMap<TypedEventListener<?>, Subscription>();
+    private final ThreadPoolExecutor asyncExecutor;
+
+    public DefaultListenerRegistry() {
+        this.asyncExecutor = new ThreadPoolExecutor(MAX_DISPATCHER_THREADS, MAX_DISPATCHER_THREADS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new DispatcherThreadFactory());
+        this.asyncExecutor.allowCoreThreadTimeOut(true);
+    }
 
     @Override
     public void addEventListener(EventListener listener) {
@@ -39,15 +67,170 @@ public final class DefaultListenerRegistry implements ListenerRegistry {
         }
     }
 
+    @Override
+    public <T extends Event> void addEventListener(Class<T> eventType, TypedEventListener<? super T> listener, EventDelivery delivery) {
+        Preconditions.checkNotNull(eventType);
+        Preconditions.checkNotNull(listener);
+        Preconditions.checkNotNull(delivery);
+        synchronized (this.LOCK) {
+            Subscription subscription = this.subscriptions.get(listener);
+            if (subscription == null) {
+                subscription = delivery == EventDelivery.ASYNCHRONOUS ? new AsyncSubscription(listener, this.asyncExecutor) : new Subscription(listener);
+                this.subscriptions.put(listener, subscription);
+            }
+            subscription.eventTypes.add(eventType);
+        }
+    }
+
+    @Override
+    public void removeEventListener(TypedEventListener<?> listener) {
+        synchronized (this.LOCK) {
+            Subscription subscription = this.subscriptions.remove(listener);
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+
     @Override
     public void dispatch(Event event) {
         List<EventListener> listeners;
+        List<Subscription> subscriptions;
         synchronized (this.LOCK) {
             listeners = ImmutableList.copyOf(this.listeners);
+            subscriptions = ImmutableList.copyOf(this.subscriptions.values());
         }
         for (EventListener listener : listeners) {
             listener.onEvent(event);
         }
+        for (Subscription subscription : subscriptions) {
+            if (subscription.accepts(event)) {
+                subscription.deliver(event);
+            }
+        }
+    }
+
+    /**
+     * Cancels the pending asynchronous deliveries and stops the dispatcher threads.
+     */
+    public void close() {
+        synchronized (this.LOCK) {
+            for (Subscription subscription : this.subscriptions.values()) {
+                subscription.cancel();
+            }
+            this.subscriptions.clear();
+            this.listeners.clear();
+        }
+        this.asyncExecutor.shutdownNow();
+    }
+
+    /**
+     * Synchronous subscription of a typed listener.
+     */
+    private static class Subscription {
+
+        final TypedEventListener<Event> listener;
+        final Set<Class<?>> eventTypes = Sets.newCopyOnWriteArraySet();
+
+        @SuppressWarnings("unchecked")
+        Subscription(TypedEventListener<?> listener) {
+            // the listener only receives instances of the subscribed types
+            this.listener = (TypedEventListener<Event>) listener;
+        }
+
+        boolean accepts(Event event) {
+            for (Class<?> eventType : this.eventTypes) {
+                if (eventType.isInstance(event)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void deliver(Event event) {
+            this.listener.onEvents(ImmutableList.of(event));
+        }
+
+        void cancel() {
+        }
+    }
+
+    /**
+     * Asynchronous subscription of a typed listener. Events dispatched while a batch is being
+     * delivered are collected into the next batch.
+     */
+    private static final class AsyncSubscription extends Subscription implements Runnable {
+
+        private final ThreadPoolExecutor executor;
+        private final Queue<Event> queue = new ArrayDeque<Event>();
+        private boolean scheduled = false;
+        private boolean cancelled = false;
+
+        AsyncSubscription(TypedEventListener<?> listener, ThreadPoolExecutor executor) {
+            super(listener);
+            this.executor = executor;
+        }
+
+        @Override
+        void deliver(Event event) {
+            synchronized (this) {
+                if (this.cancelled) {
+                    return;
+                }
+                this.queue.add(event);
+                if (this.scheduled) {
+                    return;
+                }
+                this.scheduled = true;
+            }
+            try {
+                this.executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // the registry was closed
+                cancel();
+            }
+        }
+
+        @Override
+        synchronized void cancel() {
+            this.cancelled = true;
+            this.queue.clear();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                List<Event> batch;
+                synchronized (this) {
+                    if (this.queue.isEmpty()) {
+                        this.scheduled = false;
+                        return;
+                    }
+                    batch = ImmutableList.copyOf(this.queue);
+                    this.queue.clear();
+                }
+                try {
+                    this.listener.onEvents(batch);
+                } catch (RuntimeException e) {
+                    CorePlugin.logger().warn("Event listener failed to process events", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates named daemon threads for the asynchronous event delivery.
+     */
+    private static final class DispatcherThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Buildship event dispatcher " + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 
 }
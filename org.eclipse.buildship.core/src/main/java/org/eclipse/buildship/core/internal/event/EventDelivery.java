@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.event;
+
+/**
+ * Specifies how the events are delivered to a {@link TypedEventListener}.
+ */
+public enum EventDelivery {
+
+    /**
+     * The listener is invoked on the dispatching thread, before {@link ListenerRegistry#dispatch(Event)} returns.
+     */
+    SYNCHRONOUS,
+
+    /**
+     * The listener is invoked on a background thread, with batches of events. The events are
+     * delivered in the order of their dispatch, and the listener is never invoked concurrently.
+     */
+    ASYNCHRONOUS
+
+}
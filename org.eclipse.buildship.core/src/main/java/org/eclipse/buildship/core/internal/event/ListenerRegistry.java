@@ -12,7 +12,8 @@
 package org.eclipse.buildship.core.internal.event;
 
 /**
- * Dispatches {@link Event} instances to all registered {@link EventListener} instances.
+ * Dispatches {@link Event} instances to all registered {@link EventListener} instances and to the
+ * {@link TypedEventListener} instances subscribed to the type of the event.
  */
 public interface ListenerRegistry {
 
@@ -31,7 +32,30 @@ public interface ListenerRegistry {
     void removeEventListener(EventListener listener);
 
     /**
-     * Dispatches the given event to all registered listeners.
+     * Subscribes the given listener to the events of the target type and its subtypes.
+     * <p/>
+     * A listener can subscribe to multiple event types with subsequent invocations; all events are
+     * delivered to the listener in the order of their dispatch. The delivery mode is defined by the
+     * first subscription of the listener.
+     *
+     * @param eventType the type of events to receive
+     * @param listener the listener to register
+     * @param delivery the delivery mode of the events
+     * @param <T> the type of events to receive
+     */
+    <T extends Event> void addEventListener(Class<T> eventType, TypedEventListener<? super T> listener, EventDelivery delivery);
+
+    /**
+     * Unregisters the given typed event listener from all event types. Events already queued for
+     * asynchronous delivery are discarded.
+     *
+     * @param listener the listener to unregister
+     */
+    void removeEventListener(TypedEventListener<?> listener);
+
+    /**
+     * Dispatches the given event to all registered listeners. Asynchronous typed listeners are
+     * notified after this method returns.
      *
      * @param event the event to dispatch
      */
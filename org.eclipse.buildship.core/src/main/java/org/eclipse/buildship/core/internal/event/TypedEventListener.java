@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.event;
+
+import java.util.List;
+
+/**
+ * Listener notified about the events of the types it subscribed to via
+ * {@link ListenerRegistry#addEventListener(Class, TypedEventListener, EventDelivery)}.
+ *
+ * @param <T> the type of the received events
+ */
+public interface TypedEventListener<T extends Event> {
+
+    /**
+     * Invoked with the dispatched events, in the order of their dispatch.
+     * <p/>
+     * Synchronous listeners receive a single event per invocation. Asynchronous listeners receive
+     * all events dispatched since the previous invocation, so a burst of events is delivered at once.
+     *
+     * @param events the dispatched events, never empty
+     */
+    void onEvents(List<? extends T> events);
+
+}
@@ -23,6 +23,7 @@ import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
 
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -69,6 +70,16 @@ public final class InternalProjectConfigurator implements ProjectConfigurator, C
         this.configurator.unconfigure(context, monitor);
     }
 
+    public boolean isPreparing() {
+        return this.configurator instanceof PreparingProjectConfigurator;
+    }
+
+    public void prepare(IProject project) {
+        if (isPreparing()) {
+            ((PreparingProjectConfigurator) this.configurator).prepare(project);
+        }
+    }
+
     public String getContributorPluginId() {
         return this.contribution.getContributorPluginId();
     }
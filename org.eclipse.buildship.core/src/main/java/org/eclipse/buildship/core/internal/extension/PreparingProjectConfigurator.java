@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.extension;
+
+import org.eclipse.core.resources.IProject;
+
+import org.eclipse.buildship.core.ProjectConfigurator;
+
+/**
+ * Project configurator which can compute parts of the project configuration before
+ * {@link #configure(org.eclipse.buildship.core.ProjectContext, org.eclipse.core.runtime.IProgressMonitor)}
+ * is called.
+ * <p/>
+ * The {@link #prepare(IProject)} method is called concurrently for different projects of the same
+ * build, without holding any scheduling rule. Implementations must not modify the workspace, they
+ * should only compute and cache the results that are applied later in the configure phase. If the
+ * preparation fails, the configure method must still produce the complete configuration.
+ */
+public interface PreparingProjectConfigurator extends ProjectConfigurator {
+
+    /**
+     * Computes and caches the workspace-independent configuration of the target project.
+     *
+     * @param project the project to prepare
+     */
+    void prepare(IProject project);
+}
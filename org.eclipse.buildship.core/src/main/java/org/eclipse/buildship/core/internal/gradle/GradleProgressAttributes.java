@@ -74,6 +74,15 @@ public final class GradleProgressAttributes {
         operation.withCancellationToken(this.cancellationToken);
     }
 
+    /**
+     * Returns the token through which the operations configured by this instance are canceled.
+     *
+     * @return the cancellation token
+     */
+    public CancellationToken getCancellationToken() {
+        return this.cancellationToken;
+    }
+
     /**
      * Displays the argument in the configuration stream.
      *
@@ -11,7 +11,11 @@
 
 package org.eclipse.buildship.core.internal.launch;
 
+import java.io.File;
+
+import org.gradle.tooling.BuildCancelledException;
 import org.gradle.tooling.CancellationTokenSource;
+import org.gradle.tooling.GradleConnectionException;
 import org.gradle.tooling.LongRunningOperation;
 
 import com.google.common.base.Objects;
@@ -21,6 +25,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.configuration.PerformancePreferences;
 import org.eclipse.buildship.core.internal.configuration.RunConfiguration;
 import org.eclipse.buildship.core.internal.console.ProcessDescription;
 import org.eclipse.buildship.core.internal.event.Event;
@@ -62,12 +67,58 @@ public abstract class BaseLaunchRequestJob<T extends LongRunningOperation> exten
 
         writeExtraConfigInfo(attributes);
 
+        if (isContinuous()) {
+            executeContinuousLaunch(launcher, gradleBuild, runConfig, attributes, processDescription, monitor);
+        } else {
+            executeLaunch(launcher, processDescription);
+        }
+    }
+
+    private void executeLaunch(T launcher, ProcessDescription processDescription) {
         Event event = new DefaultExecuteLaunchRequestEvent(processDescription, launcher);
         CorePlugin.listenerRegistry().dispatch(event);
 
         executeLaunch(launcher);
     }
 
+    private void executeContinuousLaunch(T launcher, InternalGradleBuild gradleBuild, RunConfiguration runConfig, GradleProgressAttributes attributes,
+            ProcessDescription processDescription, IProgressMonitor monitor) throws InterruptedException {
+        // the console and the progress attributes are kept for all executions, while the pooled
+        // connection and the cached build environment make the subsequent launchers cheap to create
+        File rootDir = runConfig.getProjectConfiguration().getBuildConfiguration().getRootProjectDirectory();
+        ContinuousBuildTrigger trigger = ContinuousBuildTrigger.createAndRegister(rootDir, PerformancePreferences.getContinuousBuildQuietPeriod());
+        try {
+            executeContinuousLaunchIteration(launcher, processDescription, attributes);
+            while (trigger.awaitChange(monitor)) {
+                attributes.writeConfig(String.format("%nChange detected, executing build..."));
+                executeContinuousLaunchIteration(createLaunch(gradleBuild, runConfig, attributes, processDescription), processDescription, attributes);
+            }
+        } finally {
+            trigger.close();
+        }
+    }
+
+    private void executeContinuousLaunchIteration(T launcher, ProcessDescription processDescription, GradleProgressAttributes attributes) {
+        try {
+            executeLaunch(launcher, processDescription);
+        } catch (BuildCancelledException e) {
+            throw e;
+        } catch (GradleConnectionException ignore) {
+            // the failure is already printed on the console by Gradle, keep waiting for a fix
+        }
+        attributes.writeConfig(String.format("%nWaiting for changes to input files of tasks..."));
+    }
+
+    /**
+     * Whether the launch is continuous. Continuous launches are executed again whenever the
+     * source files of the build change, until the job is canceled.
+     *
+     * @return {@code true} if the launch is continuous
+     */
+    protected boolean isContinuous() {
+        return false;
+    }
+
     /**
      * The name of the job to display in the progress view.
      *
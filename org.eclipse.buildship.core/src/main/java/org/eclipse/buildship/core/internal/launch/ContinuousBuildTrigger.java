@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.launch;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Signals the continuous build launches when the source files of a Gradle build change.
+ * <p/>
+ * Only content changes in the workspace projects located in the build's root directory are
+ * considered. Derived resources (e.g. the build and the output folders), team private and hidden
+ * resources are ignored, so the outputs written by the build itself don't trigger a new execution.
+ * A series of changes is debounced: the waiting client is released only after no change was
+ * detected during the quiet period.
+ */
+final class ContinuousBuildTrigger implements IResourceChangeListener {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final IPath rootLocation;
+    private final long quietPeriodNanos;
+    private boolean changed = false;
+    private long lastChangeTime;
+
+    private ContinuousBuildTrigger(File rootDir, long quietPeriodMillis) {
+        this.rootLocation = new Path(Preconditions.checkNotNull(rootDir).getAbsolutePath());
+        this.quietPeriodNanos = TimeUnit.MILLISECONDS.toNanos(quietPeriodMillis);
+    }
+
+    /**
+     * Blocks until a change is detected and the quiet period is elapsed, or until the monitor is
+     * canceled.
+     *
+     * @param monitor the monitor to check for cancellation
+     * @return {@code true} if a change was detected, {@code false} if the monitor was canceled
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    synchronized boolean awaitChange(IProgressMonitor monitor) throws InterruptedException {
+        while (!monitor.isCanceled()) {
+            long waitTime = POLL_INTERVAL_MILLIS;
+            if (this.changed) {
+                long remainingNanos = this.lastChangeTime + this.quietPeriodNanos - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    this.changed = false;
+                    return true;
+                }
+                waitTime = Math.min(waitTime, TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1);
+            }
+            wait(waitTime);
+        }
+        return false;
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+
+        for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+            IProject project = (IProject) projectDelta.getResource();
+            IPath location = project.getLocation();
+            if (location != null && this.rootLocation.isPrefixOf(location) && hasSourceChanged(projectDelta)) {
+                synchronized (this) {
+                    this.changed = true;
+                    this.lastChangeTime = System.nanoTime();
+                    notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    private static boolean hasSourceChanged(IResourceDelta delta) {
+        for (IResourceDelta child : delta.getAffectedChildren()) {
+            IResource resource = child.getResource();
+            if (resource.isDerived() || resource.isTeamPrivateMember() || resource.getName().startsWith(".")) {
+                continue;
+            }
+            // ignore marker and sync info changes, otherwise the problem markers of the build would trigger a new execution
+            if (resource.getType() == IResource.FILE && (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0)) {
+                return true;
+            }
+            if (hasSourceChanged(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ContinuousBuildTrigger createAndRegister(File rootDir, long quietPeriodMillis) {
+        ContinuousBuildTrigger trigger = new ContinuousBuildTrigger(rootDir, quietPeriodMillis);
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(trigger, IResourceChangeEvent.POST_CHANGE);
+        return trigger;
+    }
+
+    void close() {
+        ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+    }
+}
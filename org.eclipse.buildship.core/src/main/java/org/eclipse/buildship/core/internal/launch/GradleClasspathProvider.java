@@ -9,11 +9,17 @@
 package org.eclipse.buildship.core.internal.launch;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
@@ -37,10 +43,18 @@ import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.jdt.launching.StandardClasspathProvider;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.workspace.ClasspathChangeTracker;
 
 /**
  * Classpath provider for Gradle projects filtering the project output folders based on the Gradle
  * dependency scope information.
+ * <p/>
+ * The computed classpaths are cached per launch configuration, so repeated launches don't resolve
+ * the project dependencies again. The cache entries become obsolete when the launch configuration
+ * changes or when a classpath, an output location or the set of accessible Java projects changes,
+ * as tracked by the {@link ClasspathChangeTracker}. The cache only holds the mementos of the
+ * entries; the runtime classpath entries are created anew for each launch, as the launching
+ * infrastructure may modify them.
  *
  * @author Donat Csikos
  */
@@ -51,13 +65,24 @@ public final class GradleClasspathProvider extends StandardClasspathProvider imp
 
     private static final IRuntimeClasspathEntry[] EMPTY_RESULT = new IRuntimeClasspathEntry[0];
 
+    private final Cache<ClasspathKey, ImmutableList<String>> unresolvedClasspaths = CacheBuilder.newBuilder().maximumSize(32).build();
+    private final Cache<ClasspathKey, ImmutableList<String>> resolvedClasspaths = CacheBuilder.newBuilder().maximumSize(32).build();
+
     public GradleClasspathProvider() {
         super();
     }
 
     @Override
     public IRuntimeClasspathEntry[] computeUnresolvedClasspath(ILaunchConfiguration configuration) throws CoreException {
-        return filterUnusedDependencies(configuration, super.computeUnresolvedClasspath(configuration));
+        ClasspathKey key = new ClasspathKey(configuration, EMPTY_RESULT);
+        ImmutableList<String> mementos = this.unresolvedClasspaths.getIfPresent(key);
+        if (mementos != null) {
+            return fromMementos(mementos);
+        }
+
+        IRuntimeClasspathEntry[] result = filterUnusedDependencies(configuration, super.computeUnresolvedClasspath(configuration));
+        this.unresolvedClasspaths.put(key, toMementos(result));
+        return result;
     }
 
     private IRuntimeClasspathEntry[] filterUnusedDependencies(ILaunchConfiguration configuration, IRuntimeClasspathEntry[] entriesToFilter) throws CoreException {
@@ -87,14 +112,42 @@ public final class GradleClasspathProvider extends StandardClasspathProvider imp
 
     @Override
     public IRuntimeClasspathEntry[] resolveClasspath(IRuntimeClasspathEntry[] entries, ILaunchConfiguration configuration) throws CoreException {
+        ClasspathKey key = new ClasspathKey(configuration, entries);
+        ImmutableList<String> mementos = this.resolvedClasspaths.getIfPresent(key);
+        if (mementos != null) {
+            return fromMementos(mementos);
+        }
+
+        IRuntimeClasspathEntry[] result = resolveClasspath(entries, configuration, LaunchConfigurationScope.from(configuration));
+        this.resolvedClasspaths.put(key, toMementos(result));
+        return result;
+    }
+
+    private static ImmutableList<String> toMementos(IRuntimeClasspathEntry[] entries) throws CoreException {
+        ImmutableList.Builder<String> result = ImmutableList.builder();
+        for (IRuntimeClasspathEntry entry : entries) {
+            result.add(entry.getMemento());
+        }
+        return result.build();
+    }
+
+    private static IRuntimeClasspathEntry[] fromMementos(List<String> mementos) throws CoreException {
+        IRuntimeClasspathEntry[] result = new IRuntimeClasspathEntry[mementos.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = JavaRuntime.newRuntimeClasspathEntry(mementos.get(i));
+        }
+        return result;
+    }
+
+    private IRuntimeClasspathEntry[] resolveClasspath(IRuntimeClasspathEntry[] entries, ILaunchConfiguration configuration, LaunchConfigurationScope configurationScopes) throws CoreException {
         Set<IRuntimeClasspathEntry> result = new LinkedHashSet<>(entries.length);
         for (IRuntimeClasspathEntry entry : entries) {
             switch (entry.getType()) {
                 case IRuntimeClasspathEntry.OTHER:
-                    Collections.addAll(result, resolveOther(entry, configuration));
+                    Collections.addAll(result, resolveOther(entry, configuration, configurationScopes));
                     break;
                 case IRuntimeClasspathEntry.PROJECT:
-                    Collections.addAll(result, resolveProject(entry, configuration));
+                    Collections.addAll(result, resolveProject(entry, configurationScopes));
                     break;
                 default:
                     Collections.addAll(result, JavaRuntime.resolveRuntimeClasspathEntry(entry, configuration));
@@ -105,7 +158,7 @@ public final class GradleClasspathProvider extends StandardClasspathProvider imp
         return result.toArray(new IRuntimeClasspathEntry[result.size()]);
     }
 
-    private IRuntimeClasspathEntry[] resolveOther(IRuntimeClasspathEntry entry, ILaunchConfiguration configuration) throws CoreException {
+    private IRuntimeClasspathEntry[] resolveOther(IRuntimeClasspathEntry entry, ILaunchConfiguration configuration, LaunchConfigurationScope configurationScopes) throws CoreException {
         // The project dependency entries are represented with nonstandard IRuntimeClasspathEntry
         // and resolved by DefaultEntryResolver. The code below is a copy-paste of the
         // DefaultEntryResolver except that the inner resolveRuntimeClasspathEntry() method call is
@@ -114,7 +167,7 @@ public final class GradleClasspathProvider extends StandardClasspathProvider imp
         if (entry instanceof DefaultProjectClasspathEntry) {
             List<IRuntimeClasspathEntry> result = new ArrayList<>();
             for (IRuntimeClasspathEntry e : ((IRuntimeClasspathEntry2) entry).getRuntimeClasspathEntries(configuration)) {
-                Collections.addAll(result, resolveClasspath(new IRuntimeClasspathEntry[] { e }, configuration));
+                Collections.addAll(result, resolveClasspath(new IRuntimeClasspathEntry[] { e }, configuration, configurationScopes));
             }
             return result.toArray(new IRuntimeClasspathEntry[result.size()]);
         } else {
@@ -122,16 +175,16 @@ public final class GradleClasspathProvider extends StandardClasspathProvider imp
         }
     }
 
-    private IRuntimeClasspathEntry[] resolveProject(IRuntimeClasspathEntry entry, ILaunchConfiguration configuration) throws CoreException {
+    private IRuntimeClasspathEntry[] resolveProject(IRuntimeClasspathEntry entry, LaunchConfigurationScope configurationScopes) throws CoreException {
         IResource resource = entry.getResource();
         if (resource instanceof IProject) {
-            return resolveProject(entry, (IProject) resource, configuration);
+            return resolveProject(entry, (IProject) resource, configurationScopes);
         } else {
             return resolveOptional(entry);
         }
     }
 
-    private IRuntimeClasspathEntry[] resolveProject(IRuntimeClasspathEntry projectEntry, IProject project, ILaunchConfiguration configuration) throws CoreException {
+    private IRuntimeClasspathEntry[] resolveProject(IRuntimeClasspathEntry projectEntry, IProject project, LaunchConfigurationScope configurationScopes) throws CoreException {
         if (!project.isOpen()) {
             return EMPTY_RESULT;
         }
@@ -141,7 +194,6 @@ public final class GradleClasspathProvider extends StandardClasspathProvider imp
             return EMPTY_RESULT;
         }
 
-        LaunchConfigurationScope configurationScopes = LaunchConfigurationScope.from(configuration);
         return resolveOutputLocations(projectEntry, javaProject, configurationScopes);
     }
 
@@ -202,4 +254,47 @@ public final class GradleClasspathProvider extends StandardClasspathProvider imp
         }
         return result;
     }
+
+    /**
+     * Key of the cached classpaths. Contains the launch configuration attributes, the classpath
+     * entries to resolve and the classpath generation, so the cached classpaths are not used after
+     * the launch configuration or any Java project classpath is modified.
+     */
+    private static final class ClasspathKey {
+
+        private final ILaunchConfiguration configuration;
+        private final Map<String, Object> attributes;
+        private final List<IRuntimeClasspathEntry> entries;
+        private final long generation;
+
+        ClasspathKey(ILaunchConfiguration configuration, IRuntimeClasspathEntry[] entries) throws CoreException {
+            this.configuration = configuration;
+            this.attributes = configuration.getAttributes();
+            this.entries = Arrays.asList(entries);
+            this.generation = CorePlugin.classpathChangeTracker().getGeneration();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.configuration, this.attributes, this.entries, this.generation);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null) {
+                return false;
+            }
+            if (getClass() != obj.getClass()) {
+                return false;
+            }
+            ClasspathKey other = (ClasspathKey) obj;
+            return Objects.equals(this.configuration, other.configuration)
+                    && Objects.equals(this.attributes, other.attributes)
+                    && Objects.equals(this.entries, other.entries)
+                    && this.generation == other.generation;
+        }
+    }
 }
@@ -47,6 +47,7 @@ public final class GradleRunConfigurationAttributes {
     private static final String OVERRIDE_BUILD_SETTINGS = "override_workspace_settings";
     private static final String OFFLINE_MODE = "offline_mode";
     private static final String BUILD_SCANS_ENABLED = "build_scans_enabled";
+    private static final String CONTINUOUS = "continuous";
 
     private final ImmutableList<String> tasks;
     private final String workingDirExpression;
@@ -262,6 +263,23 @@ public final class GradleRunConfigurationAttributes {
         launchConfiguration.setAttribute(BUILD_SCANS_ENABLED, buildScansEnabled);
     }
 
+    public static void applyContinuous(boolean continuous, ILaunchConfigurationWorkingCopy launchConfiguration) {
+        launchConfiguration.setAttribute(CONTINUOUS, continuous);
+    }
+
+    /**
+     * Returns whether the launch configuration executes the tasks continuously, i.e. whether the
+     * tasks are executed again when the source files of the build change.
+     * <p/>
+     * The attribute is specific to the launches and therefore not part of the run configuration.
+     *
+     * @param launchConfiguration the target launch configuration
+     * @return {@code true} if the tasks are executed continuously
+     */
+    public static boolean isContinuous(ILaunchConfiguration launchConfiguration) {
+        return getBooleanAttribute(CONTINUOUS, false, launchConfiguration);
+    }
+
     public static GradleRunConfigurationAttributes from(ILaunchConfiguration launchConfiguration) {
         Preconditions.checkNotNull(launchConfiguration);
         List<String> tasks = getListAttribute(TASKS, launchConfiguration);
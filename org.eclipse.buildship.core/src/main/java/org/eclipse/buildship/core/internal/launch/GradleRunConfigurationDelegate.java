@@ -29,6 +29,10 @@ import org.eclipse.buildship.core.internal.CorePlugin;
  * <p>
  * The delegate invokes the {@link RunGradleBuildLaunchRequestJob} job to do the actual execution
  * and waits until it finishes. It also propagates the cancellation to that job.
+ * <p>
+ * If the launch configuration is continuous (see
+ * {@link GradleRunConfigurationAttributes#isContinuous(ILaunchConfiguration)}) then the job keeps
+ * executing the tasks on source changes until it is canceled.
  */
 public final class GradleRunConfigurationDelegate extends LaunchConfigurationDelegate {
 
@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.launch;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.tooling.CancellationTokenSource;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.TestExecutionException;
+import org.gradle.tooling.TestLauncher;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationDescriptor;
+import org.gradle.tooling.events.ProgressEvent;
+import org.gradle.tooling.events.ProgressListener;
+import org.gradle.tooling.events.test.JvmTestOperationDescriptor;
+import org.gradle.tooling.events.test.TestFailureResult;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.buildship.core.internal.configuration.PerformancePreferences;
+import org.eclipse.buildship.core.internal.configuration.RunConfiguration;
+import org.eclipse.buildship.core.internal.console.ProcessDescription;
+import org.eclipse.buildship.core.internal.gradle.GradleProgressAttributes;
+import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
+
+/**
+ * Merges the JVM test launches that are requested for the same run configuration within a short
+ * time window into one Tooling API test execution.
+ * <p/>
+ * Each launch gets a recording {@link TestLauncher} from {@link #newRequest}. The launcher is
+ * handed to the listeners of the launch request event, but it's never executed: only the progress
+ * listener registrations are recorded, any other configuration call fails with an
+ * {@link UnsupportedOperationException}. The first request of a batch waits for the time window,
+ * then the batch creates one test launcher with the console of the first request, applies the
+ * test targets of all requests, and registers the recorded progress listeners of each request
+ * through a filter. The filter forwards the build and task events, and the events of the test
+ * descriptors that belong to the request's own test targets.
+ * <p/>
+ * The Gradle output of the whole batch, including the output of the other requests' tests, is
+ * written to the console of the first request. The consoles of the other requests only show which
+ * launch they were executed together with.
+ * <p/>
+ * The batch is executed on a separate thread with its own cancellation token, while the launches
+ * wait for it. A canceled launch stops waiting and stops receiving progress events; the batch is
+ * only canceled when all of its launches are canceled. Test failures are reported only to the
+ * launches whose tests failed.
+ */
+final class JvmTestLaunchBatcher {
+
+    private static final long CANCELLATION_CHECK_INTERVAL_MILLIS = 100;
+
+    private final Map<RunConfiguration, Batch> openBatches = new HashMap<>();
+
+    /**
+     * Creates a new test request.
+     *
+     * @param testTargets the tests to execute
+     * @param gradleBuild the build to execute the tests in
+     * @param runConfig the run configuration of the launch
+     * @param progressAttributes the progress attributes of the launch
+     * @param processDescription the description of the launch
+     * @return the new request
+     */
+    Request newRequest(List<TestTarget> testTargets, InternalGradleBuild gradleBuild, RunConfiguration runConfig, GradleProgressAttributes progressAttributes,
+            ProcessDescription processDescription) {
+        return new Request(testTargets, gradleBuild, runConfig, progressAttributes, processDescription);
+    }
+
+    /**
+     * Executes the request in a batch and blocks until the batch is finished or the request is
+     * canceled.
+     *
+     * @param request the request to execute
+     * @throws OperationCanceledException if the request was canceled
+     * @throws RuntimeException if the batch execution failed
+     */
+    void execute(Request request) {
+        Batch batch;
+        boolean first;
+        synchronized (this) {
+            batch = this.openBatches.get(request.runConfig);
+            first = batch == null;
+            if (first) {
+                batch = new Batch();
+                this.openBatches.put(request.runConfig, batch);
+            }
+            batch.add(request);
+        }
+
+        if (first) {
+            try {
+                Thread.sleep(PerformancePreferences.getTestLaunchBatchWindow());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                synchronized (this) {
+                    this.openBatches.remove(request.runConfig);
+                }
+            }
+            batch.start();
+        }
+        batch.await(request);
+    }
+
+    /**
+     * A test launch waiting to be executed in a batch.
+     */
+    static final class Request {
+
+        private final ImmutableList<TestTarget> testTargets;
+        private final InternalGradleBuild gradleBuild;
+        private final RunConfiguration runConfig;
+        private final GradleProgressAttributes progressAttributes;
+        private final ProcessDescription processDescription;
+        private final List<Object[]> progressListenerRegistrations = new ArrayList<>();
+        private final TestLauncher launcher;
+        private final Set<String> testClasses = new HashSet<>();
+        private final Set<String> classesWithSelectedMethods = new HashSet<>();
+        private final Set<String> testMethods = new HashSet<>();
+        private volatile boolean detached;
+        private volatile boolean testsExecuted;
+        private volatile boolean testsFailed;
+
+        private Request(List<TestTarget> testTargets, InternalGradleBuild gradleBuild, RunConfiguration runConfig, GradleProgressAttributes progressAttributes,
+                ProcessDescription processDescription) {
+            this.testTargets = ImmutableList.copyOf(testTargets);
+            this.gradleBuild = Preconditions.checkNotNull(gradleBuild);
+            this.runConfig = Preconditions.checkNotNull(runConfig);
+            this.progressAttributes = Preconditions.checkNotNull(progressAttributes);
+            this.processDescription = Preconditions.checkNotNull(processDescription);
+            this.launcher = (TestLauncher) Proxy.newProxyInstance(TestLauncher.class.getClassLoader(), new Class<?>[] { TestLauncher.class }, new RecordingHandler());
+            for (TestTarget testTarget : this.testTargets) {
+                String qualifiedName = testTarget.getQualifiedName();
+                int methodSeparator = qualifiedName.indexOf('#');
+                if (methodSeparator < 0) {
+                    this.testClasses.add(qualifiedName);
+                } else {
+                    this.classesWithSelectedMethods.add(qualifiedName.substring(0, methodSeparator));
+                    this.testMethods.add(qualifiedName);
+                }
+            }
+        }
+
+        /**
+         * Returns the launcher recording the progress listener registrations.
+         *
+         * @return the recording launcher
+         */
+        TestLauncher getLauncher() {
+            return this.launcher;
+        }
+
+        private void applyTo(TestLauncher target) {
+            for (TestTarget testTarget : this.testTargets) {
+                testTarget.apply(target);
+            }
+
+            target.addProgressListener(new TestResultListener());
+            for (Object[] registration : this.progressListenerRegistrations) {
+                Object[] args = registration.clone();
+                if (args[0] instanceof ProgressListener) {
+                    args[0] = new FilteringProgressListener((ProgressListener) args[0]);
+                }
+                invokeAddProgressListener(target, args);
+            }
+        }
+
+        private boolean isCancellationRequested() {
+            return this.progressAttributes.getCancellationToken().isCancellationRequested();
+        }
+
+        private void rethrowFailure(RuntimeException failure) {
+            // a test execution failure belongs to the requests with failed or missing tests
+            if (failure instanceof TestExecutionException && this.testsExecuted && !this.testsFailed) {
+                return;
+            }
+            throw failure;
+        }
+
+        private boolean isIncluded(OperationDescriptor descriptor) {
+            if (!(descriptor instanceof JvmTestOperationDescriptor)) {
+                return true;
+            }
+
+            // the test executors and suites without a class are the parents of all tests
+            if (((JvmTestOperationDescriptor) descriptor).getClassName() == null) {
+                return true;
+            }
+
+            // the nested and the dynamic tests belong to the request of their enclosing test
+            for (OperationDescriptor current = descriptor; current instanceof JvmTestOperationDescriptor; current = current.getParent()) {
+                if (isTarget((JvmTestOperationDescriptor) current)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isTarget(JvmTestOperationDescriptor descriptor) {
+            String className = descriptor.getClassName();
+            String methodName = descriptor.getMethodName();
+            if (className == null) {
+                return false;
+            } else if (this.testClasses.contains(className)) {
+                return true;
+            } else if (methodName == null) {
+                return this.classesWithSelectedMethods.contains(className);
+            } else {
+                // parameterized test methods have a suffix, e.g. test[0]
+                int parameterStart = methodName.indexOf('[');
+                String plainMethodName = parameterStart < 0 ? methodName : methodName.substring(0, parameterStart);
+                return this.testMethods.contains(className + "#" + plainMethodName);
+            }
+        }
+
+        private static void invokeAddProgressListener(TestLauncher target, Object[] args) {
+            for (Method method : TestLauncher.class.getMethods()) {
+                if (method.getName().equals("addProgressListener") && isApplicable(method.getParameterTypes(), args)) {
+                    try {
+                        method.invoke(target, args);
+                        return;
+                    } catch (IllegalAccessException | InvocationTargetException e) {
+                        throw new IllegalStateException("Cannot register progress listener", e);
+                    }
+                }
+            }
+        }
+
+        private static boolean isApplicable(Class<?>[] parameterTypes, Object[] args) {
+            if (parameterTypes.length != args.length) {
+                return false;
+            }
+            for (int i = 0; i < args.length; i++) {
+                if (args[i] != null && !parameterTypes[i].isInstance(args[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Records the progress listener registrations of the launch request event listeners. The
+         * other launcher methods would be silently ignored by the batch, so they are rejected.
+         */
+        private final class RecordingHandler implements InvocationHandler {
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (method.getDeclaringClass() == Object.class) {
+                    if (name.equals("equals")) {
+                        return proxy == args[0];
+                    } else if (name.equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    } else {
+                        return "Batched test launcher for " + Request.this.processDescription.getName();
+                    }
+                } else if (name.equals("addProgressListener")) {
+                    Request.this.progressListenerRegistrations.add(args);
+                    return proxy;
+                } else if (name.equals("run")) {
+                    throw new UnsupportedOperationException("Batched test launchers are executed by the batch");
+                } else {
+                    throw new UnsupportedOperationException(String.format("Batched test launchers only support progress listener registrations, not %s()", name));
+                }
+            }
+        }
+
+        /**
+         * Forwards the progress events of the request to the delegate until the request is
+         * canceled.
+         */
+        private final class FilteringProgressListener implements ProgressListener {
+
+            private final ProgressListener delegate;
+
+            FilteringProgressListener(ProgressListener delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void statusChanged(ProgressEvent event) {
+                if (!Request.this.detached && isIncluded(event.getDescriptor())) {
+                    this.delegate.statusChanged(event);
+                }
+            }
+        }
+
+        /**
+         * Records whether the tests of the request were executed and whether any of them failed.
+         */
+        private final class TestResultListener implements ProgressListener {
+
+            @Override
+            public void statusChanged(ProgressEvent event) {
+                OperationDescriptor descriptor = event.getDescriptor();
+                if (event instanceof FinishEvent && descriptor instanceof JvmTestOperationDescriptor
+                        && ((JvmTestOperationDescriptor) descriptor).getClassName() != null && isIncluded(descriptor)) {
+                    Request.this.testsExecuted = true;
+                    if (((FinishEvent) event).getResult() instanceof TestFailureResult) {
+                        Request.this.testsFailed = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A set of requests executed together.
+     */
+    private static final class Batch {
+
+        private final List<Request> requests = new ArrayList<>();
+        private final CancellationTokenSource tokenSource = GradleConnector.newCancellationTokenSource();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private int attachedRequests;
+        private volatile RuntimeException failure;
+
+        private synchronized void add(Request request) {
+            this.requests.add(request);
+            this.attachedRequests++;
+        }
+
+        private void start() {
+            Thread thread = new Thread(this::execute, "Gradle test launch batch");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void execute() {
+            try {
+                Request first = this.requests.get(0);
+                TestLauncher launcher = first.gradleBuild.newTestLauncher(first.runConfig, first.progressAttributes);
+                launcher.withCancellationToken(this.tokenSource.token());
+                for (Request request : this.requests) {
+                    request.applyTo(launcher);
+                    if (request != first) {
+                        request.progressAttributes.writeConfig(String.format("Executed together with %s", first.processDescription.getName()));
+                    }
+                }
+                if (this.requests.size() > 1) {
+                    first.progressAttributes.writeConfig(String.format("Executed together with %s", Joiner.on(", ").join(otherProcessNames(first))));
+                }
+                launcher.run();
+            } catch (RuntimeException e) {
+                this.failure = e;
+            } finally {
+                this.finished.countDown();
+            }
+        }
+
+        private List<String> otherProcessNames(Request first) {
+            List<String> result = new ArrayList<>();
+            for (Request request : this.requests) {
+                if (request != first) {
+                    result.add(request.processDescription.getName());
+                }
+            }
+            return result;
+        }
+
+        private void await(Request request) {
+            try {
+                while (!this.finished.await(CANCELLATION_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (request.isCancellationRequested()) {
+                        detach(request);
+                        throw new OperationCanceledException();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                detach(request);
+                throw new IllegalStateException("Interrupted while waiting for the test execution", e);
+            }
+
+            if (this.failure != null) {
+                request.rethrowFailure(this.failure);
+            }
+        }
+
+        private synchronized void detach(Request request) {
+            request.detached = true;
+            if (--this.attachedRequests == 0) {
+                this.tokenSource.cancel();
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.eclipse.buildship.core.internal.launch;
 
+import java.util.Objects;
 import java.util.Set;
 
 import com.google.common.base.Optional;
@@ -104,5 +105,25 @@ public abstract class LaunchConfigurationScope {
 
             return !Sets.intersection(this.scopes, entryUsedByScopes.get()).isEmpty();
         }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.scopes);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null) {
+                return false;
+            }
+            if (getClass() != obj.getClass()) {
+                return false;
+            }
+            FilteringLaunchConfigurationScope other = (FilteringLaunchConfigurationScope) obj;
+            return Objects.equals(this.scopes, other.scopes);
+        }
     }
 }
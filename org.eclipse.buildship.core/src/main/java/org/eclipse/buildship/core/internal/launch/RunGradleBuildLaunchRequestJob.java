@@ -77,6 +77,11 @@ public final class RunGradleBuildLaunchRequestJob extends BaseLaunchRequestJob<B
         return launcher;
     }
 
+    @Override
+    protected boolean isContinuous() {
+        return GradleRunConfigurationAttributes.isContinuous(this.launch.getLaunchConfiguration());
+    }
+
     @Override
     protected void executeLaunch(BuildLauncher launcher) {
         launcher.run();
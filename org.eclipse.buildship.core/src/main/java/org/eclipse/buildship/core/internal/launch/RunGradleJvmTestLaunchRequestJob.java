@@ -33,11 +33,17 @@ import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
 
 /**
  * Runs a Gradle test build which executes a list of test classes.
+ * <p/>
+ * The test launches of the same run configuration requested within a short time window are
+ * executed together in one Tooling API request, see {@link JvmTestLaunchBatcher}.
  */
 public final class RunGradleJvmTestLaunchRequestJob extends BaseLaunchRequestJob<TestLauncher> {
 
+    private static final JvmTestLaunchBatcher BATCHER = new JvmTestLaunchBatcher();
+
     private final ImmutableList<TestTarget> testTargets;
     private final RunConfiguration runConfig;
+    private JvmTestLaunchBatcher.Request request;
 
     public RunGradleJvmTestLaunchRequestJob(List<TestTarget> testTargets, RunConfiguration runConfig) {
         super("Launching Gradle Tests");
@@ -70,16 +76,13 @@ public final class RunGradleJvmTestLaunchRequestJob extends BaseLaunchRequestJob
     @Override
     protected TestLauncher createLaunch(InternalGradleBuild gradleBuild, RunConfiguration runConfiguration, GradleProgressAttributes invocationAttributes,
             ProcessDescription processDescription) {
-        TestLauncher launcher = gradleBuild.newTestLauncher(runConfiguration, invocationAttributes);
-        for (TestTarget testTarget : RunGradleJvmTestLaunchRequestJob.this.testTargets) {
-            testTarget.apply(launcher);
-        }
-        return launcher;
+        this.request = BATCHER.newRequest(this.testTargets, gradleBuild, runConfiguration, invocationAttributes, processDescription);
+        return this.request.getLauncher();
     }
 
     @Override
     protected void executeLaunch(TestLauncher launcher) {
-        launcher.run();
+        BATCHER.execute(this.request);
     }
 
     @Override
@@ -10,7 +10,9 @@ package org.eclipse.buildship.core.internal.preferences;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 
 import org.eclipse.core.resources.ICommand;
@@ -80,4 +82,14 @@ final class AbsentPersistentModel implements PersistentModel {
     public List<ICommand> getManagedBuilders() {
         throw new IllegalStateException("Absent persistent model");
     }
+
+    @Override
+    public Set<IPath> getWatchedInputs() {
+        throw new IllegalStateException("Absent persistent model");
+    }
+
+    @Override
+    public Optional<String> getFingerprint() {
+        throw new IllegalStateException("Absent persistent model");
+    }
 }
@@ -8,18 +8,21 @@
 
 package org.eclipse.buildship.core.internal.preferences;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
 import java.io.Reader;
-import java.io.Writer;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.StandardCopyOption;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 
 import com.google.common.base.Charsets;
@@ -36,6 +39,7 @@ import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
 import org.eclipse.buildship.core.internal.configuration.GradleProjectNature;
+import org.eclipse.buildship.core.internal.configuration.PerformancePreferences;
 import org.eclipse.buildship.core.internal.event.Event;
 import org.eclipse.buildship.core.internal.event.EventListener;
 import org.eclipse.buildship.core.internal.workspace.ProjectDeletedEvent;
@@ -44,14 +48,27 @@ import org.eclipse.buildship.core.internal.workspace.WorkbenchShutdownEvent;
 
 /**
  * Default implementation for {@link ModelPersistence}.
+ * <p/>
+ * The models are stored in the binary format defined by {@link PersistentModelSerializer}. Models
+ * stored in the properties format by earlier Buildship versions are converted when first loaded.
+ * <p/>
+ * Saved models are written to the disk in the background, batched and delayed by
+ * {@link PerformancePreferences#getModelPersistenceFlushDelay()}. Each model file is written to a
+ * temporary location first and then moved to its final place, so a crash leaves either the
+ * previous or the new content on the disk. Upon shutdown only the models not yet flushed are
+ * written.
  *
  * @author Donat Csikos
  */
 public final class DefaultModelPersistence implements ModelPersistence, EventListener {
 
     private final LoadingCache<IProject, PersistentModel> modelCache;
+    private final Set<IProject> dirtyProjects;
+    private final FlushJob flushJob;
 
     private DefaultModelPersistence() {
+        this.dirtyProjects = ConcurrentHashMap.newKeySet();
+        this.flushJob = new FlushJob();
         this.modelCache = CacheBuilder.newBuilder().build(new CacheLoader<IProject, PersistentModel>() {
 
             @Override
@@ -69,11 +86,23 @@ public final class DefaultModelPersistence implements ModelPersistence, EventLis
     @Override
     public void saveModel(PersistentModel model) {
         this.modelCache.put(model.getProject(), model);
+        this.dirtyProjects.add(model.getProject());
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        // don't postpone a pending flush, otherwise frequent saves would keep the models in memory
+        int state = this.flushJob.getState();
+        if (state != Job.WAITING && state != Job.SLEEPING) {
+            this.flushJob.schedule(PerformancePreferences.getModelPersistenceFlushDelay());
+        }
     }
 
     @Override
-    public void deleteModel(IProject project) {
-        preferencesFile(project).delete();
+    public synchronized void deleteModel(IProject project) {
+        this.dirtyProjects.remove(project);
+        modelFile(project.getName()).delete();
+        legacyPreferencesFile(project.getName()).delete();
         this.modelCache.invalidate(project);
     }
 
@@ -85,26 +114,34 @@ public final class DefaultModelPersistence implements ModelPersistence, EventLis
             } else if (event instanceof ProjectDeletedEvent) {
                 deleteProjectPreferences((ProjectDeletedEvent) event);
             } else if (event instanceof WorkbenchShutdownEvent) {
-                persistAllProjectPrefs();
+                this.flushJob.cancel();
+                persistDirtyModels();
             }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void movePreferencesFile(ProjectMovedEvent event) throws IOException {
+    private synchronized void movePreferencesFile(ProjectMovedEvent event) throws IOException {
         String previousName = event.getPreviousName();
         for (IProject cached : this.modelCache.asMap().keySet()) {
             if (cached.getName().equals(previousName)) {
                 PersistentModel model = this.modelCache.getUnchecked(cached);
                 this.modelCache.put(event.getProject(), model);
                 this.modelCache.invalidate(cached);
+                if (this.dirtyProjects.remove(cached)) {
+                    this.dirtyProjects.add(event.getProject());
+                }
             }
         }
 
-        File preferencesFile = preferencesFile(event.getPreviousName());
-        if (preferencesFile.exists()) {
-            Files.move(preferencesFile, preferencesFile(event.getProject().getName()));
+        moveFile(modelFile(previousName), modelFile(event.getProject().getName()));
+        moveFile(legacyPreferencesFile(previousName), legacyPreferencesFile(event.getProject().getName()));
+    }
+
+    private static void moveFile(File source, File target) throws IOException {
+        if (source.exists()) {
+            Files.move(source, target);
         }
     }
 
@@ -112,26 +149,41 @@ public final class DefaultModelPersistence implements ModelPersistence, EventLis
         deleteModel(event.getProject());
     }
 
-    private static PersistentModel doLoadModel(IProject project) throws IOException, FileNotFoundException {
+    private static PersistentModel doLoadModel(IProject project) throws IOException {
         String projectName = project.getName();
-        File preferencesFile = preferencesFile(projectName);
-        if (preferencesFile.exists()) {
-            try (Reader reader = new InputStreamReader(new FileInputStream(preferencesFile(projectName)), Charsets.UTF_8)) {
+        File modelFile = modelFile(projectName);
+        if (modelFile.exists()) {
+            try (InputStream input = new BufferedInputStream(new FileInputStream(modelFile))) {
+                return PersistentModelSerializer.read(project, input);
+            } catch (IOException e) {
+                CorePlugin.logger().warn("Can't load persistent model for project " + projectName, e);
+                return new AbsentPersistentModel(project);
+            }
+        }
+
+        File legacyPreferencesFile = legacyPreferencesFile(projectName);
+        if (legacyPreferencesFile.exists()) {
+            PersistentModel model;
+            try (Reader reader = new InputStreamReader(new FileInputStream(legacyPreferencesFile), Charsets.UTF_8)) {
                 Properties props = new Properties();
                 props.load(reader);
-                return PersistentModelConverter.toModel(project, props);
+                model = PersistentModelConverter.toModel(project, props);
             }
-        } else {
-            return new AbsentPersistentModel(project);
+            persistPrefsChecked(project, model);
+            legacyPreferencesFile.delete();
+            return model;
         }
+
+        return new AbsentPersistentModel(project);
     }
 
-    private void persistAllProjectPrefs() {
-        Map<IProject, PersistentModel> modelCacheMap = this.modelCache.asMap();
-        for (Entry<IProject, PersistentModel> entry : modelCacheMap.entrySet()) {
-            PersistentModel model = entry.getValue();
-            if (model.isPresent()) {
-                persistPrefs(entry.getKey(), model);
+    private synchronized void persistDirtyModels() {
+        for (IProject project : this.dirtyProjects) {
+            if (this.dirtyProjects.remove(project)) {
+                PersistentModel model = this.modelCache.getIfPresent(project);
+                if (model != null && model.isPresent()) {
+                    persistPrefs(project, model);
+                }
             }
         }
     }
@@ -145,25 +197,36 @@ public final class DefaultModelPersistence implements ModelPersistence, EventLis
     }
 
     private static void persistPrefsChecked(IProject project, PersistentModel model) throws IOException {
-        File preferencesFile = preferencesFile(project);
-
-        if (!preferencesFile.exists()) {
-            Files.createParentDirs(preferencesFile);
-            Files.touch(preferencesFile);
+        File modelFile = modelFile(project.getName());
+        File tempFile = tempModelFile(project.getName());
+        Files.createParentDirs(modelFile);
+        Files.createParentDirs(tempFile);
+        try (FileOutputStream fileOutput = new FileOutputStream(tempFile)) {
+            OutputStream output = new BufferedOutputStream(fileOutput);
+            PersistentModelSerializer.write(model, output);
+            output.flush();
+            fileOutput.getFD().sync();
         }
+        replaceFile(tempFile, modelFile);
+    }
 
-        Properties props = PersistentModelConverter.toProperties(model);
-
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(preferencesFile), Charsets.UTF_8)) {
-            props.store(writer, "");
+    private static void replaceFile(File source, File target) throws IOException {
+        try {
+            java.nio.file.Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            java.nio.file.Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
-    private static File preferencesFile(IProject project) {
-        return preferencesFile(project.getName());
+    private static File modelFile(String projectName) {
+        return CorePlugin.getInstance().getStateLocation().append("project-models").append(projectName).toFile();
+    }
+
+    private static File tempModelFile(String projectName) {
+        return CorePlugin.getInstance().getStateLocation().append("project-models.tmp").append(projectName).toFile();
     }
 
-    private static File preferencesFile(String projectName) {
+    private static File legacyPreferencesFile(String projectName) {
         return CorePlugin.getInstance().getStateLocation().append("project-preferences").append(projectName).toFile();
     }
 
@@ -197,5 +260,24 @@ public final class DefaultModelPersistence implements ModelPersistence, EventLis
 
     public void close() {
         CorePlugin.listenerRegistry().removeEventListener(this);
+        this.flushJob.cancel();
+        persistDirtyModels();
+    }
+
+    /**
+     * Writes the saved models to the disk.
+     */
+    private final class FlushJob extends Job {
+
+        FlushJob() {
+            super("Save persistent models");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            persistDirtyModels();
+            return Status.OK_STATUS;
+        }
     }
 }
@@ -10,10 +10,15 @@ package org.eclipse.buildship.core.internal.preferences;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import com.google.common.base.Objects;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IProject;
@@ -31,25 +36,40 @@ public final class DefaultPersistentModel implements PersistentModel {
     private final IPath buildDir;
     private final IPath buildScriptPath;
     private final Collection<IPath> subprojectPaths;
-    private final List<IClasspathEntry> classpath;
+    private final Supplier<List<IClasspathEntry>> classpath;
     private final Collection<IPath> derivedResources;
     private final Collection<IPath> linkedResources;
     private final List<String> managedNatures;
     private final List<ICommand> managedBuilders;
+    private final Set<IPath> watchedInputs;
+    private final Optional<String> fingerprint;
 
     public DefaultPersistentModel(IProject project, IPath buildDir, IPath buildScriptPath,
                                   Collection<IPath> subprojectPaths, List<IClasspathEntry> classpath,
                                   Collection<IPath> derivedResources, Collection<IPath> linkedResources,
-                                  Collection<String> managedNatures, Collection<ICommand> managedBuilders) {
+                                  Collection<String> managedNatures, Collection<ICommand> managedBuilders, Collection<IPath> watchedInputs, Optional<String> fingerprint) {
+        this(project, buildDir, buildScriptPath, subprojectPaths, Suppliers.<List<IClasspathEntry>>ofInstance(ImmutableList.copyOf(classpath)), derivedResources, linkedResources, managedNatures, managedBuilders, watchedInputs, fingerprint);
+    }
+
+    /*
+     * The classpath is supplied lazily, as decoding the persisted entries is relatively expensive
+     * and most clients don't need it.
+     */
+    DefaultPersistentModel(IProject project, IPath buildDir, IPath buildScriptPath,
+                           Collection<IPath> subprojectPaths, Supplier<List<IClasspathEntry>> classpath,
+                           Collection<IPath> derivedResources, Collection<IPath> linkedResources,
+                           Collection<String> managedNatures, Collection<ICommand> managedBuilders, Collection<IPath> watchedInputs, Optional<String> fingerprint) {
         this.project = Preconditions.checkNotNull(project);
         this.buildDir = Preconditions.checkNotNull(buildDir);
         this.buildScriptPath = Preconditions.checkNotNull(buildScriptPath);
         this.subprojectPaths = ImmutableList.copyOf(subprojectPaths);
-        this.classpath = ImmutableList.copyOf(classpath);
+        this.classpath = Preconditions.checkNotNull(classpath);
         this.derivedResources = ImmutableList.copyOf(derivedResources);
         this.linkedResources = ImmutableList.copyOf(linkedResources);
         this.managedNatures = ImmutableList.copyOf(managedNatures);
         this.managedBuilders = ImmutableList.copyOf(managedBuilders);
+        this.watchedInputs = ImmutableSet.copyOf(watchedInputs);
+        this.fingerprint = Preconditions.checkNotNull(fingerprint);
     }
 
     @Override
@@ -79,7 +99,7 @@ public final class DefaultPersistentModel implements PersistentModel {
 
     @Override
     public List<IClasspathEntry> getClasspath() {
-        return this.classpath;
+        return this.classpath.get();
     }
 
     @Override
@@ -102,6 +122,16 @@ public final class DefaultPersistentModel implements PersistentModel {
         return this.managedBuilders;
     }
 
+    @Override
+    public Set<IPath> getWatchedInputs() {
+        return this.watchedInputs;
+    }
+
+    @Override
+    public Optional<String> getFingerprint() {
+        return this.fingerprint;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (!(obj instanceof DefaultPersistentModel)) {
@@ -111,16 +141,18 @@ public final class DefaultPersistentModel implements PersistentModel {
         return Objects.equal(this.project, that.project)
                 && Objects.equal(this.buildDir, that.buildDir)
                 && Objects.equal(this.subprojectPaths, that.subprojectPaths)
-                && Objects.equal(this.classpath, that.classpath)
+                && Objects.equal(getClasspath(), that.getClasspath())
                 && Objects.equal(this.derivedResources, that.derivedResources)
                 && Objects.equal(this.linkedResources, that.linkedResources)
                 && Objects.equal(this.managedNatures, that.managedNatures)
-                && Objects.equal(this.managedBuilders, that.managedBuilders);
+                && Objects.equal(this.managedBuilders, that.managedBuilders)
+                && Objects.equal(this.watchedInputs, that.watchedInputs)
+                && Objects.equal(this.fingerprint, that.fingerprint);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(this.project, this.buildDir, this.subprojectPaths, this.classpath, this.derivedResources, this.linkedResources, this.managedNatures, this.managedBuilders);
+        return Objects.hashCode(this.project, this.buildDir, this.subprojectPaths, getClasspath(), this.derivedResources, this.linkedResources, this.managedNatures, this.managedBuilders, this.watchedInputs, this.fingerprint);
     }
 
 }
@@ -10,6 +10,9 @@ package org.eclipse.buildship.core.internal.preferences;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+
+import com.google.common.base.Optional;
 
 import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IProject;
@@ -41,4 +44,8 @@ public interface PersistentModel {
     List<String> getManagedNatures();
 
     List<ICommand> getManagedBuilders();
+
+    Set<IPath> getWatchedInputs();
+
+    Optional<String> getFingerprint();
 }
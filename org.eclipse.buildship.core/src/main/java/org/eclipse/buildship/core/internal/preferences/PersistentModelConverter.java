@@ -16,6 +16,7 @@ import java.util.Properties;
 import com.google.common.base.Function;
 import com.google.common.base.Functions;
 import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
 import com.google.common.base.Predicates;
 import com.google.common.base.Splitter;
 import com.google.common.collect.FluentIterable;
@@ -158,7 +159,8 @@ final class PersistentModelConverter {
                 return BuildCommandConverter.toEntries(project, commands);
             }
         });
-        return new DefaultPersistentModel(project, buildDir, buildScriptPath, subprojects, classpath, derivedResources, linkedResources, managedNatures, managedBuilders);
+        // models stored in the properties format have no watched inputs and fingerprint
+        return new DefaultPersistentModel(project, buildDir, buildScriptPath, subprojects, classpath, derivedResources, linkedResources, managedNatures, managedBuilders, ImmutableList.<IPath>of(), Optional.<String>absent());
     }
 
     private static <T> T loadValue(Properties properties, String key, T defaultValue, Function<String, T> conversion) {
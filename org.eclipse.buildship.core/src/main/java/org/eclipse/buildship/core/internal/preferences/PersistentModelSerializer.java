@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.preferences;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+import org.eclipse.core.resources.ICommand;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.IClasspathAttribute;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+
+/**
+ * Serializes {@link PersistentModel} instances into a compact binary format.
+ * <p/>
+ * The format starts with a magic number and a version, followed by a table of all strings (paths,
+ * attribute names, builder names, etc.) used in the model. The rest of the content refers to the
+ * strings by their index. The classpath is stored in a length-prefixed section and it is only
+ * decoded when {@link PersistentModel#getClasspath()} is first called.
+ * <p/>
+ * Library and project entries - the ones Buildship creates - are stored field-by-field; all other
+ * entry kinds are stored in the XML format provided by {@link IJavaProject#encodeClasspathEntry(IClasspathEntry)}.
+ */
+final class PersistentModelSerializer {
+
+    private static final int MAGIC = 0x4250_4D44;
+    private static final int VERSION = 1;
+    private static final int NO_STRING = -1;
+
+    private static final byte ENTRY_LIBRARY = 1;
+    private static final byte ENTRY_PROJECT = 2;
+    private static final byte ENTRY_ENCODED = 3;
+
+    private PersistentModelSerializer() {
+    }
+
+    static void write(PersistentModel model, OutputStream output) throws IOException {
+        StringTable strings = new StringTable();
+
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+        body.writeInt(strings.indexOf(model.getBuildDir()));
+        body.writeInt(strings.indexOf(model.getbuildScriptPath()));
+        writePaths(model.getSubprojectPaths(), strings, body);
+        writePaths(model.getDerivedResources(), strings, body);
+        writePaths(model.getLinkedResources(), strings, body);
+        body.writeInt(model.getManagedNatures().size());
+        for (String nature : model.getManagedNatures()) {
+            body.writeInt(strings.indexOf(nature));
+        }
+        writeBuilders(model.getManagedBuilders(), strings, body);
+        writePaths(model.getWatchedInputs(), strings, body);
+        body.writeInt(strings.indexOf(model.getFingerprint().orNull()));
+        byte[] classpath = encodeClasspath(JavaCore.create(model.getProject()), model.getClasspath(), strings);
+        body.writeInt(classpath.length);
+        body.write(classpath);
+        body.flush();
+
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        strings.write(out);
+        bodyBytes.writeTo(out);
+        out.flush();
+    }
+
+    static PersistentModel read(IProject project, InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a persistent model file");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported persistent model format version: " + version);
+        }
+
+        String[] strings = StringTable.read(in);
+        IPath buildDir = readPath(strings, in.readInt());
+        IPath buildScriptPath = readPath(strings, in.readInt());
+        List<IPath> subprojectPaths = readPaths(strings, in);
+        List<IPath> derivedResources = readPaths(strings, in);
+        List<IPath> linkedResources = readPaths(strings, in);
+        int numOfNatures = in.readInt();
+        ImmutableList.Builder<String> managedNatures = ImmutableList.builder();
+        for (int i = 0; i < numOfNatures; i++) {
+            managedNatures.add(strings[in.readInt()]);
+        }
+        List<ICommand> managedBuilders = readBuilders(project, strings, in);
+        List<IPath> watchedInputs = readPaths(strings, in);
+        Optional<String> fingerprint = Optional.fromNullable(readString(strings, in.readInt()));
+        byte[] classpath = new byte[in.readInt()];
+        in.readFully(classpath);
+
+        Supplier<List<IClasspathEntry>> lazyClasspath = Suppliers.memoize(new LazyClasspath(project, strings, classpath));
+        return new DefaultPersistentModel(project, buildDir, buildScriptPath, subprojectPaths, lazyClasspath, derivedResources, linkedResources, managedNatures.build(), managedBuilders, watchedInputs, fingerprint);
+    }
+
+    private static void writePaths(Collection<IPath> paths, StringTable strings, DataOutputStream out) throws IOException {
+        out.writeInt(paths.size());
+        for (IPath path : paths) {
+            out.writeInt(strings.indexOf(path));
+        }
+    }
+
+    private static List<IPath> readPaths(String[] strings, DataInputStream in) throws IOException {
+        int size = in.readInt();
+        ImmutableList.Builder<IPath> result = ImmutableList.builder();
+        for (int i = 0; i < size; i++) {
+            result.add(readPath(strings, in.readInt()));
+        }
+        return result.build();
+    }
+
+    private static IPath readPath(String[] strings, int index) {
+        return index == NO_STRING ? null : Path.fromPortableString(strings[index]);
+    }
+
+    private static String readString(String[] strings, int index) {
+        return index == NO_STRING ? null : strings[index];
+    }
+
+    private static void writeBuilders(List<ICommand> builders, StringTable strings, DataOutputStream out) throws IOException {
+        out.writeInt(builders.size());
+        for (ICommand builder : builders) {
+            out.writeInt(strings.indexOf(builder.getBuilderName()));
+            @SuppressWarnings("unchecked")
+            Map<String, String> arguments = builder.getArguments();
+            out.writeInt(arguments.size());
+            for (Map.Entry<String, String> argument : arguments.entrySet()) {
+                out.writeInt(strings.indexOf(argument.getKey()));
+                out.writeInt(strings.indexOf(argument.getValue()));
+            }
+        }
+    }
+
+    private static List<ICommand> readBuilders(IProject project, String[] strings, DataInputStream in) throws IOException {
+        int size = in.readInt();
+        ImmutableList.Builder<ICommand> result = ImmutableList.builder();
+        for (int i = 0; i < size; i++) {
+            String name = strings[in.readInt()];
+            int numOfArguments = in.readInt();
+            Map<String, String> arguments = Maps.newHashMap();
+            for (int j = 0; j < numOfArguments; j++) {
+                arguments.put(strings[in.readInt()], readString(strings, in.readInt()));
+            }
+            try {
+                ICommand command = project.getDescription().newCommand();
+                command.setBuilderName(name);
+                command.setArguments(arguments);
+                result.add(command);
+            } catch (CoreException e) {
+                CorePlugin.logger().warn("Cannot load build commands", e);
+            }
+        }
+        return result.build();
+    }
+
+    private static byte[] encodeClasspath(IJavaProject javaProject, List<IClasspathEntry> classpath, StringTable strings) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(classpath.size());
+        for (IClasspathEntry entry : classpath) {
+            switch (entry.getEntryKind()) {
+                case IClasspathEntry.CPE_LIBRARY:
+                    out.writeByte(ENTRY_LIBRARY);
+                    out.writeInt(strings.indexOf(entry.getPath()));
+                    out.writeInt(strings.indexOf(entry.getSourceAttachmentPath()));
+                    out.writeInt(strings.indexOf(entry.getSourceAttachmentRootPath()));
+                    writeEntryDetails(entry, strings, out);
+                    break;
+                case IClasspathEntry.CPE_PROJECT:
+                    out.writeByte(ENTRY_PROJECT);
+                    out.writeInt(strings.indexOf(entry.getPath()));
+                    out.writeBoolean(entry.combineAccessRules());
+                    writeEntryDetails(entry, strings, out);
+                    break;
+                default:
+                    out.writeByte(ENTRY_ENCODED);
+                    out.writeInt(strings.indexOf(javaProject.encodeClasspathEntry(entry)));
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeEntryDetails(IClasspathEntry entry, StringTable strings, DataOutputStream out) throws IOException {
+        out.writeBoolean(entry.isExported());
+        IAccessRule[] accessRules = entry.getAccessRules();
+        out.writeInt(accessRules.length);
+        for (IAccessRule rule : accessRules) {
+            out.writeInt(rule.getKind() | (rule.ignoreIfBetter() ? IAccessRule.IGNORE_IF_BETTER : 0));
+            out.writeInt(strings.indexOf(rule.getPattern()));
+        }
+        IClasspathAttribute[] attributes = entry.getExtraAttributes();
+        out.writeInt(attributes.length);
+        for (IClasspathAttribute attribute : attributes) {
+            out.writeInt(strings.indexOf(attribute.getName()));
+            out.writeInt(strings.indexOf(attribute.getValue()));
+        }
+    }
+
+    private static List<IClasspathEntry> decodeClasspath(IProject project, String[] strings, byte[] classpath) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(classpath));
+        IJavaProject javaProject = JavaCore.create(project);
+        int size = in.readInt();
+        ImmutableList.Builder<IClasspathEntry> result = ImmutableList.builder();
+        for (int i = 0; i < size; i++) {
+            byte kind = in.readByte();
+            switch (kind) {
+                case ENTRY_LIBRARY: {
+                    IPath path = readPath(strings, in.readInt());
+                    IPath sourcePath = readPath(strings, in.readInt());
+                    IPath sourceRootPath = readPath(strings, in.readInt());
+                    boolean exported = in.readBoolean();
+                    IAccessRule[] accessRules = readAccessRules(strings, in);
+                    IClasspathAttribute[] attributes = readAttributes(strings, in);
+                    result.add(JavaCore.newLibraryEntry(path, sourcePath, sourceRootPath, accessRules, attributes, exported));
+                    break;
+                }
+                case ENTRY_PROJECT: {
+                    IPath path = readPath(strings, in.readInt());
+                    boolean combineAccessRules = in.readBoolean();
+                    boolean exported = in.readBoolean();
+                    IAccessRule[] accessRules = readAccessRules(strings, in);
+                    IClasspathAttribute[] attributes = readAttributes(strings, in);
+                    result.add(JavaCore.newProjectEntry(path, accessRules, combineAccessRules, attributes, exported));
+                    break;
+                }
+                case ENTRY_ENCODED: {
+                    String encoded = strings[in.readInt()];
+                    IClasspathEntry entry = javaProject.decodeClasspathEntry(encoded);
+                    if (entry == null) {
+                        throw new IOException(String.format("Could not parse classpath entry %s.", encoded));
+                    }
+                    result.add(entry);
+                    break;
+                }
+                default:
+                    throw new IOException("Unknown classpath entry kind: " + kind);
+            }
+        }
+        return result.build();
+    }
+
+    private static IAccessRule[] readAccessRules(String[] strings, DataInputStream in) throws IOException {
+        IAccessRule[] result = new IAccessRule[in.readInt()];
+        for (int i = 0; i < result.length; i++) {
+            int kind = in.readInt();
+            result[i] = JavaCore.newAccessRule(readPath(strings, in.readInt()), kind);
+        }
+        return result;
+    }
+
+    private static IClasspathAttribute[] readAttributes(String[] strings, DataInputStream in) throws IOException {
+        IClasspathAttribute[] result = new IClasspathAttribute[in.readInt()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = JavaCore.newClasspathAttribute(strings[in.readInt()], strings[in.readInt()]);
+        }
+        return result;
+    }
+
+    /**
+     * Decodes the classpath section of a model file.
+     */
+    private static final class LazyClasspath implements Supplier<List<IClasspathEntry>> {
+
+        private final IProject project;
+        private final String[] strings;
+        private final byte[] classpath;
+
+        LazyClasspath(IProject project, String[] strings, byte[] classpath) {
+            this.project = project;
+            this.strings = strings;
+            this.classpath = classpath;
+        }
+
+        @Override
+        public List<IClasspathEntry> get() {
+            try {
+                return decodeClasspath(this.project, this.strings, this.classpath);
+            } catch (IOException e) {
+                CorePlugin.logger().error(String.format("Could not read persisted classpath for project %s.", this.project.getName()), e);
+                return ImmutableList.of();
+            }
+        }
+    }
+
+    /**
+     * Assigns a unique index to each distinct string.
+     */
+    private static final class StringTable {
+
+        private final Map<String, Integer> indices = new LinkedHashMap<>();
+
+        int indexOf(IPath path) {
+            return path == null ? NO_STRING : indexOf(path.toPortableString());
+        }
+
+        int indexOf(String string) {
+            if (string == null) {
+                return NO_STRING;
+            }
+            Integer index = this.indices.get(string);
+            if (index == null) {
+                index = this.indices.size();
+                this.indices.put(string, index);
+            }
+            return index;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(this.indices.size());
+            for (String string : this.indices.keySet()) {
+                byte[] bytes = string.getBytes(Charsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        static String[] read(DataInputStream in) throws IOException {
+            String[] result = new String[in.readInt()];
+            for (int i = 0; i < result.length; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                result[i] = new String(bytes, Charsets.UTF_8);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+
+import org.eclipse.buildship.core.GradleBuild;
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.operation.ToolingApiJobResultHandler;
+import org.eclipse.buildship.core.internal.operation.ToolingApiStatus;
+
+/**
+ * Schedules automatic synchronizations for changed Gradle builds.
+ * <p/>
+ * Requests are collected until no new one arrives for the quiet period, then one
+ * {@link SynchronizationJob} is scheduled for each requested build. If a build is still being
+ * synchronized by a previous automatic synchronization, then the new synchronization is chained
+ * after the running one. If the previous synchronization hasn't started yet, it will pick up the
+ * changes, so no new job is scheduled.
+ */
+final class AutoSynchronizationScheduler {
+
+    private final Set<GradleBuild> pendingBuilds = Sets.newLinkedHashSet();
+    private final Set<GradleBuild> chainedBuilds = Sets.newHashSet();
+    private final Map<GradleBuild, SynchronizationJob> synchronizationJobs = Maps.newHashMap();
+    private final DebounceJob debounceJob = new DebounceJob();
+
+    /**
+     * Requests the synchronization of the target build.
+     *
+     * @param gradleBuild the build to synchronize
+     * @param quietPeriod the time in milliseconds to wait for further requests
+     */
+    void requestSynchronization(GradleBuild gradleBuild, long quietPeriod) {
+        synchronized (this) {
+            this.pendingBuilds.add(gradleBuild);
+        }
+        // rescheduling restarts the quiet period
+        this.debounceJob.cancel();
+        this.debounceJob.schedule(quietPeriod);
+    }
+
+    void cancel() {
+        this.debounceJob.cancel();
+        synchronized (this) {
+            this.pendingBuilds.clear();
+            this.chainedBuilds.clear();
+        }
+    }
+
+    private synchronized void synchronizePendingBuilds() {
+        Set<GradleBuild> builds = ImmutableSet.copyOf(this.pendingBuilds);
+        this.pendingBuilds.clear();
+        for (GradleBuild build : builds) {
+            synchronize(build);
+        }
+    }
+
+    private synchronized void synchronize(GradleBuild build) {
+        SynchronizationJob previous = this.synchronizationJobs.get(build);
+        int state = previous == null ? Job.NONE : previous.getState();
+        if (state == Job.RUNNING) {
+            this.chainedBuilds.add(build);
+        } else if (state == Job.NONE) {
+            SynchronizationJob job = new SynchronizationJob(build);
+            job.setResultHandler(new ResultHander());
+            job.addJobChangeListener(new SynchronizationFinishedListener(build, job));
+            this.synchronizationJobs.put(build, job);
+            job.schedule();
+        }
+    }
+
+    private synchronized void onSynchronizationFinished(GradleBuild build, SynchronizationJob job) {
+        if (this.synchronizationJobs.get(build) == job) {
+            this.synchronizationJobs.remove(build);
+            if (this.chainedBuilds.remove(build)) {
+                synchronize(build);
+            }
+        }
+    }
+
+    /**
+     * Starts the synchronization of the pending builds after the quiet period.
+     */
+    private final class DebounceJob extends Job {
+
+        DebounceJob() {
+            super("Schedule automatic synchronization");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            synchronizePendingBuilds();
+            return Status.OK_STATUS;
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return CorePlugin.GRADLE_JOB_FAMILY.equals(family);
+        }
+    }
+
+    /**
+     * Starts the chained synchronization once the running one finishes.
+     */
+    private final class SynchronizationFinishedListener extends JobChangeAdapter {
+
+        private final GradleBuild build;
+        private final SynchronizationJob job;
+
+        SynchronizationFinishedListener(GradleBuild build, SynchronizationJob job) {
+            this.build = build;
+            this.job = job;
+        }
+
+        @Override
+        public void done(IJobChangeEvent event) {
+            onSynchronizationFinished(this.build, this.job);
+        }
+    }
+
+    /**
+     * Custom result handler that only logs the failure.
+     */
+    private static final class ResultHander implements ToolingApiJobResultHandler<Void> {
+
+        @Override
+        public void onSuccess(Void result) {
+        }
+
+        @Override
+        public void onFailure(ToolingApiStatus status) {
+            CorePlugin.getInstance().getLog().log(status);
+        }
+    }
+}
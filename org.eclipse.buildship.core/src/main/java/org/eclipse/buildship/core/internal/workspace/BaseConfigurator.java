@@ -10,14 +10,23 @@ package org.eclipse.buildship.core.internal.workspace;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.gradle.tooling.model.eclipse.EclipseSourceDirectory;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 
+import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -30,15 +39,18 @@ import org.eclipse.jdt.core.JavaModelException;
 
 import org.eclipse.buildship.core.GradleBuild;
 import org.eclipse.buildship.core.InitializationContext;
-import org.eclipse.buildship.core.ProjectConfigurator;
 import org.eclipse.buildship.core.ProjectContext;
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.configuration.PerformancePreferences;
+import org.eclipse.buildship.core.internal.extension.PreparingProjectConfigurator;
+import org.eclipse.buildship.core.internal.preferences.PersistentModel;
 import org.eclipse.buildship.core.internal.util.gradle.BuildActionUtil;
 import org.eclipse.buildship.core.internal.util.gradle.HierarchicalElementUtils;
 import org.eclipse.buildship.core.internal.util.gradle.ModelUtils;
-public class BaseConfigurator implements ProjectConfigurator {
+public class BaseConfigurator implements PreparingProjectConfigurator {
 
     private Map<File, EclipseProject> locationToProject;
+    private final Map<IProject, List<IClasspathEntry>> preparedClasspaths = new ConcurrentHashMap<>();
 
     @Override
     public void init(InitializationContext context, IProgressMonitor monitor) {
@@ -54,6 +66,31 @@ public class BaseConfigurator implements ProjectConfigurator {
         }
     }
 
+    @Override
+    public void prepare(IProject project) {
+        if (this.locationToProject == null) {
+            return;
+        }
+
+        EclipseProject model = lookupEclipseModel(project);
+        if (model == null) {
+            return;
+        }
+
+        // load the persistent model into the cache so that the configure phase doesn't read it from the disk
+        PersistentModel previousModel = CorePlugin.modelPersistence().loadModel(project);
+        if (hasSameFingerprint(previousModel, EclipseProjectFingerprint.compute(model))) {
+            return;
+        }
+
+        if (isJavaProject(model)) {
+            List<IClasspathEntry> classpath = GradleClasspathContainerUpdater.precomputeEntries(JavaCore.create(project), model, this.locationToProject.values());
+            if (classpath != null) {
+                this.preparedClasspaths.put(project, classpath);
+            }
+        }
+    }
+
     @Override
     public void configure(ProjectContext context, IProgressMonitor monitor) {
         IProject project = context.getProject();
@@ -68,11 +105,23 @@ public class BaseConfigurator implements ProjectConfigurator {
         SubMonitor progress = SubMonitor.convert(monitor);
         progress.setWorkRemaining(4);
 
-        PersistentModelBuilder persistentModel = new PersistentModelBuilder(CorePlugin.modelPersistence().loadModel(project));
+        PersistentModel previousModel = CorePlugin.modelPersistence().loadModel(project);
         EclipseProject model = lookupEclipseModel(project);
+        Optional<String> fingerprint = EclipseProjectFingerprint.compute(model);
+        if (hasSameFingerprint(previousModel, fingerprint) && isWorkspaceStateUpToDate(project, model, previousModel)) {
+            this.preparedClasspaths.remove(project);
+            if (isJavaProject(model)) {
+                synchronizeJavaSettings(context, model, project, progress);
+            }
+            return;
+        }
+
+        PersistentModelBuilder persistentModel = new PersistentModelBuilder(previousModel);
+        persistentModel.fingerprint(fingerprint);
         progress.worked(1);
 
         BuildScriptLocationUpdater.update(model, persistentModel, progress.newChild(1));
+        WatchedInputsUpdater.update(model, persistentModel);
 
         LinkedResourcesUpdater.update(project, ImmutableList.copyOf(model.getLinkedResources()), persistentModel, progress.newChild(1));
         GradleFolderUpdater.update(project, model, persistentModel, progress.newChild(1));
@@ -99,6 +148,23 @@ public class BaseConfigurator implements ProjectConfigurator {
         }, progress.newChild(1));
     }
 
+    /*
+     * Updates the Java settings that are cheap to update and that are not verified by isWorkspaceStateUpToDate().
+     */
+    private void synchronizeJavaSettings(final ProjectContext context, final EclipseProject model, final IProject project, SubMonitor progress) throws CoreException {
+        JavaCore.run(new IWorkspaceRunnable() {
+            @Override
+            public void run(IProgressMonitor monitor) throws CoreException {
+                SubMonitor progress = SubMonitor.convert(monitor, 3);
+                IJavaProject javaProject = JavaCore.create(project);
+                OutputLocationUpdater.update(context, javaProject, model, progress.newChild(1));
+                ClasspathContainerUpdater.update(javaProject, model, progress.newChild(1));
+                JavaSourceSettingsUpdater.update(javaProject, model, progress.newChild(1));
+            }
+        }, progress.newChild(1));
+        CorePlugin.externalLaunchConfigurationManager().updateClasspathProviders(project);
+    }
+
     private void synchronizeJavaProjectInTransaction(final ProjectContext context, final EclipseProject model, final IProject project, PersistentModelBuilder persistentModel, SubMonitor progress) throws JavaModelException, CoreException {
         progress.setWorkRemaining(7);
         //old Gradle versions did not expose natures, so we need to add the Java nature explicitly
@@ -109,10 +175,72 @@ public class BaseConfigurator implements ProjectConfigurator {
         LibraryFilter.update(javaProject, model, progress.newChild(1));
         ClasspathContainerUpdater.update(javaProject, model, progress.newChild(1));
         JavaSourceSettingsUpdater.update(javaProject, model, progress.newChild(1));
-        GradleClasspathContainerUpdater.updateFromModel(javaProject, model, this.locationToProject.values(), persistentModel, progress.newChild(1));
+        List<IClasspathEntry> preparedClasspath = this.preparedClasspaths.remove(project);
+        if (preparedClasspath != null) {
+            GradleClasspathContainerUpdater.updateFromPrecomputedEntries(javaProject, preparedClasspath, persistentModel, progress.newChild(1));
+        } else {
+            GradleClasspathContainerUpdater.updateFromModel(javaProject, model, this.locationToProject.values(), persistentModel, progress.newChild(1));
+        }
         CorePlugin.externalLaunchConfigurationManager().updateClasspathProviders(project);
     }
 
+    private static boolean hasSameFingerprint(PersistentModel previousModel, Optional<String> fingerprint) {
+        return PerformancePreferences.isIncrementalSynchronization()
+                && fingerprint.isPresent()
+                && previousModel.isPresent()
+                && fingerprint.equals(previousModel.getFingerprint());
+    }
+
+    /*
+     * Checks whether the project still has the configuration applied by the last synchronization.
+     */
+    private boolean isWorkspaceStateUpToDate(IProject project, EclipseProject model, PersistentModel previousModel) throws CoreException {
+        IProjectDescription description = project.getDescription();
+        for (String nature : previousModel.getManagedNatures()) {
+            if (!description.hasNature(nature)) {
+                return false;
+            }
+        }
+
+        Set<String> builderNames = Sets.newHashSet();
+        for (ICommand command : description.getBuildSpec()) {
+            builderNames.add(command.getBuilderName());
+        }
+        for (ICommand command : previousModel.getManagedBuilders()) {
+            if (!builderNames.contains(command.getBuilderName())) {
+                return false;
+            }
+        }
+
+        for (IPath linkedResourcePath : previousModel.getLinkedResources()) {
+            IResource linkedResource = project.findMember(linkedResourcePath);
+            if (linkedResource == null || !linkedResource.isLinked()) {
+                return false;
+            }
+        }
+
+        if (isJavaProject(model)) {
+            IJavaProject javaProject = JavaCore.create(project);
+            if (!javaProject.exists()) {
+                return false;
+            }
+            Set<IPath> rawClasspathPaths = Sets.newHashSet();
+            for (IClasspathEntry entry : javaProject.getRawClasspath()) {
+                rawClasspathPaths.add(entry.getPath());
+            }
+            if (!rawClasspathPaths.contains(GradleClasspathContainer.CONTAINER_PATH)) {
+                return false;
+            }
+            for (EclipseSourceDirectory sourceDirectory : model.getSourceDirectories()) {
+                if (!rawClasspathPaths.contains(project.getFullPath().append(sourceDirectory.getPath()))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
     private boolean isJavaProject(EclipseProject model) {
         return model.getJavaSourceSettings() != null;
     }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Tracks the changes affecting the runtime classpath of the Java projects.
+ * <p/>
+ * The generation is incremented when a Java project is added, removed, opened or closed, when a raw
+ * classpath (including the output locations) or a resolved classpath (e.g. the JRE container or a
+ * user library) changes, and when a Gradle classpath container is set. Values computed from the
+ * classpaths can be discarded when the generation changes.
+ */
+public final class ClasspathChangeTracker implements IElementChangedListener {
+
+    private static final int CLASSPATH_CHANGE_FLAGS = IJavaElementDelta.F_OPENED
+            | IJavaElementDelta.F_CLOSED
+            | IJavaElementDelta.F_CLASSPATH_CHANGED
+            | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private ClasspathChangeTracker() {
+    }
+
+    /**
+     * Returns the current classpath generation.
+     *
+     * @return the current classpath generation
+     */
+    public long getGeneration() {
+        return this.generation.get();
+    }
+
+    void classpathChanged() {
+        this.generation.incrementAndGet();
+    }
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        for (IJavaElementDelta delta : event.getDelta().getAffectedChildren()) {
+            if (delta.getElement().getElementType() == IJavaElement.JAVA_PROJECT && isClasspathChange(delta)) {
+                classpathChanged();
+                return;
+            }
+        }
+    }
+
+    private static boolean isClasspathChange(IJavaElementDelta delta) {
+        return delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & CLASSPATH_CHANGE_FLAGS) != 0;
+    }
+
+    public static ClasspathChangeTracker createAndRegister() {
+        ClasspathChangeTracker tracker = new ClasspathChangeTracker();
+        JavaCore.addElementChangedListener(tracker, ElementChangedEvent.POST_CHANGE);
+        return tracker;
+    }
+
+    public void close() {
+        JavaCore.removeElementChangedListener(this);
+    }
+}
@@ -8,16 +8,13 @@
 
 package org.eclipse.buildship.core.internal.workspace;
 
-import java.io.IOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.net.URLClassLoader;
 
 import org.gradle.tooling.BuildLauncher;
 import org.gradle.tooling.GradleConnectionException;
-import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.LongRunningOperation;
 import org.gradle.tooling.ProjectConnection;
 import org.gradle.tooling.ResultHandler;
@@ -29,8 +26,8 @@ import org.eclipse.buildship.core.internal.configuration.GradleArguments;
 import org.eclipse.buildship.core.internal.gradle.GradleProgressAttributes;
 
 /**
- * Provides long-running TAPI operation instances that close their project connection after the execution is
- * finished.
+ * Provides long-running TAPI operation instances that return their project connection to the
+ * {@link org.eclipse.buildship.core.internal.ProjectConnectionPool} after the execution is finished.
  *
  * @author Donat Csikos
  */
@@ -38,34 +35,29 @@ import org.eclipse.buildship.core.internal.gradle.GradleProgressAttributes;
 public final class ConnectionAwareLauncherProxy implements InvocationHandler {
 
     private final LongRunningOperation launcher;
+    private final GradleArguments gradleArguments;
     private final ProjectConnection connection;
-    private static URLClassLoader ideFriendlyCustomActionClassLoader;
 
-    private ConnectionAwareLauncherProxy(ProjectConnection connection, LongRunningOperation target) {
+    private ConnectionAwareLauncherProxy(GradleArguments gradleArguments, ProjectConnection connection, LongRunningOperation target) {
+        this.gradleArguments = gradleArguments;
         this.connection = connection;
         this.launcher = target;
     }
 
     public static BuildLauncher newBuildLauncher(GradleArguments gradleArguments, GradleProgressAttributes progressAttributes) {
-        ProjectConnection connection = openConnection(gradleArguments);
-        BuildEnvironment buildEnvironment = connection.getModel(BuildEnvironment.class);
+        ProjectConnection connection = CorePlugin.projectConnectionPool().lease(gradleArguments);
+        BuildEnvironment buildEnvironment = CorePlugin.buildEnvironmentCache().get(gradleArguments, connection);
         BuildLauncher launcher = connection.newBuild();
         describeAndApplyConfiguration(launcher, gradleArguments, buildEnvironment, progressAttributes);
-        return (BuildLauncher) newProxyInstance(connection, launcher);
+        return (BuildLauncher) newProxyInstance(gradleArguments, connection, launcher);
     }
 
     public static TestLauncher newTestLauncher(GradleArguments gradleArguments, GradleProgressAttributes progressAttributes) {
-        ProjectConnection connection = openConnection(gradleArguments);
-        BuildEnvironment buildEnvironment = connection.getModel(BuildEnvironment.class);
+        ProjectConnection connection = CorePlugin.projectConnectionPool().lease(gradleArguments);
+        BuildEnvironment buildEnvironment = CorePlugin.buildEnvironmentCache().get(gradleArguments, connection);
         TestLauncher launcher = connection.newTestLauncher();
         describeAndApplyConfiguration(launcher, gradleArguments, buildEnvironment, progressAttributes);
-        return (TestLauncher) newProxyInstance(connection, launcher);
-    }
-
-    private static ProjectConnection openConnection(GradleArguments gradleArguments) {
-        GradleConnector connector = GradleConnector.newConnector();
-        gradleArguments.applyTo(connector);
-        return connector.connect();
+        return (TestLauncher) newProxyInstance(gradleArguments, connection, launcher);
     }
 
     private static void describeAndApplyConfiguration(LongRunningOperation operation, GradleArguments gradleArguments, BuildEnvironment buildEnvironment,
@@ -75,10 +67,10 @@ public final class ConnectionAwareLauncherProxy implements InvocationHandler {
         progressAttributes.applyTo(operation);
     }
 
-    private static Object newProxyInstance(ProjectConnection connection, LongRunningOperation launcher) {
+    private static Object newProxyInstance(GradleArguments gradleArguments, ProjectConnection connection, LongRunningOperation launcher) {
         return Proxy.newProxyInstance(launcher.getClass().getClassLoader(),
                                       launcher.getClass().getInterfaces(),
-                                      new ConnectionAwareLauncherProxy(connection, launcher));
+                                      new ConnectionAwareLauncherProxy(gradleArguments, connection, launcher));
     }
 
     @Override
@@ -134,14 +126,7 @@ public final class ConnectionAwareLauncherProxy implements InvocationHandler {
     }
 
     private void closeConnection() {
-        this.connection.close();
-        if (ideFriendlyCustomActionClassLoader != null) {
-            try {
-                ideFriendlyCustomActionClassLoader.close();
-            } catch (IOException e) {
-                CorePlugin.logger().error("Can't close URL class loader", e);
-            }
-        }
+        CorePlugin.projectConnectionPool().release(this.gradleArguments, this.connection);
     }
 
     private Object invokeOther(Method m, Object[] args) throws Throwable {
@@ -33,7 +33,9 @@ import org.eclipse.buildship.core.internal.configuration.ProjectConfiguration;
  */
 public final class DefaultGradleWorkspace implements InternalGradleWorkspace {
 
-    private final LoadingCache<BuildConfiguration, InternalGradleBuild> cache = CacheBuilder.newBuilder().build(new CacheLoader<BuildConfiguration, InternalGradleBuild>() {
+    // the builds are only kept while they are referenced; the loaded models are stored in the
+    // bounded model cache and survive the recreation of the build instance
+    private final LoadingCache<BuildConfiguration, InternalGradleBuild> cache = CacheBuilder.newBuilder().weakValues().build(new CacheLoader<BuildConfiguration, InternalGradleBuild>() {
 
         @Override
         public InternalGradleBuild load(BuildConfiguration buildConfiguration) {
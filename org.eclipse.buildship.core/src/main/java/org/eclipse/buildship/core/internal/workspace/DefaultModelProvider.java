@@ -16,43 +16,42 @@ import org.gradle.tooling.CancellationTokenSource;
 import org.gradle.tooling.model.build.BuildEnvironment;
 import org.gradle.tooling.model.eclipse.EclipseProject;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
-import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
-import org.eclipse.buildship.core.GradleBuild;
-import org.eclipse.buildship.core.internal.GradlePluginsRuntimeException;
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.configuration.BuildConfiguration;
 import org.eclipse.buildship.core.internal.util.gradle.BuildActionUtil;
 import org.eclipse.buildship.core.internal.util.gradle.GradleVersion;
 import org.eclipse.buildship.core.internal.util.gradle.ModelUtils;
 
 /**
  * Default implementation of {@link ModelProvider}.
+ * <p/>
+ * The models are stored in the shared {@link ModelCache}, so they are released once the cache
+ * evicts them and they outlive the build instance if the build configuration doesn't change.
  *
  * @author Stefan Oehme
  */
 public final class DefaultModelProvider implements ModelProvider {
 
-    private final GradleBuild gradleBuild;
-    private final Cache<Object, Object> cache = CacheBuilder.newBuilder().build();
+    private final InternalGradleBuild gradleBuild;
 
-    public DefaultModelProvider(GradleBuild gradleBuild) {
+    public DefaultModelProvider(InternalGradleBuild gradleBuild) {
         this.gradleBuild = gradleBuild;
     }
 
     @Override
     public <T> T fetchModel(Class<T> model, FetchStrategy strategy, CancellationTokenSource tokenSource, IProgressMonitor monitor) {
-        return injectCompatibilityModel(executeModelQuery(model, monitor, strategy, model));
+        return injectCompatibilityModel(executeModelQuery(model, monitor, strategy));
     }
 
     @Override
     public <T> Collection<T> fetchModels(Class<T> model, FetchStrategy strategy, CancellationTokenSource tokenSource, IProgressMonitor monitor) {
         if (supportsCompositeBuilds(tokenSource, monitor)) {
-            return injectCompatibilityModel(model, executeCompositeModelQuery(model, monitor, strategy, model));
+            return injectCompatibilityModel(model, executeCompositeModelQuery(model, monitor, strategy));
         } else {
             return ImmutableList.of(fetchModel(model, strategy, tokenSource, monitor));
         }
@@ -80,55 +79,40 @@ public final class DefaultModelProvider implements ModelProvider {
         return models;
     }
 
-    private <T> T executeModelQuery(final Class<T> model, final IProgressMonitor monitor, FetchStrategy fetchStrategy, Class<?> cacheKey) {
+    private <T> T executeModelQuery(final Class<T> model, final IProgressMonitor monitor, FetchStrategy fetchStrategy) {
         return executeOperation(new Callable<T>() {
 
             @Override
             public T call() throws Exception {
                 return DefaultModelProvider.this.gradleBuild.withConnection(connection -> connection.getModel(model), monitor);
             }
-        }, fetchStrategy, cacheKey);
+        }, fetchStrategy, model);
     }
 
-    private <T> Collection<T> executeCompositeModelQuery(Class<T> model, final IProgressMonitor monitor, FetchStrategy fetchStrategy, Class<?> cacheKey) {
+    private <T> Collection<T> executeCompositeModelQuery(Class<T> model, final IProgressMonitor monitor, FetchStrategy fetchStrategy) {
+        // the query is also the cache key, so that the models loaded during a synchronization can be shared
+        BuildAction<Collection<T>> query = BuildActionUtil.compositeModelQuery(model);
         return executeOperation(new Callable<Collection<T>>() {
 
             @Override
             public Collection<T> call() throws Exception {
-                BuildAction<Collection<T>> query = BuildActionUtil.compositeModelQuery(model);
                 return DefaultModelProvider.this.gradleBuild.withConnection(connection -> connection.action(query).run(), monitor);
             }
-        }, fetchStrategy, cacheKey);
+        }, fetchStrategy, query);
     }
 
-    private <T> T executeOperation(final Callable<T> operation, FetchStrategy fetchStrategy, Class<?> cacheKey) {
+    private <T> T executeOperation(final Callable<T> operation, FetchStrategy fetchStrategy, Object cacheKey) {
+        ModelCache cache = CorePlugin.modelCache();
+        BuildConfiguration buildConfiguration = this.gradleBuild.getBuildConfig();
         if (FetchStrategy.FROM_CACHE_ONLY == fetchStrategy) {
-            @SuppressWarnings("unchecked")
-            T result = (T) this.cache.getIfPresent(cacheKey);
-            return result;
+            return cache.getIfPresent(buildConfiguration, cacheKey);
         }
 
         if (FetchStrategy.FORCE_RELOAD == fetchStrategy) {
-            this.cache.invalidate(cacheKey);
+            cache.invalidate(buildConfiguration, cacheKey);
         }
 
-        T value = getFromCache(cacheKey, operation);
-
-        return value;
-    }
-
-    private <U> U getFromCache(Class<?> cacheKey, Callable<U> cacheValueLoader) {
-        try {
-            @SuppressWarnings("unchecked")
-            U result = (U) this.cache.get(cacheKey, cacheValueLoader);
-            return result;
-        } catch (Exception e) {
-            if (e instanceof UncheckedExecutionException && e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException)e.getCause();
-            } else {
-                throw new GradlePluginsRuntimeException(e);
-            }
-        }
+        return cache.get(buildConfiguration, cacheKey, operation);
     }
 
     private boolean supportsCompositeBuilds(CancellationTokenSource tokenSource, IProgressMonitor monitor) {
@@ -53,29 +53,13 @@ public final class DefaultWorkspaceOperations implements WorkspaceOperations {
     }
 
     @Override
-    public Optional<IProject> findProjectByName(final String name) {
-        return FluentIterable.from(getAllProjects()).firstMatch(new Predicate<IProject>() {
-
-            @Override
-            public boolean apply(IProject project) {
-                return project.getName().equals(name);
-            }
-        });
+    public Optional<IProject> findProjectByName(String name) {
+        return CorePlugin.workspaceProjectIndex().findProjectByName(name);
     }
 
     @Override
-    public Optional<IProject> findProjectByLocation(final File directory) {
-        return FluentIterable.from(getAllProjects()).firstMatch(new Predicate<IProject>() {
-
-            @Override
-            public boolean apply(IProject project) {
-                IPath location = project.getLocation();
-                // since Eclipse 3.4 projects can be non-local and they could return null locations
-                // for Buildship this is not the case, Gradle projects are always available on the
-                // local file system
-                return location != null && location.toFile().equals(directory);
-            }
-        });
+    public Optional<IProject> findProjectByLocation(File directory) {
+        return CorePlugin.workspaceProjectIndex().findProjectByLocation(directory);
     }
 
     @Override
@@ -116,6 +100,7 @@ public final class DefaultWorkspaceOperations implements WorkspaceOperations {
 
             // open the project
             project.open(IResource.NONE, progress.newChild(1));
+            CorePlugin.workspaceProjectIndex().add(project);
 
             // add project natures separately to trigger IProjectNature#configure
             // the project needs to be open while the natures are added
@@ -148,6 +133,7 @@ public final class DefaultWorkspaceOperations implements WorkspaceOperations {
 
             // open the project
             project.open(IResource.NONE, progress.newChild(1));
+            CorePlugin.workspaceProjectIndex().add(project);
 
             // add project natures separately to trigger IProjectNature#configure
             // the project needs to be open while the natures are added
@@ -362,7 +348,10 @@ public final class DefaultWorkspaceOperations implements WorkspaceOperations {
         } catch (CoreException e) {
             throw new GradlePluginsRuntimeException(e);
         }
-        return findProjectByName(newName).get();
+        IProject renamedProject = ResourcesPlugin.getWorkspace().getRoot().getProject(newName);
+        CorePlugin.workspaceProjectIndex().remove(project);
+        CorePlugin.workspaceProjectIndex().add(renamedProject);
+        return renamedProject;
     }
 
     @Override
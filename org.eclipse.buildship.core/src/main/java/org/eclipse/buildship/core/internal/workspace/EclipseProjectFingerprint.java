@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.io.File;
+import java.util.Map;
+
+import org.gradle.tooling.model.GradleProject;
+import org.gradle.tooling.model.eclipse.AccessRule;
+import org.gradle.tooling.model.eclipse.ClasspathAttribute;
+import org.gradle.tooling.model.eclipse.EclipseBuildCommand;
+import org.gradle.tooling.model.eclipse.EclipseClasspathContainer;
+import org.gradle.tooling.model.eclipse.EclipseClasspathEntry;
+import org.gradle.tooling.model.eclipse.EclipseExternalDependency;
+import org.gradle.tooling.model.eclipse.EclipseJavaSourceSettings;
+import org.gradle.tooling.model.eclipse.EclipseLinkedResource;
+import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.gradle.tooling.model.eclipse.EclipseProjectDependency;
+import org.gradle.tooling.model.eclipse.EclipseProjectNature;
+import org.gradle.tooling.model.eclipse.EclipseSourceDirectory;
+import org.gradle.tooling.model.gradle.GradleScript;
+
+import com.google.common.base.Optional;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.CoreTraceScopes;
+import org.eclipse.buildship.core.internal.util.gradle.HierarchicalElementUtils;
+
+/**
+ * Computes a stable fingerprint of the {@link EclipseProject} model elements used by
+ * {@link BaseConfigurator} to configure a workspace project.
+ * <p/>
+ * Two models with the same fingerprint result in the same project configuration, assuming that
+ * the workspace wasn't changed in the meantime. Besides the model content the fingerprint also
+ * covers the existence of the external dependency files, as missing files can be resolved to
+ * linked resources.
+ */
+final class EclipseProjectFingerprint {
+
+    private final Hasher hasher = Hashing.murmur3_128().newHasher();
+
+    private EclipseProjectFingerprint() {
+    }
+
+    /**
+     * Computes the fingerprint of the target project model.
+     *
+     * @param project the target project model
+     * @return the fingerprint or absent value if the model can't be fingerprinted
+     */
+    public static Optional<String> compute(EclipseProject project) {
+        try {
+            EclipseProjectFingerprint fingerprint = new EclipseProjectFingerprint();
+            fingerprint.putProject(project);
+            return Optional.of(fingerprint.hasher.hash().toString());
+        } catch (RuntimeException e) {
+            // some model elements are not available for older Gradle versions
+            CorePlugin.logger().trace(CoreTraceScopes.PROJECT_CONFIGURATORS, "Cannot compute fingerprint of project " + project.getName(), e);
+            return Optional.absent();
+        }
+    }
+
+    private void putProject(EclipseProject project) {
+        putString(project.getName());
+        putFile(project.getProjectDirectory());
+        putFile(project.getProjectIdentifier().getBuildIdentifier().getRootDir());
+
+        GradleScript buildScript = project.getGradleProject().getBuildScript();
+        putFile(buildScript == null ? null : buildScript.getSourceFile());
+
+        // nested projects and their build directories are marked as derived resources
+        String projectPath = project.getProjectDirectory().getAbsolutePath() + File.separator;
+        for (EclipseProject other : HierarchicalElementUtils.getAll(project)) {
+            GradleProject gradleProject = other.getGradleProject();
+            if (other == project || other.getProjectDirectory().getAbsolutePath().startsWith(projectPath)) {
+                putFile(other.getProjectDirectory());
+                putFile(gradleProject.getBuildDirectory());
+            }
+        }
+
+        this.hasher.putInt(project.getLinkedResources().size());
+        for (EclipseLinkedResource linkedResource : project.getLinkedResources()) {
+            putString(linkedResource.getName());
+            putString(linkedResource.getType());
+            putString(linkedResource.getLocation());
+            putString(linkedResource.getLocationUri());
+        }
+
+        this.hasher.putInt(project.getProjectNatures().size());
+        for (EclipseProjectNature nature : project.getProjectNatures()) {
+            putString(nature.getId());
+        }
+
+        this.hasher.putInt(project.getBuildCommands().size());
+        for (EclipseBuildCommand buildCommand : project.getBuildCommands()) {
+            putString(buildCommand.getName());
+            this.hasher.putInt(buildCommand.getArguments().size());
+            for (Map.Entry<String, String> argument : buildCommand.getArguments().entrySet()) {
+                putString(argument.getKey());
+                putString(argument.getValue());
+            }
+        }
+
+        EclipseJavaSourceSettings sourceSettings = project.getJavaSourceSettings();
+        this.hasher.putBoolean(sourceSettings != null);
+        if (sourceSettings != null) {
+            putJavaSettings(project, sourceSettings);
+        }
+    }
+
+    private void putJavaSettings(EclipseProject project, EclipseJavaSourceSettings sourceSettings) {
+        putString(sourceSettings.getSourceLanguageLevel().toString());
+        putString(sourceSettings.getTargetBytecodeVersion().toString());
+        putFile(sourceSettings.getJdk().getJavaHome());
+        putString(sourceSettings.getJdk().getJavaVersion().toString());
+        putString(project.getOutputLocation().getPath());
+
+        this.hasher.putInt(project.getSourceDirectories().size());
+        for (EclipseSourceDirectory sourceDirectory : project.getSourceDirectories()) {
+            putString(sourceDirectory.getPath());
+            putString(sourceDirectory.getOutput());
+            putStrings(sourceDirectory.getExcludes());
+            putStrings(sourceDirectory.getIncludes());
+            putClasspathEntry(sourceDirectory);
+        }
+
+        this.hasher.putInt(project.getClasspathContainers().size());
+        for (EclipseClasspathContainer container : project.getClasspathContainers()) {
+            putString(container.getPath());
+            this.hasher.putBoolean(container.isExported());
+            putClasspathEntry(container);
+        }
+
+        this.hasher.putInt(project.getProjectDependencies().size());
+        for (EclipseProjectDependency dependency : project.getProjectDependencies()) {
+            putString(dependency.getPath());
+            this.hasher.putBoolean(dependency.isExported());
+            putClasspathEntry(dependency);
+        }
+
+        this.hasher.putInt(project.getClasspath().size());
+        for (EclipseExternalDependency dependency : project.getClasspath()) {
+            File file = dependency.getFile();
+            putFile(file);
+            this.hasher.putBoolean(file.exists());
+            this.hasher.putBoolean(file.isDirectory());
+            putFile(dependency.getSource());
+            this.hasher.putBoolean(dependency.isExported());
+            putClasspathEntry(dependency);
+        }
+    }
+
+    private void putClasspathEntry(EclipseClasspathEntry entry) {
+        this.hasher.putInt(entry.getAccessRules().size());
+        for (AccessRule rule : entry.getAccessRules()) {
+            this.hasher.putInt(rule.getKind());
+            putString(rule.getPattern());
+        }
+        this.hasher.putInt(entry.getClasspathAttributes().size());
+        for (ClasspathAttribute attribute : entry.getClasspathAttributes()) {
+            putString(attribute.getName());
+            putString(attribute.getValue());
+        }
+    }
+
+    private void putStrings(Iterable<String> strings) {
+        for (String string : strings) {
+            putString(string);
+        }
+        this.hasher.putInt(-1);
+    }
+
+    private void putFile(File file) {
+        putString(file == null ? null : file.getAbsolutePath());
+    }
+
+    private void putString(String string) {
+        // prefix with the length to make the fingerprint unambiguous
+        if (string == null) {
+            this.hasher.putInt(-1);
+        } else {
+            this.hasher.putInt(string.length());
+            this.hasher.putUnencodedChars(string);
+        }
+    }
+}
@@ -10,13 +10,23 @@ package org.eclipse.buildship.core.internal.workspace;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.jdt.core.IClasspathContainer;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -27,17 +37,29 @@ import org.eclipse.jdt.launching.IRuntimeClasspathEntryResolver;
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.JavaRuntime;
 
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.GradlePluginsRuntimeException;
 import org.eclipse.buildship.core.internal.launch.GradleClasspathProvider;
 import org.eclipse.buildship.core.internal.launch.LaunchConfigurationScope;
 
 /**
  * {@link IRuntimeClasspathEntryResolver} implementation to resolve Gradle classpath container
  * entries.
+ * <p/>
+ * The project dependencies are traversed once per resolution: each dependency project is expanded
+ * only at its first occurrence, so diamond-shaped and cyclic dependency graphs are resolved in
+ * linear time. The traversal result is memoized per project and launch configuration scope until
+ * a classpath or the set of accessible Java projects changes, as tracked by the
+ * {@link ClasspathChangeTracker}. Only the traversed entries are memoized, the runtime
+ * classpath entries are created anew for each resolution, as the launching infrastructure may
+ * modify them.
  *
  * @author Donat Csikos
  */
 public final class GradleClasspathContainerRuntimeClasspathEntryResolver implements IRuntimeClasspathEntryResolver {
 
+    private final Cache<ResolutionKey, List<ResolvedEntry>> resolvedEntries = CacheBuilder.newBuilder().maximumSize(256).build();
+
     @Override
     public IRuntimeClasspathEntry[] resolveRuntimeClasspathEntry(IRuntimeClasspathEntry entry, ILaunchConfiguration configuration) throws CoreException {
         if (entry == null || entry.getJavaProject() == null) {
@@ -61,34 +83,67 @@ public final class GradleClasspathContainerRuntimeClasspathEntryResolver impleme
 
     private IRuntimeClasspathEntry[] collectContainerRuntimeClasspathIfPresent(IJavaProject project, LaunchConfigurationScope configurationScopes) throws CoreException {
         List<IRuntimeClasspathEntry> result = Lists.newArrayList();
-        collectContainerRuntimeClasspathIfPresent(project, result, false, configurationScopes);
+        for (ResolvedEntry resolvedEntry : getResolvedEntries(project, configurationScopes)) {
+            if (resolvedEntry.dependencyProject != null) {
+                IRuntimeClasspathEntry projectRuntimeEntry = JavaRuntime.newProjectRuntimeClasspathEntry(resolvedEntry.dependencyProject);
+                // add the project entry itself so that the source lookup can find the classes
+                // see https://github.com/eclipse/buildship/issues/383
+                result.add(projectRuntimeEntry);
+                Collections.addAll(result, GradleClasspathProvider.resolveOutputLocations(projectRuntimeEntry, resolvedEntry.dependencyProject, configurationScopes));
+            } else {
+                result.add(JavaRuntime.newArchiveRuntimeClasspathEntry(resolvedEntry.libraryPath));
+            }
+        }
         return result.toArray(new IRuntimeClasspathEntry[result.size()]);
     }
 
-    private void collectContainerRuntimeClasspathIfPresent(IJavaProject project, List<IRuntimeClasspathEntry> result, boolean includeExportedEntriesOnly,
-            LaunchConfigurationScope configurationScopes) throws CoreException {
+    private List<ResolvedEntry> getResolvedEntries(final IJavaProject project, final LaunchConfigurationScope configurationScopes) throws CoreException {
+        // entries of previous generations are never looked up again and get evicted eventually
+        ResolutionKey key = new ResolutionKey(project.getElementName(), configurationScopes, CorePlugin.classpathChangeTracker().getGeneration());
+        try {
+            return this.resolvedEntries.get(key, new Callable<List<ResolvedEntry>>() {
+
+                @Override
+                public List<ResolvedEntry> call() throws CoreException {
+                    List<ResolvedEntry> entries = Lists.newArrayList();
+                    Set<IProject> visitedProjects = Sets.newHashSet(project.getProject());
+                    collectContainerEntriesIfPresent(project, entries, false, configurationScopes, visitedProjects);
+                    return ImmutableList.copyOf(entries);
+                }
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CoreException) {
+                throw (CoreException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new GradlePluginsRuntimeException(cause);
+            }
+        }
+    }
+
+    private void collectContainerEntriesIfPresent(IJavaProject project, List<ResolvedEntry> result, boolean includeExportedEntriesOnly,
+            LaunchConfigurationScope configurationScopes, Set<IProject> visitedProjects) throws CoreException {
         IClasspathContainer container = JavaCore.getClasspathContainer(GradleClasspathContainer.CONTAINER_PATH, project);
         if (container != null) {
-            collectContainerRuntimeClasspath(container, result, includeExportedEntriesOnly, configurationScopes);
+            collectContainerEntries(container, result, includeExportedEntriesOnly, configurationScopes, visitedProjects);
         }
     }
 
-    private void collectContainerRuntimeClasspath(IClasspathContainer container, List<IRuntimeClasspathEntry> result, boolean includeExportedEntriesOnly,
-            LaunchConfigurationScope configurationScopes) throws CoreException {
+    private void collectContainerEntries(IClasspathContainer container, List<ResolvedEntry> result, boolean includeExportedEntriesOnly,
+            LaunchConfigurationScope configurationScopes, Set<IProject> visitedProjects) throws CoreException {
         for (final IClasspathEntry cpe : container.getClasspathEntries()) {
             if (!includeExportedEntriesOnly || cpe.isExported()) {
                 if (cpe.getEntryKind() == IClasspathEntry.CPE_LIBRARY && configurationScopes.isEntryIncluded(cpe)) {
-                    result.add(JavaRuntime.newArchiveRuntimeClasspathEntry(cpe.getPath()));
+                    result.add(ResolvedEntry.library(cpe.getPath()));
                 } else if (cpe.getEntryKind() == IClasspathEntry.CPE_PROJECT) {
                     Optional<IProject> candidate = findAccessibleJavaProject(cpe.getPath().segment(0));
-                    if (candidate.isPresent()) {
+                    // the dependency project's entries are the same on every path, so it's enough to collect them once
+                    if (candidate.isPresent() && visitedProjects.add(candidate.get())) {
                         IJavaProject dependencyProject = JavaCore.create(candidate.get());
-                        IRuntimeClasspathEntry projectRuntimeEntry = JavaRuntime.newProjectRuntimeClasspathEntry(dependencyProject);
-                        // add the project entry itself so that the source lookup can find the classes
-                        // see https://github.com/eclipse/buildship/issues/383
-                        result.add(projectRuntimeEntry);
-                        Collections.addAll(result, GradleClasspathProvider.resolveOutputLocations(projectRuntimeEntry, dependencyProject, configurationScopes));
-                        collectContainerRuntimeClasspathIfPresent(dependencyProject, result, true, configurationScopes);
+                        result.add(ResolvedEntry.project(dependencyProject));
+                        collectContainerEntriesIfPresent(dependencyProject, result, true, configurationScopes, visitedProjects);
                     }
                 }
             }
@@ -117,4 +172,64 @@ public final class GradleClasspathContainerRuntimeClasspathEntryResolver impleme
         return null;
     }
 
+    /**
+     * Key of the memoized resolution results.
+     */
+    private static final class ResolutionKey {
+
+        private final String projectName;
+        private final LaunchConfigurationScope configurationScopes;
+        private final long generation;
+
+        ResolutionKey(String projectName, LaunchConfigurationScope configurationScopes, long generation) {
+            this.projectName = projectName;
+            this.configurationScopes = configurationScopes;
+            this.generation = generation;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.projectName, this.configurationScopes, this.generation);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null) {
+                return false;
+            }
+            if (getClass() != obj.getClass()) {
+                return false;
+            }
+            ResolutionKey other = (ResolutionKey) obj;
+            return Objects.equals(this.projectName, other.projectName)
+                    && Objects.equals(this.configurationScopes, other.configurationScopes)
+                    && this.generation == other.generation;
+        }
+    }
+
+    /**
+     * A library or a dependency project collected from the classpath containers.
+     */
+    private static final class ResolvedEntry {
+
+        private final IPath libraryPath;
+        private final IJavaProject dependencyProject;
+
+        private ResolvedEntry(IPath libraryPath, IJavaProject dependencyProject) {
+            this.libraryPath = libraryPath;
+            this.dependencyProject = dependencyProject;
+        }
+
+        static ResolvedEntry library(IPath libraryPath) {
+            return new ResolvedEntry(libraryPath, null);
+        }
+
+        static ResolvedEntry project(IJavaProject dependencyProject) {
+            return new ResolvedEntry(null, dependencyProject);
+        }
+    }
+
 }
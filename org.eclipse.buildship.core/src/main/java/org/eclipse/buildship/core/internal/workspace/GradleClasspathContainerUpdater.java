@@ -151,6 +151,33 @@ final class GradleClasspathContainerUpdater {
         updater.updateClasspathContainer(persistentModel, monitor);
     }
 
+    /**
+     * Computes the classpath container entries of the target project without modifying the
+     * workspace. The result can be applied later via
+     * {@link #updateFromPrecomputedEntries(IJavaProject, List, PersistentModelBuilder, IProgressMonitor)}.
+     * <p/>
+     * Returns {@code null} if the entries depend on the workspace state, i.e. if an external
+     * dependency points to a non-existing file which might be resolved to a linked resource.
+     */
+    public static ImmutableList<IClasspathEntry> precomputeEntries(IJavaProject eclipseProject, EclipseProject gradleProject, Iterable<EclipseProject> allGradleProjects) {
+        for (EclipseExternalDependency dependency : gradleProject.getClasspath()) {
+            if (!dependency.getFile().exists()) {
+                return null;
+            }
+        }
+        return new GradleClasspathContainerUpdater(eclipseProject, gradleProject, allGradleProjects).collectClasspathContainerEntries();
+    }
+
+    /**
+     * Updates the classpath container of the target project with entries computed by
+     * {@link #precomputeEntries(IJavaProject, EclipseProject, Iterable)}.
+     */
+    public static void updateFromPrecomputedEntries(IJavaProject eclipseProject, List<IClasspathEntry> containerEntries, PersistentModelBuilder persistentModel, IProgressMonitor monitor)
+            throws JavaModelException {
+        setClasspathContainer(eclipseProject, containerEntries, monitor);
+        persistentModel.classpath(containerEntries);
+    }
+
     /**
      * Updates the classpath container from the state stored by the last call to
      * {@link #updateFromModel(IJavaProject, EclipseProject, IProgressMonitor)}.
@@ -174,7 +201,11 @@ final class GradleClasspathContainerUpdater {
 
     private static void setClasspathContainer(IJavaProject eclipseProject, List<IClasspathEntry> classpathEntries, IProgressMonitor monitor) throws JavaModelException {
         IClasspathContainer classpathContainer = GradleClasspathContainer.newInstance(classpathEntries);
-        JavaCore.setClasspathContainer(GradleClasspathContainer.CONTAINER_PATH, new IJavaProject[] { eclipseProject }, new IClasspathContainer[] { classpathContainer }, monitor);
+        try {
+            JavaCore.setClasspathContainer(GradleClasspathContainer.CONTAINER_PATH, new IJavaProject[] { eclipseProject }, new IClasspathContainer[] { classpathContainer }, monitor);
+        } finally {
+            CorePlugin.classpathChangeTracker().classpathChanged();
+        }
     }
 
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.tooling.model.eclipse.EclipseProject;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.eclipse.buildship.core.internal.GradlePluginsRuntimeException;
+import org.eclipse.buildship.core.internal.configuration.BuildConfiguration;
+
+/**
+ * Caches the models loaded from the Gradle builds of the workspace.
+ * <p/>
+ * The cache is shared between all builds, and the entries are keyed by the build configuration
+ * and the model type. The cache is bounded by the estimated weight of the stored models. The
+ * weight of an {@link EclipseProject} is the number of projects, classpath entries, source folders
+ * and linked resources in its hierarchy, for other models it is {@code 1}. Entries that were not
+ * accessed for the configured time are also evicted.
+ */
+public final class ModelCache {
+
+    private final Cache<Key, Object> cache;
+
+    public ModelCache(long maximumWeight, long expireAfterAccessMillis) {
+        this(maximumWeight, expireAfterAccessMillis, Ticker.systemTicker());
+    }
+
+    ModelCache(long maximumWeight, long expireAfterAccessMillis, Ticker ticker) {
+        Preconditions.checkArgument(maximumWeight >= 0, "Maximum weight must not be negative");
+        Preconditions.checkArgument(expireAfterAccessMillis >= 0, "Expiration time must not be negative");
+        // a single segment makes the whole weight available for one large build
+        this.cache = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(maximumWeight)
+                .weigher(new ModelWeigher())
+                .expireAfterAccess(expireAfterAccessMillis, TimeUnit.MILLISECONDS)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached model or loads it if it is not present in the cache.
+     *
+     * @param buildConfiguration the configuration of the build the model belongs to
+     * @param key the key identifying the model within the build
+     * @param loader the loader computing the model if it is not cached
+     * @return the model
+     */
+    public <T> T get(BuildConfiguration buildConfiguration, Object key, Callable<T> loader) {
+        try {
+            @SuppressWarnings("unchecked")
+            T result = (T) this.cache.get(new Key(buildConfiguration, key), loader);
+            return result;
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else {
+                throw new GradlePluginsRuntimeException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Stores a model in the cache.
+     *
+     * @param buildConfiguration the configuration of the build the model belongs to
+     * @param key the key identifying the model within the build
+     * @param model the model to store
+     */
+    public void put(BuildConfiguration buildConfiguration, Object key, Object model) {
+        this.cache.put(new Key(buildConfiguration, key), Preconditions.checkNotNull(model));
+    }
+
+    /**
+     * Returns the cached model.
+     *
+     * @param buildConfiguration the configuration of the build the model belongs to
+     * @param key the key identifying the model within the build
+     * @return the model or {@code null} if the model is not cached
+     */
+    public <T> T getIfPresent(BuildConfiguration buildConfiguration, Object key) {
+        @SuppressWarnings("unchecked")
+        T result = (T) this.cache.getIfPresent(new Key(buildConfiguration, key));
+        return result;
+    }
+
+    /**
+     * Removes a model from the cache.
+     *
+     * @param buildConfiguration the configuration of the build the model belongs to
+     * @param key the key identifying the model within the build
+     */
+    public void invalidate(BuildConfiguration buildConfiguration, Object key) {
+        this.cache.invalidate(new Key(buildConfiguration, key));
+    }
+
+    /**
+     * Removes all models of a build from the cache.
+     *
+     * @param buildConfiguration the configuration of the build
+     */
+    public void invalidate(BuildConfiguration buildConfiguration) {
+        for (Key key : this.cache.asMap().keySet()) {
+            if (key.buildConfiguration.equals(buildConfiguration)) {
+                this.cache.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Removes all models from the cache.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Returns the number of models in the cache.
+     *
+     * @return the number of cached models
+     */
+    public long size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Returns the total weight of the models in the cache.
+     *
+     * @return the total weight of the cached models
+     */
+    public long weight() {
+        long weight = 0;
+        for (Map.Entry<Key, Object> entry : this.cache.asMap().entrySet()) {
+            weight += ModelWeigher.weigh(entry.getValue());
+        }
+        return weight;
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics. The statistics contain the hit, miss and eviction
+     * counts and the time spent with loading the models.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getStatistics() {
+        return this.cache.stats();
+    }
+
+    /**
+     * Key of a cached model.
+     */
+    private static final class Key {
+
+        private final BuildConfiguration buildConfiguration;
+        private final Object key;
+
+        private Key(BuildConfiguration buildConfiguration, Object key) {
+            this.buildConfiguration = Preconditions.checkNotNull(buildConfiguration);
+            this.key = Preconditions.checkNotNull(key);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return Objects.equal(this.buildConfiguration, other.buildConfiguration) && Objects.equal(this.key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.buildConfiguration, this.key);
+        }
+    }
+
+    /**
+     * Estimates the size of the cached models.
+     */
+    private static final class ModelWeigher implements Weigher<Key, Object> {
+
+        @Override
+        public int weigh(Key key, Object value) {
+            return weigh(value);
+        }
+
+        static int weigh(Object model) {
+            if (model instanceof Collection) {
+                int weight = 0;
+                for (Object element : (Collection<?>) model) {
+                    weight += weigh(element);
+                }
+                return Math.max(1, weight);
+            } else if (model instanceof EclipseProject) {
+                return weigh((EclipseProject) model);
+            } else {
+                return 1;
+            }
+        }
+
+        private static int weigh(EclipseProject project) {
+            int weight = 1;
+            try {
+                weight += project.getClasspath().size()
+                        + project.getProjectDependencies().size()
+                        + project.getSourceDirectories().size()
+                        + project.getLinkedResources().size();
+            } catch (RuntimeException e) {
+                // older Gradle versions don't provide all model elements
+            }
+            for (EclipseProject child : project.getChildren()) {
+                weight += weigh(child);
+            }
+            return weight;
+        }
+    }
+}
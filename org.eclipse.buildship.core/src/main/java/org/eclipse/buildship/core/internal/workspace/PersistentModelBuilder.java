@@ -11,6 +11,7 @@ package org.eclipse.buildship.core.internal.workspace;
 import java.util.Collection;
 import java.util.List;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 
 import org.eclipse.core.resources.ICommand;
@@ -37,6 +38,8 @@ public final class PersistentModelBuilder {
     private Collection<IPath> linkedResources;
     private Collection<String> managedNatures;
     private Collection<ICommand> managedBuilders;
+    private Collection<IPath> watchedInputs;
+    private Optional<String> fingerprint;
 
     public PersistentModelBuilder(PersistentModel previous) {
         this.previous = Preconditions.checkNotNull(previous);
@@ -49,6 +52,10 @@ public final class PersistentModelBuilder {
             this.linkedResources = previous.getLinkedResources();
             this.managedNatures = previous.getManagedNatures();
             this.managedBuilders = previous.getManagedBuilders();
+            this.watchedInputs = previous.getWatchedInputs();
+            this.fingerprint = previous.getFingerprint();
+        } else {
+            this.fingerprint = Optional.absent();
         }
     }
 
@@ -87,6 +94,16 @@ public final class PersistentModelBuilder {
         return this;
     }
 
+    public PersistentModelBuilder watchedInputs(Collection<IPath> watchedInputs) {
+        this.watchedInputs = watchedInputs;
+        return this;
+    }
+
+    public PersistentModelBuilder fingerprint(Optional<String> fingerprint) {
+        this.fingerprint = fingerprint;
+        return this;
+    }
+
     public PersistentModelBuilder buildScriptPath(IPath buildScriptPath) {
         this.buildScriptPath = buildScriptPath;
         return this;
@@ -97,6 +114,6 @@ public final class PersistentModelBuilder {
     }
 
     public PersistentModel build() {
-        return new DefaultPersistentModel(this.previous.getProject(), this.buildDir, this.buildScriptPath, this.subprojectPaths, this.classpath, this.derivedResources, this.linkedResources, this.managedNatures, this.managedBuilders);
+        return new DefaultPersistentModel(this.previous.getProject(), this.buildDir, this.buildScriptPath, this.subprojectPaths, this.classpath, this.derivedResources, this.linkedResources, this.managedNatures, this.managedBuilders, this.watchedInputs, this.fingerprint);
     }
 }
\ No newline at end of file
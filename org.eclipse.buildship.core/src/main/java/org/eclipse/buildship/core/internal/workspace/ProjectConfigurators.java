@@ -23,6 +23,7 @@ import org.eclipse.buildship.core.GradleBuild;
 import org.eclipse.buildship.core.InitializationContext;
 import org.eclipse.buildship.core.ProjectContext;
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.CoreTraceScopes;
 import org.eclipse.buildship.core.internal.extension.InternalProjectConfigurator;
 import org.eclipse.buildship.core.internal.extension.ProjectConfiguratorContribution;
 import org.eclipse.buildship.core.internal.util.gradle.Pair;
@@ -56,6 +57,21 @@ public final class ProjectConfigurators {
         return result;
     }
 
+    boolean hasPreparingConfigurators() {
+        return this.contributions.stream().anyMatch(InternalProjectConfigurator::isPreparing);
+    }
+
+    void prepareConfigurators(IProject project) {
+        for (InternalProjectConfigurator contribution : this.contributions) {
+            try {
+                contribution.prepare(project);
+            } catch (Exception e) {
+                // the configure phase computes everything that was not prepared
+                CorePlugin.logger().trace(CoreTraceScopes.PROJECT_CONFIGURATORS, configuratorFailedMessage(contribution, e, "prepare project '" + project.getName() + "'"), e);
+            }
+        }
+    }
+
     List<SynchronizationProblem> configureConfigurators(IProject project, IProgressMonitor monitor) {
         List<SynchronizationProblem> result = new ArrayList<>();
 
@@ -14,12 +14,18 @@ package org.eclipse.buildship.core.internal.workspace;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.gradle.tooling.model.eclipse.EclipseProject;
 
-import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
@@ -31,16 +37,27 @@ import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.GradlePluginsRuntimeException;
 import org.eclipse.buildship.core.internal.configuration.BuildConfiguration;
 import org.eclipse.buildship.core.internal.configuration.ConfigurationManager;
+import org.eclipse.buildship.core.internal.configuration.ConfigurationWriteSession;
 import org.eclipse.buildship.core.internal.configuration.GradleProjectNature;
+import org.eclipse.buildship.core.internal.configuration.PerformancePreferences;
 import org.eclipse.buildship.core.internal.configuration.ProjectConfiguration;
 
 /**
  * Synchronizes the given Gradle build with the Eclipse workspace.
+ * <p/>
+ * If the synchronization parallelism is greater than one (see
+ * {@link PerformancePreferences#getSynchronizationParallelism()}), then the per-project work is split
+ * into stages. The stages computing the synchronization state run concurrently on a bounded
+ * fork-join pool and don't modify the workspace. The stages applying the resource and JDT changes
+ * are executed serially, in the same order as in the serial mode.
  */
 public final class SynchronizeGradleBuildOperation {
 
@@ -50,6 +67,11 @@ public final class SynchronizeGradleBuildOperation {
     private final ProjectConfigurators configurators;
 
     private List<SynchronizationProblem> failures;
+    private ConfigurationWriteSession configurationSession;
+
+    // non-null only in parallel mode, where the configurators are executed in a separate stage
+    private Map<File, IProject> deferredConfigurations;
+    private Set<IProject> deferredImports;
 
 
     public SynchronizeGradleBuildOperation(Set<EclipseProject> allProjects, InternalGradleBuild gradleBuild, NewProjectHandler newProjectHandler, ProjectConfigurators configurators) {
@@ -64,14 +86,31 @@ public final class SynchronizeGradleBuildOperation {
         progress.setTaskName(String.format("Synchronizing Gradle build at %s", this.gradleBuild.getBuildConfig().getRootProjectDirectory()));
 
         this.failures = new ArrayList<>();
-        synchronizeProjectsWithWorkspace(progress);
+        // the project configurations are written once, at the end of the synchronization
+        this.configurationSession = CorePlugin.configurationManager().beginWriteSession();
+        try {
+            synchronizeProjectsWithWorkspace(progress);
+        } catch (Throwable t) {
+            // keep the configuration of the projects synchronized so far without hiding the failure
+            try {
+                this.configurationSession.commit();
+            } catch (RuntimeException e) {
+                t.addSuppressed(e);
+            }
+            this.configurationSession = null;
+            throw t;
+        }
+        this.configurationSession.commit();
+        this.configurationSession = null;
         return this.failures;
     }
 
     private void synchronizeProjectsWithWorkspace(SubMonitor progress) throws CoreException {
         // collect Gradle projects and Eclipse workspace projects to sync
         List<IProject> decoupledWorkspaceProjects = getOpenWorkspaceProjectsRemovedFromGradleBuild();
-        progress.setWorkRemaining(decoupledWorkspaceProjects.size() + this.allProjects.size() + 1);
+        int parallelism = PerformancePreferences.getSynchronizationParallelism();
+        int workPerProject = parallelism > 1 ? 2 : 1;
+        progress.setWorkRemaining(decoupledWorkspaceProjects.size() + workPerProject * this.allProjects.size() + 1);
 
         this.failures.addAll(this.configurators.initConfigurators(progress.newChild(1)));
 
@@ -81,26 +120,119 @@ public final class SynchronizeGradleBuildOperation {
         }
 
         // synchronize the Gradle projects with their corresponding workspace projects
-        for (final EclipseProject gradleProject : this.allProjects) {
-            ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
-                @Override
-                public void run(IProgressMonitor monitor) throws CoreException {
-                    synchronizeGradleProjectWithWorkspaceProject(gradleProject, SubMonitor.convert(monitor));
-                }
-            }, progress.newChild(1));
+        if (parallelism > 1) {
+            synchronizeGradleProjectsInParallel(parallelism, progress);
+        } else {
+            for (final EclipseProject gradleProject : this.allProjects) {
+                ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+                    @Override
+                    public void run(IProgressMonitor monitor) throws CoreException {
+                        SubMonitor projectProgress = SubMonitor.convert(monitor, 2);
+                        synchronizeGradleProjectWithWorkspaceProject(lookupWorkspaceProject(gradleProject, projectProgress.newChild(1)), projectProgress.newChild(1));
+                    }
+                }, progress.newChild(1));
+            }
+        }
+    }
+
+    private void synchronizeGradleProjectsInParallel(int parallelism, SubMonitor progress) throws CoreException {
+        this.deferredConfigurations = new LinkedHashMap<>();
+        this.deferredImports = new HashSet<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // look up the workspace projects and the project descriptors concurrently; sub-monitors can't be shared between threads
+            List<WorkspaceProjectLookup> lookups = computeInParallel(pool, ImmutableList.copyOf(this.allProjects), project -> lookupWorkspaceProject(project, new NullProgressMonitor()));
+            if (progress.isCanceled()) {
+                throw new OperationCanceledException();
+            }
+
+            // create, refresh and rename the workspace projects serially
+            for (final WorkspaceProjectLookup lookup : lookups) {
+                ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+                    @Override
+                    public void run(IProgressMonitor monitor) throws CoreException {
+                        SubMonitor projectProgress = SubMonitor.convert(monitor, 2);
+                        synchronizeGradleProjectWithWorkspaceProject(lookup.revalidate(projectProgress.newChild(1)), projectProgress.newChild(1));
+                    }
+                }, progress.newChild(1));
+            }
+
+            // let the configurators compute the project configuration concurrently
+            final List<IProject> projects = resolveDeferredConfigurations();
+            if (this.configurators.hasPreparingConfigurators()) {
+                computeInParallel(pool, projects, project -> {
+                    this.configurators.prepareConfigurators(project);
+                    return project;
+                });
+            }
+
+            // apply the configuration serially
+            SubMonitor configureProgress = progress.newChild(projects.size());
+            configureProgress.setWorkRemaining(projects.size());
+            for (final IProject project : projects) {
+                ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+                    @Override
+                    public void run(IProgressMonitor monitor) throws CoreException {
+                        SynchronizeGradleBuildOperation.this.failures.addAll(SynchronizeGradleBuildOperation.this.configurators.configureConfigurators(project, monitor));
+                        if (SynchronizeGradleBuildOperation.this.deferredImports.contains(project)) {
+                            SynchronizeGradleBuildOperation.this.newProjectHandler.afterProjectImported(project);
+                        }
+                    }
+                }, configureProgress.newChild(1));
+            }
+        } finally {
+            pool.shutdown();
+            this.deferredConfigurations = null;
+            this.deferredImports = null;
+        }
+    }
+
+    private List<IProject> resolveDeferredConfigurations() {
+        // a workspace project can be renamed while the name of a subsequent project is being freed up
+        List<IProject> result = new ArrayList<>(this.deferredConfigurations.size());
+        for (Map.Entry<File, IProject> entry : this.deferredConfigurations.entrySet()) {
+            IProject project = entry.getValue();
+            if (project.exists()) {
+                result.add(project);
+            } else {
+                result.addAll(CorePlugin.workspaceOperations().findProjectByLocation(entry.getKey()).asSet());
+            }
+        }
+        return result;
+    }
+
+    private static <T, R> List<R> computeInParallel(ForkJoinPool pool, List<T> elements, Function<T, R> computation) {
+        try {
+            // the parallel stream keeps the encounter order of the elements in the result
+            return pool.submit(() -> elements.parallelStream().map(computation).collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GradlePluginsRuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new GradlePluginsRuntimeException(cause);
+        }
+    }
+
+    private WorkspaceProjectLookup lookupWorkspaceProject(EclipseProject project, IProgressMonitor monitor) {
+        // check if a project already exists in the workspace at the location of the Gradle project to import
+        Optional<IProject> workspaceProject = CorePlugin.workspaceOperations().findProjectByLocation(project.getProjectDirectory());
+        if (workspaceProject.isPresent()) {
+            return new WorkspaceProjectLookup(project, workspaceProject, Optional.<IProjectDescription>absent());
+        }
+        if (project.getProjectDirectory().exists() && this.newProjectHandler.shouldImportNewProjects()) {
+            // check if an Eclipse project already exists at the location of the Gradle project to import
+            Optional<IProjectDescription> projectDescription = CorePlugin.workspaceOperations().findProjectDescriptor(project.getProjectDirectory(), monitor);
+            return new WorkspaceProjectLookup(project, workspaceProject, projectDescription);
+        } else {
+            return new WorkspaceProjectLookup(project, workspaceProject, Optional.<IProjectDescription>absent());
         }
     }
 
     private List<IProject> getOpenWorkspaceProjectsRemovedFromGradleBuild() {
         // in the workspace, find all projects with a Gradle nature that belong to the same Gradle build (based on the root project directory) but
         // which do not match the location of one of the Gradle projects of that build
-        final Set<File> gradleProjectDirectories = FluentIterable.from(this.allProjects).transform(new Function<EclipseProject, File>() {
-
-            @Override
-            public File apply(EclipseProject gradleProject) {
-                return gradleProject.getProjectDirectory();
-            }
-        }).toSet();
+        final Set<File> gradleProjectDirectories = FluentIterable.from(this.allProjects).transform(EclipseProject::getProjectDirectory).toSet();
 
         ImmutableList<IProject> allWorkspaceProjects = CorePlugin.workspaceOperations().getAllProjects();
 
@@ -120,17 +252,16 @@ public final class SynchronizeGradleBuildOperation {
         }).toList();
     }
 
-    private void synchronizeGradleProjectWithWorkspaceProject(EclipseProject project, SubMonitor progress) throws CoreException {
+    private void synchronizeGradleProjectWithWorkspaceProject(WorkspaceProjectLookup lookup, SubMonitor progress) throws CoreException {
+        EclipseProject project = lookup.gradleProject;
         progress.setWorkRemaining(1);
         progress.subTask(String.format("Synchronize Gradle project %s with workspace project", project.getName()));
-        // check if a project already exists in the workspace at the location of the Gradle project to import
-        Optional<IProject> workspaceProject = CorePlugin.workspaceOperations().findProjectByLocation(project.getProjectDirectory());
         SubMonitor childProgress = progress.newChild(1, SubMonitor.SUPPRESS_ALL_LABELS);
-        if (workspaceProject.isPresent()) {
-            synchronizeWorkspaceProject(project, workspaceProject.get(), childProgress);
+        if (lookup.workspaceProject.isPresent()) {
+            synchronizeWorkspaceProject(project, lookup.workspaceProject.get(), childProgress);
         } else {
             if (project.getProjectDirectory().exists() && this.newProjectHandler.shouldImportNewProjects()) {
-                synchronizeNonWorkspaceProject(project, childProgress);
+                synchronizeNonWorkspaceProject(project, lookup.projectDescription, childProgress);
             }
         }
     }
@@ -143,7 +274,7 @@ public final class SynchronizeGradleBuildOperation {
         }
     }
 
-    private void synchronizeOpenWorkspaceProject(EclipseProject project, IProject workspaceProject, boolean refreshNeeded, SubMonitor progress) throws CoreException {
+    private IProject synchronizeOpenWorkspaceProject(EclipseProject project, IProject workspaceProject, boolean refreshNeeded, SubMonitor progress) throws CoreException {
         progress.setWorkRemaining(10);
 
         //currently lots of our synchronization logic assumes that the whole resource tree is readable.
@@ -153,52 +284,58 @@ public final class SynchronizeGradleBuildOperation {
             progress.worked(1);
         }
 
-        // save the project configuration; has to be called after workspace project is in sync with the file system
-        // otherwise the Eclipse preferences API will throw BackingStoreException
+        // record the project configuration; it's saved after the workspace project is in sync with the file system
+        // otherwise the Eclipse preferences API would throw BackingStoreException
         ConfigurationManager configManager = CorePlugin.configurationManager();
         ProjectConfiguration projectConfig = configManager.createProjectConfiguration(this.gradleBuild.getBuildConfig(), project.getProjectDirectory());
-        configManager.saveProjectConfiguration(projectConfig);
+        this.configurationSession.saveProjectConfiguration(projectConfig);
 
         workspaceProject = ProjectNameUpdater.updateProjectName(workspaceProject, project, this.allProjects, progress.newChild(1));
 
         CorePlugin.workspaceOperations().addNature(workspaceProject, GradleProjectNature.ID, progress.newChild(1));
 
-        this.failures.addAll(this.configurators.configureConfigurators(workspaceProject, progress.newChild(1)));
+        if (this.deferredConfigurations != null) {
+            this.deferredConfigurations.put(project.getProjectDirectory(), workspaceProject);
+        } else {
+            this.failures.addAll(this.configurators.configureConfigurators(workspaceProject, progress.newChild(1)));
+        }
+        return workspaceProject;
     }
 
     private void synchronizeClosedWorkspaceProject(SubMonitor childProgress) {
         // do not modify closed projects
     }
 
-    private void synchronizeNonWorkspaceProject(EclipseProject project, SubMonitor progress) throws CoreException {
+    private void synchronizeNonWorkspaceProject(EclipseProject project, Optional<IProjectDescription> projectDescription, SubMonitor progress) throws CoreException {
         progress.setWorkRemaining(2);
+        progress.worked(1);
         IProject workspaceProject;
 
-        // check if an Eclipse project already exists at the location of the Gradle project to import
-        Optional<IProjectDescription> projectDescription = CorePlugin.workspaceOperations().findProjectDescriptor(project.getProjectDirectory(), progress.newChild(1));
         if (projectDescription.isPresent()) {
             workspaceProject = addExistingEclipseProjectToWorkspace(project, projectDescription.get(), progress.newChild(1));
         } else {
             workspaceProject = addNewEclipseProjectToWorkspace(project, progress.newChild(1));
         }
 
-        this.newProjectHandler.afterProjectImported(workspaceProject);
+        if (this.deferredImports != null) {
+            this.deferredImports.add(workspaceProject);
+        } else {
+            this.newProjectHandler.afterProjectImported(workspaceProject);
+        }
     }
 
     private IProject addExistingEclipseProjectToWorkspace(EclipseProject project, IProjectDescription projectDescription, SubMonitor progress) throws CoreException {
         progress.setWorkRemaining(3);
         ProjectNameUpdater.ensureProjectNameIsFree(project, this.allProjects, progress.newChild(1));
         IProject workspaceProject = CorePlugin.workspaceOperations().includeProject(projectDescription, ImmutableList.<String>of(), progress.newChild(1));
-        synchronizeOpenWorkspaceProject(project, workspaceProject, false, progress.newChild(1));
-        return workspaceProject;
+        return synchronizeOpenWorkspaceProject(project, workspaceProject, false, progress.newChild(1));
     }
 
     private IProject addNewEclipseProjectToWorkspace(EclipseProject project, SubMonitor progress) throws CoreException {
         progress.setWorkRemaining(3);
         ProjectNameUpdater.ensureProjectNameIsFree(project, this.allProjects, progress.newChild(1));
         IProject workspaceProject = CorePlugin.workspaceOperations().createProject(project.getName(), project.getProjectDirectory(), ImmutableList.<String>of(), progress.newChild(1));
-        synchronizeOpenWorkspaceProject(project, workspaceProject, false, progress.newChild(1));
-        return workspaceProject;
+        return synchronizeOpenWorkspaceProject(project, workspaceProject, false, progress.newChild(1));
     }
 
     private void uncoupleWorkspaceProjectFromGradle(IProject workspaceProject, SubMonitor monitor) {
@@ -209,4 +346,29 @@ public final class SynchronizeGradleBuildOperation {
         CorePlugin.workspaceOperations().removeNature(workspaceProject, GradleProjectNature.ID, monitor.newChild(1, SubMonitor.SUPPRESS_ALL_LABELS));
         CorePlugin.configurationManager().deleteProjectConfiguration(workspaceProject);
     }
+
+    /**
+     * The workspace state corresponding to a Gradle project, computed before the workspace is modified.
+     */
+    private final class WorkspaceProjectLookup {
+
+        private final EclipseProject gradleProject;
+        private final Optional<IProject> workspaceProject;
+        private final Optional<IProjectDescription> projectDescription;
+
+        WorkspaceProjectLookup(EclipseProject gradleProject, Optional<IProject> workspaceProject, Optional<IProjectDescription> projectDescription) {
+            this.gradleProject = gradleProject;
+            this.workspaceProject = workspaceProject;
+            this.projectDescription = projectDescription;
+        }
+
+        WorkspaceProjectLookup revalidate(IProgressMonitor monitor) {
+            // synchronizing a previous project can rename the workspace project to free up its name
+            if (this.workspaceProject.isPresent() && !this.workspaceProject.get().exists()) {
+                return lookupWorkspaceProject(this.gradleProject, monitor);
+            } else {
+                return this;
+            }
+        }
+    }
 }
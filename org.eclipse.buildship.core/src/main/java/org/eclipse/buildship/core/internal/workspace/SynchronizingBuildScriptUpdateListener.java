@@ -10,8 +10,6 @@ package org.eclipse.buildship.core.internal.workspace;
 
 import java.util.Set;
 
-import com.google.common.collect.Sets;
-
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
@@ -28,20 +26,24 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.buildship.core.GradleBuild;
 import org.eclipse.buildship.core.GradleCore;
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.configuration.BuildConfiguration;
 import org.eclipse.buildship.core.internal.configuration.GradleProjectNature;
 import org.eclipse.buildship.core.internal.configuration.ProjectConfiguration;
-import org.eclipse.buildship.core.internal.operation.ToolingApiJobResultHandler;
-import org.eclipse.buildship.core.internal.operation.ToolingApiStatus;
 import org.eclipse.buildship.core.internal.preferences.PersistentModel;
 
 /**
  * Executes project synchronization if the corresponding preference is enabled and the user changes
- * the build script.
+ * the build script or any other input recorded in {@link PersistentModel#getWatchedInputs()}.
+ * <p/>
+ * Changes are debounced and coalesced by {@link AutoSynchronizationScheduler}, so a series of
+ * changes results in one synchronization per Gradle build.
  *
  * @author Donat Csikos
  */
 public final class SynchronizingBuildScriptUpdateListener implements IResourceChangeListener {
 
+    private final AutoSynchronizationScheduler scheduler = new AutoSynchronizationScheduler();
+
     private SynchronizingBuildScriptUpdateListener() {
     }
 
@@ -58,9 +60,9 @@ public final class SynchronizingBuildScriptUpdateListener implements IResourceCh
         }
     }
 
-    private boolean isEnabledInPreferences(IProject project) {
+    private static BuildConfiguration loadBuildConfiguration(IProject project) {
         ProjectConfiguration configuration = CorePlugin.configurationManager().loadProjectConfiguration(project);
-        return configuration.getBuildConfiguration().isAutoSync();
+        return configuration.getBuildConfiguration();
     }
 
     private void visitDelta(IResourceDelta delta) throws CoreException {
@@ -81,8 +83,11 @@ public final class SynchronizingBuildScriptUpdateListener implements IResourceCh
         IResource resource = delta.getResource();
         if (resource instanceof IProject) {
             IProject project = (IProject) resource;
-            if (GradleProjectNature.isPresentOn(project) && isEnabledInPreferences(project)) {
-                executeSyncIfBuildScriptChanged(project, delta);
+            if (GradleProjectNature.isPresentOn(project)) {
+                BuildConfiguration buildConfiguration = loadBuildConfiguration(project);
+                if (buildConfiguration.isAutoSync()) {
+                    executeSyncIfBuildScriptChanged(project, buildConfiguration, delta);
+                }
             }
             return false;
         } else {
@@ -90,37 +95,47 @@ public final class SynchronizingBuildScriptUpdateListener implements IResourceCh
         }
     }
 
-    private void executeSyncIfBuildScriptChanged(final IProject project, IResourceDelta delta) {
-        if (hasBuildScriptFileChanged(project, delta.getAffectedChildren())) {
+    private void executeSyncIfBuildScriptChanged(IProject project, BuildConfiguration buildConfiguration, IResourceDelta delta) {
+        if (hasWatchedInputChanged(project, delta.getAffectedChildren())) {
             GradleBuild gradleBuild = GradleCore.getWorkspace().getBuild(project).get();
-            SynchronizationJob job = new SynchronizationJob(gradleBuild);
-            job.setResultHandler(new ResultHander());
-            job.schedule();
+            this.scheduler.requestSynchronization(gradleBuild, buildConfiguration.getAutoSyncQuietPeriod());
         }
     }
 
-    private boolean hasBuildScriptFileChanged(IProject project, IResourceDelta[] deltas) {
+    private static boolean hasWatchedInputChanged(IProject project, IResourceDelta[] deltas) {
         PersistentModel model = CorePlugin.modelPersistence().loadModel(project);
         if (!model.isPresent())  {
             return false;
         } else {
-            IPath buildScriptPath = model.getbuildScriptPath();
-            Set<IPath> affectedResourcePaths  = collectAffectedResourcePaths(deltas);
-            return affectedResourcePaths.contains(buildScriptPath);
+            return hasWatchedInputChanged(deltas, model.getbuildScriptPath(), model.getWatchedInputs());
         }
     }
 
-    private Set<IPath> collectAffectedResourcePaths(IResourceDelta[] children) {
-        Set<IPath> result = Sets.newHashSet();
-        collectAffectedResourcePaths(result, children);
-        return result;
+    private static boolean hasWatchedInputChanged(IResourceDelta[] deltas, IPath buildScriptPath, Set<IPath> watchedInputs) {
+        for (IResourceDelta delta : deltas) {
+            IPath path = delta.getResource().getProjectRelativePath();
+            if (path.equals(buildScriptPath) || watchedInputs.contains(path)) {
+                if (hasContentChanged(delta)) {
+                    return true;
+                }
+            } else if (hasWatchedInputChanged(delta.getAffectedChildren(), buildScriptPath, watchedInputs)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private void  collectAffectedResourcePaths(Set<IPath> result, IResourceDelta[] deltas) {
-        for (IResourceDelta delta : deltas) {
-            result.add(delta.getResource().getProjectRelativePath());
-            collectAffectedResourcePaths(result, delta.getAffectedChildren());
+    private static boolean hasContentChanged(IResourceDelta delta) {
+        // ignore marker and sync info changes, otherwise markers created by the synchronization would trigger a new one
+        if (delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+            return true;
         }
+        for (IResourceDelta child : delta.getAffectedChildren()) {
+            if (hasContentChanged(child)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public static SynchronizingBuildScriptUpdateListener createAndRegister() {
@@ -131,20 +146,6 @@ public final class SynchronizingBuildScriptUpdateListener implements IResourceCh
 
     public void close() {
         ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
-    }
-
-    /**
-     * Custom result handler that only logs the failure.
-     */
-    private static final class ResultHander implements ToolingApiJobResultHandler<Void> {
-
-        @Override
-        public void onSuccess(Void result) {
-        }
-
-        @Override
-        public void onFailure(ToolingApiStatus status) {
-            CorePlugin.getInstance().getLog().log(status);
-        }
+        this.scheduler.cancel();
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.io.File;
+import java.util.List;
+
+import org.gradle.tooling.model.UnsupportedMethodException;
+import org.gradle.tooling.model.eclipse.EclipseProject;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Updates the files and folders in the persistent model whose change should trigger the automatic
+ * synchronization. The build script location is stored separately by {@link BuildScriptLocationUpdater}.
+ * <p/>
+ * Every project watches its own {@code gradle.properties} file. The root project of each build
+ * additionally watches the settings script, the version catalog and the {@code buildSrc} sources.
+ * Folders match any change below them.
+ * <p/>
+ * The Tooling API doesn't expose the settings script and the other build inputs, hence the
+ * watched inputs are the conventional file names rather than the files actually read by Gradle.
+ */
+final class WatchedInputsUpdater {
+
+    private static final List<IPath> PROJECT_INPUTS = ImmutableList.<IPath>of(
+            new Path("gradle.properties"));
+
+    private static final List<IPath> BUILD_INPUTS = ImmutableList.<IPath>of(
+            new Path("settings.gradle"),
+            new Path("settings.gradle.kts"),
+            new Path("gradle/libs.versions.toml"),
+            new Path("buildSrc/build.gradle"),
+            new Path("buildSrc/build.gradle.kts"),
+            new Path("buildSrc/settings.gradle"),
+            new Path("buildSrc/settings.gradle.kts"),
+            new Path("buildSrc/gradle.properties"),
+            new Path("buildSrc/src"));
+
+    private WatchedInputsUpdater() {
+    }
+
+    public static void update(EclipseProject eclipseProject, PersistentModelBuilder persistentModel) {
+        ImmutableSet.Builder<IPath> watchedInputs = ImmutableSet.builder();
+        watchedInputs.addAll(PROJECT_INPUTS);
+        if (isBuildRoot(eclipseProject)) {
+            watchedInputs.addAll(BUILD_INPUTS);
+        }
+        persistentModel.watchedInputs(watchedInputs.build());
+    }
+
+    private static boolean isBuildRoot(EclipseProject eclipseProject) {
+        try {
+            File buildRoot = eclipseProject.getProjectIdentifier().getBuildIdentifier().getRootDir();
+            return buildRoot.equals(eclipseProject.getProjectDirectory());
+        } catch (UnsupportedMethodException e) {
+            // the project identifier is not available for Gradle versions older than 2.14
+            return eclipseProject.getParent() == null;
+        }
+    }
+}
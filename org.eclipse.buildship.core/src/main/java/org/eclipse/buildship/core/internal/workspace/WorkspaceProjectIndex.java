@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Optional;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.event.Event;
+import org.eclipse.buildship.core.internal.event.EventListener;
+
+/**
+ * Index of the workspace projects by location and by name.
+ * <p/>
+ * The index is built upon the first lookup and then it is kept up-to-date by the events sent by
+ * the {@link ProjectChangeListener}. Changes executed via {@link DefaultWorkspaceOperations} are
+ * reflected immediately; this is necessary as the resource change events are only sent when the
+ * outermost workspace operation finishes.
+ * <p/>
+ * Every hit is verified against the workspace and a name miss is verified with a handle lookup. If
+ * the index is found stale then it is rebuilt from scratch. A location miss is trusted, so it
+ * doesn't visit the workspace projects; a project created by another plug-in inside an enclosing
+ * workspace operation is only found by its location once the operation finishes.
+ * <p/>
+ * The lookups don't lock the index. A rebuild populates new maps and publishes them at once, so a
+ * concurrent lookup never sees a partially rebuilt index.
+ */
+public final class WorkspaceProjectIndex implements EventListener {
+
+    private volatile Entries entries;
+
+    private WorkspaceProjectIndex() {
+    }
+
+    public Optional<IProject> findProjectByLocation(File location) {
+        Entries entries = getEntries();
+        IProject project = entries.projectsByLocation.get(location);
+        if (project != null) {
+            if (isValidLocation(project, location)) {
+                return Optional.of(project);
+            }
+        } else {
+            return Optional.absent();
+        }
+
+        return Optional.fromNullable(rebuild().projectsByLocation.get(location));
+    }
+
+    public Optional<IProject> findProjectByName(String name) {
+        Entries entries = getEntries();
+        IProject project = entries.projectsByName.get(name);
+        if (project != null) {
+            if (project.exists() && project.getName().equals(name)) {
+                return Optional.of(project);
+            }
+        } else if (!getWorkspaceRoot().getProject(name).exists()) {
+            return Optional.absent();
+        }
+
+        return Optional.fromNullable(rebuild().projectsByName.get(name));
+    }
+
+    /**
+     * Checks whether the index content matches the current state of the workspace.
+     *
+     * @return the list of inconsistencies, empty if the index is consistent
+     */
+    public synchronized List<String> checkConsistency() {
+        Entries entries = getEntries();
+        List<String> result = new ArrayList<>();
+        IProject[] projects = getWorkspaceRoot().getProjects();
+        for (IProject project : projects) {
+            File location = locationOf(project);
+            if (location != null && !project.equals(entries.projectsByLocation.get(location))) {
+                result.add(String.format("Project %s is not indexed at location %s", project.getName(), location));
+            }
+            if (!project.equals(entries.projectsByName.get(project.getName()))) {
+                result.add(String.format("Project %s is not indexed by its name", project.getName()));
+            }
+        }
+        for (IProject project : entries.locationsByProject.keySet()) {
+            if (!project.exists()) {
+                result.add(String.format("Index contains non-existing project %s", project.getName()));
+            }
+        }
+        if (entries.projectsByName.size() != projects.length) {
+            result.add(String.format("Index contains %d projects, workspace contains %d projects", entries.projectsByName.size(), projects.length));
+        }
+        return result;
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        if (this.entries == null) {
+            return;
+        }
+
+        if (event instanceof ProjectMovedEvent) {
+            ProjectMovedEvent movedEvent = (ProjectMovedEvent) event;
+            remove(getWorkspaceRoot().getProject(movedEvent.getPreviousName()));
+            add(movedEvent.getProject());
+        } else if (event instanceof ProjectDeletedEvent) {
+            remove(((ProjectDeletedEvent) event).getProject());
+        } else if (event instanceof ProjectCreatedEvent || event instanceof ProjectOpenedEvent || event instanceof ProjectClosedEvent) {
+            add(((BaseProjectChangedEvent) event).getProject());
+        }
+    }
+
+    synchronized void add(IProject project) {
+        if (this.entries != null) {
+            this.entries.add(project);
+        }
+    }
+
+    synchronized void remove(IProject project) {
+        if (this.entries != null) {
+            this.entries.remove(project);
+        }
+    }
+
+    private Entries getEntries() {
+        Entries entries = this.entries;
+        return entries != null ? entries : rebuild();
+    }
+
+    private synchronized Entries rebuild() {
+        Entries entries = new Entries();
+        for (IProject project : getWorkspaceRoot().getProjects()) {
+            entries.add(project);
+        }
+        this.entries = entries;
+        return entries;
+    }
+
+    private static boolean isValidLocation(IProject project, File location) {
+        return project.exists() && Objects.equal(locationOf(project), location);
+    }
+
+    private static File locationOf(IProject project) {
+        // since Eclipse 3.4 projects can be non-local and they could return null locations
+        // for Buildship this is not the case, Gradle projects are always available on the
+        // local file system
+        IPath location = project.getLocation();
+        return location == null ? null : location.toFile();
+    }
+
+    private static IWorkspaceRoot getWorkspaceRoot() {
+        return ResourcesPlugin.getWorkspace().getRoot();
+    }
+
+    public static WorkspaceProjectIndex createAndRegister() {
+        WorkspaceProjectIndex index = new WorkspaceProjectIndex();
+        CorePlugin.listenerRegistry().addEventListener(index);
+        return index;
+    }
+
+    public void close() {
+        CorePlugin.listenerRegistry().removeEventListener(this);
+    }
+
+    /**
+     * The indexed projects. The instance is modified only while holding the index's lock.
+     */
+    private static final class Entries {
+
+        private final Map<File, IProject> projectsByLocation = new ConcurrentHashMap<>();
+        private final Map<String, IProject> projectsByName = new ConcurrentHashMap<>();
+        private final Map<IProject, File> locationsByProject = new ConcurrentHashMap<>();
+
+        private void add(IProject project) {
+            remove(project);
+            if (project.exists()) {
+                File location = locationOf(project);
+                if (location != null) {
+                    this.projectsByLocation.put(location, project);
+                    this.locationsByProject.put(project, location);
+                }
+                this.projectsByName.put(project.getName(), project);
+            }
+        }
+
+        private void remove(IProject project) {
+            File location = this.locationsByProject.remove(project);
+            if (location != null) {
+                this.projectsByLocation.remove(location, project);
+            }
+            this.projectsByName.remove(project.getName(), project);
+        }
+    }
+}
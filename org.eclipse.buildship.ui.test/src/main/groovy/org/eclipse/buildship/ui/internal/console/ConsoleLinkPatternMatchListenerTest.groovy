@@ -0,0 +1,73 @@
+package org.eclipse.buildship.ui.internal.console
+
+import java.util.regex.Pattern
+
+import com.google.common.base.Optional
+import spock.lang.Specification
+
+import org.eclipse.jface.text.Document
+import org.eclipse.ui.console.PatternMatchEvent
+import org.eclipse.ui.console.TextConsole
+
+import org.eclipse.buildship.core.internal.CorePlugin
+import org.eclipse.buildship.core.internal.console.ProcessDescription
+import org.eclipse.buildship.core.internal.event.EventDelivery
+import org.eclipse.buildship.core.internal.event.TypedEventListener
+import org.eclipse.buildship.core.internal.scan.BuildScanCreatedEvent
+
+class ConsoleLinkPatternMatchListenerTest extends Specification {
+
+    ConsoleLinkPatternMatchListener listener = new ConsoleLinkPatternMatchListener()
+
+    def "Pattern matches URLs with or without build scan announcement"() {
+        setup:
+        Pattern pattern = Pattern.compile(listener.pattern)
+
+        expect:
+        pattern.matcher(text).find()
+        pattern.matcher(text).with { find(); group() } == text
+
+        where:
+        text << [
+            'https://gradle.org',
+            'Publishing build scan...\nhttps://gradle.com/s/abc',
+            'Publishing build information...\nhttps://scans.gradle.com/s/abc',
+        ]
+    }
+
+    def "URLs are transformed into links"() {
+        setup:
+        String text = 'See https://gradle.org'
+        TextConsole console = Mock(TextConsole)
+        console.getDocument() >> new Document(text)
+        listener.connect(console)
+
+        when:
+        listener.matchFound(new PatternMatchEvent(console, 4, text.length() - 4))
+
+        then:
+        1 * console.addHyperlink({ it.url == 'https://gradle.org' }, 4, 18)
+    }
+
+    def "Build scan URLs are published and linked"() {
+        setup:
+        String text = 'Publishing build scan...\nhttps://gradle.com/s/abc'
+        ProcessDescription processDescription = Mock(ProcessDescription)
+        GradleConsole console = Mock(GradleConsole)
+        console.getDocument() >> new Document(text)
+        console.getProcessDescription() >> Optional.of(processDescription)
+        TypedEventListener<BuildScanCreatedEvent> scanListener = Mock(TypedEventListener)
+        CorePlugin.listenerRegistry().addEventListener(BuildScanCreatedEvent, scanListener, EventDelivery.SYNCHRONOUS)
+        listener.connect(console)
+
+        when:
+        listener.matchFound(new PatternMatchEvent(console, 0, text.length()))
+
+        then:
+        1 * console.addHyperlink({ it.url == 'https://gradle.com/s/abc' }, 25, 24)
+        1 * scanListener.onEvents({ it.size() == 1 && it[0].buildScanUrl == 'https://gradle.com/s/abc' && it[0].processDescription == processDescription })
+
+        cleanup:
+        CorePlugin.listenerRegistry().removeEventListener(scanListener)
+    }
+}
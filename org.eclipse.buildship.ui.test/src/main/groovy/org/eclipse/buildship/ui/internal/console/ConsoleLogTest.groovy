@@ -0,0 +1,120 @@
+package org.eclipse.buildship.ui.internal.console
+
+import java.nio.charset.StandardCharsets
+
+import spock.lang.Specification
+
+import org.eclipse.core.runtime.IProgressMonitor
+import org.eclipse.core.runtime.NullProgressMonitor
+import org.eclipse.core.runtime.OperationCanceledException
+
+class ConsoleLogTest extends Specification {
+
+    ConsoleLog log = ConsoleLog.create('test', StandardCharsets.UTF_8)
+
+    def cleanup() {
+        log.delete()
+    }
+
+    def "Lines are indexed while the output is written"() {
+        when:
+        write('first\nsec')
+        write('ond\r\nthird')
+
+        then:
+        log.lineCount == 3
+        log.getLine(0) == 'first'
+        log.getLine(1) == 'second'
+        log.getLine(2) == 'third'
+    }
+
+    def "Single bytes are written and indexed"() {
+        when:
+        'first\nsecond'.getBytes(StandardCharsets.UTF_8).each { log.write(it) }
+
+        then:
+        log.lineCount == 2
+        log.getLine(0) == 'first'
+        log.getLine(1) == 'second'
+    }
+
+    def "Output spanning multiple write buffers keeps its order"() {
+        setup:
+        String line = ('a'..'z').join('') * 1000
+
+        when:
+        write('first\n')
+        3.times { write(line + '\n') }
+        write('last')
+
+        then:
+        log.lineCount == 5
+        log.getLine(0) == 'first'
+        (1..3).every { log.getLine(it) == line }
+        log.getLine(4) == 'last'
+    }
+
+    def "Content remains readable after the log is closed"() {
+        setup:
+        write('first\nsecond\n')
+
+        when:
+        log.close()
+        write('third\n')
+
+        then:
+        thrown(IOException)
+        log.lineCount == 3
+        log.getLine(1) == 'second'
+        log.getLine(2) == ''
+    }
+
+    def "Lines written after a read are visible"() {
+        setup:
+        write('first\n')
+        log.getLine(0)
+
+        when:
+        write('x' * (100 * 1024) + '\nlast')
+
+        then:
+        log.getLine(1).length() == 64 * 1024
+        log.getLine(2) == 'last'
+    }
+
+    def "Can find lines ignoring the case"() {
+        setup:
+        write('BUILD SUCCESSFUL\n> Task :compileJava\nbuild successful\n')
+
+        expect:
+        log.find('build successful', 0, new NullProgressMonitor()) == 0
+        log.find('build successful', 1, new NullProgressMonitor()) == 2
+        log.find('failed', 0, new NullProgressMonitor()) == -1
+    }
+
+    def "Search can be canceled"() {
+        setup:
+        write('first\nsecond\n')
+        IProgressMonitor monitor = new NullProgressMonitor()
+        monitor.canceled = true
+
+        when:
+        log.find('second', 0, monitor)
+
+        then:
+        thrown(OperationCanceledException)
+    }
+
+    def "Search covers the lines written until it was started"() {
+        setup:
+        write('first\nsec')
+
+        expect:
+        log.find('sec', 0, new NullProgressMonitor()) == 1
+        log.find('second', 0, new NullProgressMonitor()) == -1
+    }
+
+    private void write(String text) {
+        log.write(text.getBytes(StandardCharsets.UTF_8))
+    }
+}
@@ -0,0 +1,145 @@
+package org.eclipse.buildship.ui.internal.console
+
+import spock.lang.Specification
+
+class ConsoleOutputPipelineTest extends Specification {
+
+    List<String> writes = []
+    ByteArrayOutputStream sink = new ByteArrayOutputStream()
+    ConsoleOutputPipeline pipeline = new ConsoleOutputPipeline(sink)
+
+    def cleanup() {
+        pipeline.close()
+    }
+
+    def "Output is buffered until flushed"() {
+        setup:
+        OutputStream stream = pipeline.newStream(target('out'))
+
+        when:
+        stream.write('first '.bytes)
+        stream.write('second'.bytes)
+
+        then:
+        writes.empty
+        sink.toString() == 'first second'
+
+        when:
+        stream.flush()
+
+        then:
+        writes == ['out:first second']
+    }
+
+    def "Consecutive writes to the same stream are forwarded in one chunk and in order"() {
+        setup:
+        OutputStream out = pipeline.newStream(target('out'))
+        OutputStream err = pipeline.newStream(target('err'))
+
+        when:
+        out.write('a'.bytes)
+        out.write('b'.bytes)
+        err.write('c'.bytes)
+        out.write('d'.bytes)
+        pipeline.flush()
+
+        then:
+        writes == ['out:ab', 'err:c', 'out:d']
+    }
+
+    def "Single bytes are written into the current chunk"() {
+        setup:
+        OutputStream out = pipeline.newStream(target('out'))
+
+        when:
+        out.write('a'.bytes)
+        out.write((int) 'b')
+        out.write((int) 'c')
+        pipeline.flush()
+
+        then:
+        writes == ['out:abc']
+        sink.toString() == 'abc'
+    }
+
+    def "Full buffer is forwarded before the next write"() {
+        setup:
+        OutputStream out = pipeline.newStream(target('out'))
+        String firstChunk = 'x' * (60 * 1024)
+
+        when:
+        out.write(firstChunk.bytes)
+        out.write(('y' * (10 * 1024)).bytes)
+
+        then:
+        writes == ["out:$firstChunk".toString()]
+    }
+
+    def "Large writes are forwarded without buffering"() {
+        setup:
+        OutputStream out = pipeline.newStream(target('out'))
+        String large = 'x' * (64 * 1024)
+
+        when:
+        out.write('a'.bytes)
+        out.write(large.bytes)
+
+        then:
+        writes == ['out:a', "out:$large".toString()]
+    }
+
+    def "Buffered output is forwarded after the flush delay"() {
+        setup:
+        OutputStream out = pipeline.newStream(target('out'))
+
+        when:
+        out.write('a'.bytes)
+
+        then:
+        waitFor { writes == ['out:a'] }
+    }
+
+    def "Closing the pipeline forwards the buffered output and closes the sink"() {
+        setup:
+        OutputStream sink = Mock(OutputStream)
+        ConsoleOutputPipeline pipeline = new ConsoleOutputPipeline(sink)
+        OutputStream out = pipeline.newStream(target('out'))
+        out.write('a'.bytes)
+
+        when:
+        pipeline.close()
+
+        then:
+        writes == ['out:a']
+        1 * sink.close()
+
+        when:
+        out.write('b'.bytes)
+
+        then:
+        thrown(IOException)
+    }
+
+    private OutputStream target(String name) {
+        new OutputStream() {
+
+            @Override
+            void write(int b) {
+                writes.add("$name:${(char) b}".toString())
+            }
+
+            @Override
+            void write(byte[] b, int off, int len) {
+                writes.add("$name:${new String(b, off, len)}".toString())
+            }
+        }
+    }
+
+    private static boolean waitFor(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        condition()
+    }
+}
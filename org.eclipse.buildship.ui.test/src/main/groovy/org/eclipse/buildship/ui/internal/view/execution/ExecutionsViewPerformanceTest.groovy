@@ -1,7 +1,9 @@
 package org.eclipse.buildship.ui.internal.view.execution
 
 import org.gradle.tooling.LongRunningOperation
+import org.gradle.tooling.events.FinishEvent
 import org.gradle.tooling.events.OperationDescriptor
+import org.gradle.tooling.events.OperationResult
 import org.gradle.tooling.events.ProgressEvent
 import org.gradle.tooling.events.StartEvent
 
@@ -9,6 +11,8 @@ import org.eclipse.core.runtime.IProgressMonitor
 import org.eclipse.core.runtime.IStatus
 import org.eclipse.core.runtime.Status
 import org.eclipse.core.runtime.jobs.Job
+import org.eclipse.core.runtime.preferences.IEclipsePreferences
+import org.eclipse.core.runtime.preferences.InstanceScope
 import org.eclipse.debug.core.DebugPlugin
 import org.eclipse.debug.core.ILaunchConfiguration
 import org.eclipse.debug.core.ILaunchConfigurationType
@@ -19,6 +23,7 @@ import org.eclipse.ui.PlatformUI
 import org.eclipse.buildship.core.internal.console.ProcessDescription
 import org.eclipse.buildship.core.internal.launch.GradleRunConfigurationAttributes
 import org.eclipse.buildship.core.internal.launch.GradleRunConfigurationDelegate
+import org.eclipse.buildship.ui.internal.UiPlugin
 import org.eclipse.buildship.ui.internal.test.fixtures.ProjectSynchronizationSpecification
 import org.eclipse.buildship.ui.internal.util.workbench.WorkbenchUtils
 import org.eclipse.buildship.ui.internal.view.execution.ExecutionsView
@@ -52,6 +57,47 @@ class ExecutionsViewPerformanceTest extends ProjectSynchronizationSpecification
             runOnUiThread { view.removeAllPages() }
         }
 
+    def "Executions view can efficiently replay large number of progress events under one node"(boolean virtual) {
+        setup:
+        preferences.putBoolean('executionsView.virtual', virtual)
+        LongRunningOperation operation = Mock(LongRunningOperation)
+        OperationResult result = Stub(OperationResult)
+        TestDescriptor testClass = new TestDescriptor('test class', null)
+        List<ProgressEvent> events = [new TestStartEvent(testClass)]
+        List<TestDescriptor> testMethods = (1..50000).collect { new TestDescriptor("test method $it", testClass) }
+        testMethods.each { events << new TestStartEvent(it) }
+        testMethods.each { events << new TestFinishEvent(it, result) }
+
+        when:
+        runOnUiThread { view.addExecutionPage(processDescription(), operation) }
+        ExecutionPage page = view.pages[0]
+        long start = System.currentTimeMillis()
+        runOnUiThread {
+            events.collate(1000).each { batch ->
+                batch.each { page.onProgress(it) }
+                page.refreshChangedItems()
+            }
+        }
+        long end = System.currentTimeMillis()
+
+        then:
+        end - start < 30000
+        OperationItem root = page.pageControl.viewer.input
+        root.children.size() == 1
+        root.children[0].children.size() == 50000
+
+        cleanup:
+        runOnUiThread { view.removeAllPages() }
+        preferences.remove('executionsView.virtual')
+
+        where:
+        virtual << [false, true]
+    }
+
+    private static IEclipsePreferences getPreferences() {
+        InstanceScope.INSTANCE.getNode(UiPlugin.PLUGIN_ID)
+    }
+
     private ProcessDescription processDescription() {
         Stub(ProcessDescription) {
             getName() >> 'test-process-description-name'
@@ -76,6 +122,51 @@ class ExecutionsViewPerformanceTest extends ProjectSynchronizationSpecification
         descriptor
     }
 
+    static class TestDescriptor implements OperationDescriptor {
+
+        final String name
+        final OperationDescriptor parent
+
+        TestDescriptor(String name, OperationDescriptor parent) {
+            this.name = name
+            this.parent = parent
+        }
+
+        String getDisplayName() {
+            name
+        }
+    }
+
+    static class TestStartEvent implements StartEvent {
+
+        final OperationDescriptor descriptor
+        final long eventTime = System.currentTimeMillis()
+
+        TestStartEvent(OperationDescriptor descriptor) {
+            this.descriptor = descriptor
+        }
+
+        String getDisplayName() {
+            descriptor.displayName + ' started'
+        }
+    }
+
+    static class TestFinishEvent implements FinishEvent {
+
+        final OperationDescriptor descriptor
+        final OperationResult result
+        final long eventTime = System.currentTimeMillis()
+
+        TestFinishEvent(OperationDescriptor descriptor, OperationResult result) {
+            this.descriptor = descriptor
+            this.result = result
+        }
+
+        String getDisplayName() {
+            descriptor.displayName + ' finished'
+        }
+    }
+
     class EmptyJob extends Job {
 
         EmptyJob() {
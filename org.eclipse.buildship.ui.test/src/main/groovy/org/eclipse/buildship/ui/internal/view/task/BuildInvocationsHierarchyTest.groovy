@@ -0,0 +1,118 @@
+package org.eclipse.buildship.ui.internal.view.task
+
+import java.lang.management.ManagementFactory
+
+import org.gradle.tooling.model.GradleProject
+import org.gradle.tooling.model.GradleTask
+import org.gradle.tooling.model.internal.ImmutableDomainObjectSet
+import spock.lang.Specification
+
+import org.eclipse.buildship.core.internal.util.gradle.Path
+
+class BuildInvocationsHierarchyTest extends Specification {
+
+    def "Task selectors select the tasks of deep project hierarchies"() {
+        setup:
+        GradleProject root = project(':', [], [chain(1, 50, 100)])
+
+        when:
+        Map<Path, BuildInvocations> invocations = BuildInvocations.collectAll(root)
+
+        then:
+        invocations.size() == 51
+        invocations[Path.from(':')].taskSelectors.size() == 100
+        selector(invocations, ':', 'task0').selectedTaskPaths*.path == (1..50).collect { chainPath(it) + ':task0' }
+        selector(invocations, ':p1:p2', 'task99').selectedTaskPaths*.path == (2..50).collect { chainPath(it) + ':task99' }
+        selector(invocations, chainPath(50), 'task0').selectedTaskPaths*.path == [chainPath(50) + ':task0']
+    }
+
+    def "Task selectors select the tasks of wide project hierarchies"() {
+        setup:
+        List<GradleProject> children = (1..400).collect { project(":p$it", tasks(":p$it", 100) + [task(":p$it", "unique$it")], []) }
+        GradleProject root = project(':', tasks(':', 100), children)
+
+        when:
+        Map<Path, BuildInvocations> invocations = BuildInvocations.collectAll(root)
+
+        then:
+        invocations.size() == 401
+        invocations[Path.from(':')].taskSelectors.size() == 500
+        selector(invocations, ':', 'task0').selectedTaskPaths.first().path == ':task0'
+        selector(invocations, ':', 'task0').selectedTaskPaths*.path as Set == ([':task0'] + (1..400).collect { ":p$it:task0" }) as Set
+        selector(invocations, ':', 'unique1').selectedTaskPaths*.path == [':p1:unique1']
+        selector(invocations, ':p1', 'unique1').selectedTaskPaths*.path == [':p1:unique1']
+    }
+
+    def "Task selectors of deep project hierarchies are computed in linear time"() {
+        setup:
+        // both hierarchies contain the same projects and tasks, hence the same number of model accesses;
+        // the projects have short paths, so that comparing the task paths takes constant time
+        int numOfProjects = 1000
+        GradleProject deep = project(':', tasks(':', 5), [shortPathChain(numOfProjects, 5)])
+        GradleProject wide = project(':', tasks(':', 5), (1..numOfProjects).collect { project(":p$it", tasks(":p$it", 5), []) })
+        BuildInvocations.collectAll(deep)
+        BuildInvocations.collectAll(wide)
+
+        when:
+        long deepAllocation = allocatedBytes { BuildInvocations.collectAll(deep) }
+        long wideAllocation = allocatedBytes { BuildInvocations.collectAll(wide) }
+
+        then:
+        // copying the task paths of the subtrees into every ancestor would allocate quadratically in the depth
+        deepAllocation < 2 * wideAllocation
+    }
+
+    private static long allocatedBytes(Closure<?> action) {
+        def threadMXBean = ManagementFactory.threadMXBean
+        long threadId = Thread.currentThread().id
+        long before = threadMXBean.getThreadAllocatedBytes(threadId)
+        action.call()
+        threadMXBean.getThreadAllocatedBytes(threadId) - before
+    }
+
+    private static TaskSelector selector(Map<Path, BuildInvocations> invocations, String projectPath, String name) {
+        invocations[Path.from(projectPath)].taskSelectors.find { it.name == name }
+    }
+
+    private static String chainPath(int depth) {
+        (1..depth).collect { ":p$it" }.join('')
+    }
+
+    private GradleProject chain(int depth, int maxDepth, int numOfTasks) {
+        String path = chainPath(depth)
+        List<GradleProject> children = depth < maxDepth ? [chain(depth + 1, maxDepth, numOfTasks)] : []
+        project(path, tasks(path, numOfTasks), children)
+    }
+
+    private GradleProject shortPathChain(int maxDepth, int numOfTasks) {
+        // built bottom-up, so deep hierarchies don't overflow the stack
+        GradleProject result = null
+        for (int depth = maxDepth; depth >= 1; depth--) {
+            result = project(":p$depth", tasks(":p$depth", numOfTasks), result == null ? [] : [result])
+        }
+        result
+    }
+
+    private List<GradleTask> tasks(String projectPath, int numOfTasks) {
+        (0..<numOfTasks).collect { task(projectPath, "task$it") }
+    }
+
+    private GradleTask task(String projectPath, String taskName) {
+        String taskPath = projectPath == ':' ? ":$taskName" : "$projectPath:$taskName"
+        Stub(GradleTask) {
+            getName() >> taskName
+            getPath() >> taskPath
+            getDescription() >> ''
+            getGroup() >> 'other'
+            isPublic() >> false
+        }
+    }
+
+    private GradleProject project(String projectPath, List<GradleTask> tasks, List<GradleProject> children) {
+        Stub(GradleProject) {
+            getPath() >> projectPath
+            getTasks() >> ImmutableDomainObjectSet.of(tasks)
+            getChildren() >> ImmutableDomainObjectSet.of(children)
+        }
+    }
+}
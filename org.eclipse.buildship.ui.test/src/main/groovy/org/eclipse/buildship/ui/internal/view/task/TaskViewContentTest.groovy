@@ -176,6 +176,30 @@ class TaskViewContentTest extends BaseTaskViewTest {
         waitFor { taskTree.collect { k, v -> k } == ['a'] }
     }
 
+    def "Reloading a single build keeps the tasks of the other builds"() {
+        given:
+        def first = dir("a") { file 'build.gradle' }
+        def second = dir("b") { file 'build.gradle' }
+        importAndWait(first)
+        importAndWait(second)
+        waitForTaskView()
+        fileTree(second) {
+            file 'build.gradle', """
+                task foo() {
+                    group = 'custom'
+                }
+            """
+        }
+
+        when:
+        view.reload(FetchStrategy.FORCE_RELOAD, second)
+        waitForTaskView()
+
+        then:
+        waitFor { taskTree.b.custom.contains('foo') }
+        waitFor { taskTree.a }
+    }
+
     def "Subprojects should be under the parent project's folder when not showing flatten project hierarchy"() {
         given:
         view.state.projectHierarchyFlattened = false
@@ -36,6 +36,7 @@ import org.eclipse.buildship.core.internal.TraceScope;
 import org.eclipse.buildship.core.internal.console.ProcessStreamsProvider;
 import org.eclipse.buildship.core.internal.launch.GradleLaunchConfigurationManager;
 import org.eclipse.buildship.core.internal.util.logging.EclipseLogger;
+import org.eclipse.buildship.ui.internal.console.ConsoleHistory;
 import org.eclipse.buildship.ui.internal.console.ConsoleProcessStreamsProvider;
 import org.eclipse.buildship.ui.internal.launch.ConsoleShowingLaunchListener;
 import org.eclipse.buildship.ui.internal.launch.UiGradleLaunchConfigurationManager;
@@ -64,11 +65,13 @@ public final class UiPlugin extends AbstractUIPlugin {
     private ConsoleShowingLaunchListener consoleShowingLaunchListener;
     private ExecutionShowingLaunchRequestListener executionShowingLaunchRequestListener;
     private ShutdownListener shutdownListener;
+    private ConsoleHistory consoleHistory;
 
     @Override
     public void start(BundleContext context) throws Exception {
         super.start(context);
         plugin = this;
+        this.consoleHistory = new ConsoleHistory();
         registerServices(context);
         registerListeners();
     }
@@ -77,6 +80,7 @@ public final class UiPlugin extends AbstractUIPlugin {
     public void stop(BundleContext context) throws Exception {
         unregisterListeners();
         unregisterServices();
+        this.consoleHistory.dispose();
         plugin = null;
         super.stop(context);
     }
@@ -150,6 +154,10 @@ public final class UiPlugin extends AbstractUIPlugin {
         return getService(getInstance().loggerService.getReference());
     }
 
+    public static ConsoleHistory consoleHistory() {
+        return getInstance().consoleHistory;
+    }
+
     private static <T> T getService(ServiceReference reference) {
         return (T) reference.getBundle().getBundleContext().getService(reference);
     }
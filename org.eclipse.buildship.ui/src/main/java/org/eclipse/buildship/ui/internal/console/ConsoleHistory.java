@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.internal.console;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.google.common.collect.ImmutableList;
+
+
+/**
+ * Keeps the logs of the removed Gradle consoles, so their output remains browsable after the
+ * console content is released. The number of kept logs is defined by
+ * {@link ConsolePreferences#getHistorySize()}; the oldest logs are deleted first.
+ */
+public final class ConsoleHistory {
+
+    private final Deque<ConsoleLog> logs = new ArrayDeque<>();
+    private boolean disposed = false;
+
+    synchronized void add(ConsoleLog log) {
+        if (this.disposed) {
+            log.delete();
+            return;
+        }
+
+        this.logs.addFirst(log);
+        int historySize = ConsolePreferences.getHistorySize();
+        while (this.logs.size() > historySize) {
+            this.logs.removeLast().delete();
+        }
+    }
+
+    /**
+     * Returns the kept logs, the most recent first.
+     *
+     * @return the kept logs
+     */
+    synchronized ImmutableList<ConsoleLog> getLogs() {
+        return ImmutableList.copyOf(this.logs);
+    }
+
+    /**
+     * Deletes all kept logs.
+     */
+    public synchronized void dispose() {
+        this.disposed = true;
+        for (ConsoleLog log : this.logs) {
+            log.delete();
+        }
+        this.logs.clear();
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.internal.console;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.Dialog;
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Text;
+
+import org.eclipse.buildship.ui.internal.UiPlugin;
+
+/**
+ * Dialog presenting the content of {@link ConsoleLog} instances.
+ * <p/>
+ * The lines are shown in a virtual table, so only the visible lines are read from the log. The
+ * logs are searched in a background job.
+ */
+public final class ConsoleHistoryDialog extends Dialog {
+
+    private final ImmutableList<ConsoleLog> logs;
+
+    private Combo logCombo;
+    private Text findText;
+    private Button findNextButton;
+    private Label findStatusLabel;
+    private Table lineTable;
+
+    private ConsoleLog selectedLog;
+    private SearchJob searchJob;
+
+    ConsoleHistoryDialog(Shell parent, List<ConsoleLog> logs) {
+        super(parent);
+        this.logs = ImmutableList.copyOf(logs);
+        this.selectedLog = this.logs.isEmpty() ? null : this.logs.get(0);
+        setShellStyle(SWT.DIALOG_TRIM | SWT.RESIZE | SWT.APPLICATION_MODAL);
+    }
+
+    @Override
+    protected void configureShell(Shell shell) {
+        super.configureShell(shell);
+        shell.setText(ConsoleMessages.Dialog_ConsoleHistory_Title);
+    }
+
+    @Override
+    protected Control createDialogArea(Composite parent) {
+        Composite container = (Composite) super.createDialogArea(parent);
+        container.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
+        container.setLayout(new GridLayout(4, false));
+
+        Label logLabel = new Label(container, SWT.NONE);
+        logLabel.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 1, 1));
+        logLabel.setText(ConsoleMessages.Dialog_ConsoleHistory_Console_Label);
+
+        this.logCombo = new Combo(container, SWT.READ_ONLY);
+        this.logCombo.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 3, 1));
+        for (ConsoleLog log : this.logs) {
+            this.logCombo.add(log.getName());
+        }
+
+        Label findLabel = new Label(container, SWT.NONE);
+        findLabel.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 1, 1));
+        findLabel.setText(ConsoleMessages.Dialog_ConsoleHistory_Find_Label);
+
+        this.findText = new Text(container, SWT.BORDER);
+        this.findText.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 1, 1));
+
+        this.findNextButton = new Button(container, SWT.PUSH);
+        this.findNextButton.setLayoutData(new GridData(SWT.RIGHT, SWT.CENTER, false, false, 1, 1));
+        this.findNextButton.setText(ConsoleMessages.Dialog_ConsoleHistory_FindNext_Button);
+
+        this.findStatusLabel = new Label(container, SWT.NONE);
+        GridData findStatusLayoutData = new GridData(SWT.LEFT, SWT.CENTER, false, false, 1, 1);
+        findStatusLayoutData.widthHint = convertWidthInCharsToPixels(20);
+        this.findStatusLabel.setLayoutData(findStatusLayoutData);
+
+        this.lineTable = new Table(container, SWT.VIRTUAL | SWT.BORDER | SWT.FULL_SELECTION | SWT.H_SCROLL | SWT.V_SCROLL);
+        GridData lineTableLayoutData = new GridData(SWT.FILL, SWT.FILL, true, true, 4, 1);
+        lineTableLayoutData.widthHint = convertWidthInCharsToPixels(120);
+        lineTableLayoutData.heightHint = convertHeightInCharsToPixels(30);
+        this.lineTable.setLayoutData(lineTableLayoutData);
+        this.lineTable.setFont(JFaceResources.getTextFont());
+
+        initEventListeners();
+        if (this.selectedLog != null) {
+            this.logCombo.select(0);
+        }
+        update();
+
+        return container;
+    }
+
+    private void initEventListeners() {
+        this.logCombo.addSelectionListener(new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                int index = ConsoleHistoryDialog.this.logCombo.getSelectionIndex();
+                ConsoleHistoryDialog.this.selectedLog = index < 0 ? null : ConsoleHistoryDialog.this.logs.get(index);
+                update();
+            }
+        });
+
+        this.findNextButton.addSelectionListener(new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                findNext();
+            }
+        });
+
+        this.findText.addSelectionListener(new SelectionAdapter() {
+
+            @Override
+            public void widgetDefaultSelected(SelectionEvent e) {
+                findNext();
+            }
+        });
+
+        this.lineTable.addListener(SWT.SetData, new Listener() {
+
+            @Override
+            public void handleEvent(Event event) {
+                TableItem item = (TableItem) event.item;
+                item.setText(readLine(ConsoleHistoryDialog.this.lineTable.indexOf(item)));
+            }
+        });
+    }
+
+    private void update() {
+        cancelSearch();
+        this.lineTable.removeAll();
+        this.lineTable.setItemCount(this.selectedLog == null ? 0 : this.selectedLog.getLineCount());
+        this.findText.setEnabled(this.selectedLog != null);
+        this.findNextButton.setEnabled(this.selectedLog != null);
+        this.findStatusLabel.setText(""); //$NON-NLS-1$
+    }
+
+    private String readLine(int index) {
+        try {
+            return this.selectedLog.getLine(index);
+        } catch (IOException | IllegalStateException e) {
+            UiPlugin.logger().warn(String.format("Cannot read line %d of console log %s.", index, this.selectedLog.getName()), e);
+            return ""; //$NON-NLS-1$
+        }
+    }
+
+    private void findNext() {
+        String text = this.findText.getText();
+        if (this.selectedLog == null || text.isEmpty()) {
+            return;
+        }
+
+        // pick up the output written since the dialog was opened
+        this.lineTable.setItemCount(this.selectedLog.getLineCount());
+
+        cancelSearch();
+        this.searchJob = new SearchJob(this.selectedLog, text, this.lineTable.getSelectionIndex() + 1);
+        this.searchJob.schedule();
+        this.findStatusLabel.setText(ConsoleMessages.Dialog_ConsoleHistory_Searching_Label);
+    }
+
+    private void cancelSearch() {
+        if (this.searchJob != null) {
+            this.searchJob.cancel();
+            this.searchJob = null;
+        }
+    }
+
+    private void showSearchResult(SearchJob job, int found) {
+        // ignore the results of the searches replaced or canceled in the meantime
+        if (this.searchJob != job || this.lineTable.isDisposed()) {
+            return;
+        }
+        this.searchJob = null;
+
+        if (found >= 0) {
+            this.lineTable.setItemCount(Math.max(this.lineTable.getItemCount(), found + 1));
+            this.lineTable.setSelection(found);
+            this.lineTable.showSelection();
+            this.findStatusLabel.setText(""); //$NON-NLS-1$
+        } else {
+            this.findStatusLabel.setText(ConsoleMessages.Dialog_ConsoleHistory_NotFound_Label);
+        }
+    }
+
+    @Override
+    public boolean close() {
+        cancelSearch();
+        return super.close();
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent) {
+        createButton(parent, IDialogConstants.OK_ID, IDialogConstants.CLOSE_LABEL, false);
+    }
+
+    static ConsoleHistoryDialog forConsole(Shell parent, GradleConsole console) {
+        Preconditions.checkNotNull(console);
+        List<ConsoleLog> logs = new ArrayList<>(UiPlugin.consoleHistory().getLogs());
+        Optional<ConsoleLog> consoleLog = console.getLog();
+        if (consoleLog.isPresent() && !logs.contains(consoleLog.get())) {
+            logs.add(0, consoleLog.get());
+        }
+        return new ConsoleHistoryDialog(parent, logs);
+    }
+
+    /**
+     * Searches the selected log in the background and shows the result in the dialog.
+     */
+    private final class SearchJob extends Job {
+
+        private final ConsoleLog log;
+        private final String text;
+        private final int fromIndex;
+        private final Display display;
+
+        SearchJob(ConsoleLog log, String text, int fromIndex) {
+            super("Search console log " + log.getName());
+            this.log = log;
+            this.text = text;
+            this.fromIndex = fromIndex;
+            this.display = ConsoleHistoryDialog.this.lineTable.getDisplay();
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            int found;
+            try {
+                found = this.log.find(this.text, this.fromIndex, monitor);
+            } catch (OperationCanceledException e) {
+                return Status.CANCEL_STATUS;
+            } catch (IOException | IllegalStateException e) {
+                UiPlugin.logger().warn(String.format("Cannot search console log %s.", this.log.getName()), e);
+                found = -1;
+            }
+
+            final int result = found;
+            if (!this.display.isDisposed()) {
+                this.display.asyncExec(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        showSearchResult(SearchJob.this, result);
+                    }
+                });
+            }
+            return Status.OK_STATUS;
+        }
+    }
+}
@@ -8,6 +8,10 @@
 package org.eclipse.buildship.ui.internal.console;
 
 import java.net.URL;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Optional;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.ui.PlatformUI;
@@ -17,16 +21,22 @@ import org.eclipse.ui.console.PatternMatchEvent;
 import org.eclipse.ui.console.TextConsole;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.console.ProcessDescription;
+import org.eclipse.buildship.core.internal.scan.BuildScanCreatedEvent;
 import org.eclipse.buildship.core.internal.util.string.PatternUtils;
 
 /**
- * Transforms all URLs to clickable links in the target console.
+ * Transforms all URLs to clickable links in the target console and collects the build scan URLs.
  * <p/>
- * When clicked, the URLs are opened in the external browser.
+ * When clicked, the URLs are opened in the external browser. The URLs and the build scan
+ * announcements are found with a single pattern, so the console output is scanned only once.
  *
  * @author Donat Csikos
  */
-public final class UrlPatternMatchListener implements IPatternMatchListener {
+public final class ConsoleLinkPatternMatchListener implements IPatternMatchListener {
+
+    private static final String BUILD_SCAN_PREFIX_PATTERN = "(Publishing build (?:information|scan).*\\s+)?";
+    private static final Pattern LINK_PATTERN = Pattern.compile(BUILD_SCAN_PREFIX_PATTERN + PatternUtils.WEB_URL_PATTERN);
 
     private TextConsole console;
 
@@ -45,15 +55,34 @@ public final class UrlPatternMatchListener implements IPatternMatchListener {
         try {
             int offset = event.getOffset();
             int length = event.getLength();
-            final String url = this.console.getDocument().get(offset, length);
-            this.console.addHyperlink(new Hyperlink(url), offset, length);
+            String text = this.console.getDocument().get(offset, length);
+            Matcher matcher = LINK_PATTERN.matcher(text);
+            if (!matcher.matches()) {
+                return;
+            }
+
+            int urlStart = matcher.end(1) < 0 ? 0 : matcher.end(1);
+            String url = text.substring(urlStart);
+            this.console.addHyperlink(new Hyperlink(url), offset + urlStart, length - urlStart);
+            if (matcher.group(1) != null) {
+                publishBuildScan(url);
+            }
         } catch (BadLocationException e) {
         }
     }
 
+    private void publishBuildScan(String buildScanUrl) {
+        if (this.console instanceof GradleConsole) {
+            Optional<ProcessDescription> description = ((GradleConsole) this.console).getProcessDescription();
+            if (description.isPresent()) {
+                CorePlugin.listenerRegistry().dispatch(new BuildScanCreatedEvent(buildScanUrl, description.get()));
+            }
+        }
+    }
+
     @Override
     public String getPattern() {
-        return PatternUtils.WEB_URL_PATTERN;
+        return LINK_PATTERN.pattern();
     }
 
     @Override
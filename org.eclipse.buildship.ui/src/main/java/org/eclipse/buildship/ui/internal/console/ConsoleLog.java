@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.internal.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+/**
+ * Append-only, disk-backed log of the output of a Gradle console.
+ * <p/>
+ * The output is written to a temporary file and the start offset of each line is recorded in an
+ * index. The lines are read through a memory-mapped window of the file, so the log can be browsed
+ * and searched without loading the output into the heap. Closing the log only stops writing, the
+ * content stays readable until the log is deleted.
+ */
+final class ConsoleLog extends OutputStream {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long MAPPING_SIZE = 64L * 1024 * 1024;
+    private static final int MAXIMUM_LINE_LENGTH = 64 * 1024;
+
+    private final String name;
+    private final File file;
+    private final Charset charset;
+    private final FileChannel channel;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+    private long size = 0;
+    private long[] lineOffsets = new long[1024];
+    private int lineCount = 1;
+    private MappedByteBuffer mapping;
+    private long mappingStart;
+    private boolean closed = false;
+    private boolean deleted = false;
+
+    private ConsoleLog(String name, File file, Charset charset, FileChannel channel) {
+        this.name = Preconditions.checkNotNull(name);
+        this.file = Preconditions.checkNotNull(file);
+        this.charset = Preconditions.checkNotNull(charset);
+        this.channel = Preconditions.checkNotNull(channel);
+    }
+
+    /**
+     * Creates a new, empty log in a temporary file.
+     *
+     * @param name the name of the log
+     * @param charset the encoding of the logged output
+     * @return the new log
+     * @throws IOException if the file can't be created
+     */
+    static ConsoleLog create(String name, Charset charset) throws IOException {
+        File file = File.createTempFile("gradle-console", ".log");
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new ConsoleLog(name, file, charset, channel);
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        checkNotClosed();
+        if (b == '\n') {
+            addLine(this.size + 1);
+        }
+
+        if (!this.writeBuffer.hasRemaining()) {
+            flushWriteBuffer();
+        }
+        this.writeBuffer.put((byte) b);
+        this.size++;
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+        checkNotClosed();
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] == '\n') {
+                addLine(this.size + i - offset + 1);
+            }
+        }
+
+        int position = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            if (!this.writeBuffer.hasRemaining()) {
+                flushWriteBuffer();
+            }
+            int chunk = Math.min(remaining, this.writeBuffer.remaining());
+            this.writeBuffer.put(bytes, position, chunk);
+            this.size += chunk;
+            position += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    private void checkNotClosed() throws IOException {
+        if (this.closed) {
+            throw new IOException(String.format("Console log %s is closed", this.name));
+        }
+    }
+
+    private void addLine(long offset) {
+        if (this.lineCount == this.lineOffsets.length) {
+            this.lineOffsets = Arrays.copyOf(this.lineOffsets, this.lineCount * 2);
+        }
+        this.lineOffsets[this.lineCount++] = offset;
+    }
+
+    private void flushWriteBuffer() throws IOException {
+        // the buffered bytes are always the last bytes of the log
+        long position = this.size - this.writeBuffer.position();
+        this.writeBuffer.flip();
+        while (this.writeBuffer.hasRemaining()) {
+            position += this.channel.write(this.writeBuffer, position);
+        }
+        this.writeBuffer.clear();
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (!this.closed && this.writeBuffer.position() > 0) {
+            flushWriteBuffer();
+        }
+    }
+
+    /**
+     * Stops writing to the log. The content remains readable until the log is deleted.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!this.closed) {
+            flush();
+            this.closed = true;
+        }
+    }
+
+    /**
+     * Returns the number of lines in the log. The last line is the one currently written, i.e.
+     * it's empty if the output ends with a line separator.
+     *
+     * @return the number of lines
+     */
+    synchronized int getLineCount() {
+        return this.lineCount;
+    }
+
+    /**
+     * Reads a line of the log without the line separator. Lines longer than 64K bytes are
+     * truncated.
+     *
+     * @param index the index of the line
+     * @return the content of the line
+     * @throws IOException if the log can't be read
+     */
+    synchronized String getLine(int index) throws IOException {
+        Preconditions.checkElementIndex(index, this.lineCount);
+        Preconditions.checkState(!this.deleted, "Console log %s is deleted", this.name);
+        flush();
+
+        long start = this.lineOffsets[index];
+        long end = index + 1 < this.lineCount ? this.lineOffsets[index + 1] : this.size;
+        int length = (int) Math.min(end - start, MAXIMUM_LINE_LENGTH);
+        return decodeLine(map(start, length), length);
+    }
+
+    private String decodeLine(ByteBuffer content, int length) {
+        byte[] bytes = new byte[length];
+        content.get(bytes);
+        while (length > 0 && (bytes[length - 1] == '\n' || bytes[length - 1] == '\r')) {
+            length--;
+        }
+        return new String(bytes, 0, length, this.charset);
+    }
+
+    private ByteBuffer map(long start, int length) throws IOException {
+        if (this.mapping == null || start < this.mappingStart || start + length > this.mappingStart + this.mapping.capacity()) {
+            long mappingLength = Math.max(length, Math.min(MAPPING_SIZE, this.size - start));
+            this.mapping = this.channel.map(FileChannel.MapMode.READ_ONLY, start, mappingLength);
+            this.mappingStart = start;
+        }
+        ByteBuffer result = this.mapping.duplicate();
+        result.position((int) (start - this.mappingStart));
+        result.limit(result.position() + length);
+        return result;
+    }
+
+    /**
+     * Finds the first line containing the given text, ignoring the case.
+     * <p/>
+     * The search covers the lines written until the invocation and reads the file through its own
+     * mapping, so it doesn't block the writes to the log.
+     *
+     * @param text the text to search for
+     * @param fromIndex the index of the first line to search
+     * @param monitor the monitor to report the progress and to check for cancellation
+     * @return the index of the first matching line, or -1 if no line matches
+     * @throws IOException if the log can't be read
+     * @throws OperationCanceledException if the search is canceled
+     */
+    int find(String text, int fromIndex, IProgressMonitor monitor) throws IOException {
+        long[] lineOffsets;
+        int lineCount;
+        long size;
+        synchronized (this) {
+            Preconditions.checkState(!this.deleted, "Console log %s is deleted", this.name);
+            flush();
+            // the recorded offsets are never modified, only the array is replaced when it grows
+            lineOffsets = this.lineOffsets;
+            lineCount = this.lineCount;
+            size = this.size;
+        }
+
+        int firstLine = Math.max(0, fromIndex);
+        SubMonitor progress = SubMonitor.convert(monitor, Math.max(0, lineCount - firstLine));
+        String searchedText = text.toLowerCase(Locale.ROOT);
+        MappedByteBuffer window = null;
+        long windowStart = 0;
+        for (int i = firstLine; i < lineCount; i++) {
+            if (progress.isCanceled()) {
+                throw new OperationCanceledException();
+            }
+            progress.worked(1);
+            long start = lineOffsets[i];
+            long end = i + 1 < lineCount ? lineOffsets[i + 1] : size;
+            int length = (int) Math.min(end - start, MAXIMUM_LINE_LENGTH);
+            if (window == null || start + length > windowStart + window.capacity()) {
+                window = this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.max(length, Math.min(MAPPING_SIZE, size - start)));
+                windowStart = start;
+            }
+            ByteBuffer content = window.duplicate();
+            content.position((int) (start - windowStart));
+            content.limit(content.position() + length);
+            if (decodeLine(content, length).toLowerCase(Locale.ROOT).contains(searchedText)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Closes the log and deletes its file.
+     */
+    synchronized void delete() {
+        if (this.deleted) {
+            return;
+        }
+        this.deleted = true;
+        this.closed = true;
+        this.mapping = null;
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            // the file is deleted anyway
+        }
+        // mapped files can't be deleted on Windows until the mapping is garbage collected, such files are deleted on exit
+        if (!this.file.delete()) {
+            this.file.deleteOnExit();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -24,6 +24,14 @@ public final class ConsoleMessages extends NLS {
 
     public static String Action_RemoveTerminatedConsole_Tooltip;
     public static String Action_RemoveAllTerminatedConsoles_Tooltip;
+    public static String Action_ShowConsoleHistory_Tooltip;
+
+    public static String Dialog_ConsoleHistory_Title;
+    public static String Dialog_ConsoleHistory_Console_Label;
+    public static String Dialog_ConsoleHistory_Find_Label;
+    public static String Dialog_ConsoleHistory_FindNext_Button;
+    public static String Dialog_ConsoleHistory_NotFound_Label;
+    public static String Dialog_ConsoleHistory_Searching_Label;
 
     static {
         // initialize resource bundle
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.internal.console;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Buffers the output written to the streams of a console and forwards it in large chunks.
+ * <p/>
+ * The Tooling API writes the build output in small pieces, and each write to a console stream
+ * triggers a document update and a pattern matching pass. The pipeline collects the writes of all
+ * streams in one buffer, preserving their order, and forwards them when the buffer is full or when
+ * no flush happened during the flush delay. Consecutive writes to the same stream are forwarded in
+ * one chunk. A single write is never split, so multi-byte characters are never broken up.
+ * <p/>
+ * Every write is also forwarded to the optional sink, e.g. to keep the complete output in a file
+ * while the console retains only the last part of it.
+ */
+final class ConsoleOutputPipeline {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final long FLUSH_DELAY_MILLIS = 100;
+
+    private final byte[] buffer = new byte[CHUNK_SIZE];
+    private int count = 0;
+    private OutputStream[] segmentTargets = new OutputStream[8];
+    private int[] segmentEnds = new int[8];
+    private int segmentCount = 0;
+
+    private final OutputStream sink;
+    private final FlushJob flushJob = new FlushJob();
+    private boolean closed = false;
+
+    /**
+     * Creates a new pipeline.
+     *
+     * @param sink the stream receiving all the output, can be {@code null}
+     */
+    ConsoleOutputPipeline(OutputStream sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Returns a new stream forwarding the written output through this pipeline to the target.
+     *
+     * @param target the target stream
+     * @return the new stream
+     */
+    OutputStream newStream(OutputStream target) {
+        return new PipelineStream(Preconditions.checkNotNull(target));
+    }
+
+    private synchronized void write(OutputStream target, byte[] bytes, int offset, int length) throws IOException {
+        if (this.closed) {
+            throw new IOException("Console output pipeline is closed");
+        }
+        if (length == 0) {
+            return;
+        }
+
+        if (this.sink != null) {
+            this.sink.write(bytes, offset, length);
+        }
+
+        if (length > this.buffer.length - this.count) {
+            flushBuffer();
+        }
+
+        if (length >= this.buffer.length) {
+            target.write(bytes, offset, length);
+        } else {
+            if (this.segmentCount == 0 || this.segmentTargets[this.segmentCount - 1] != target) {
+                addSegment(target);
+            }
+            System.arraycopy(bytes, offset, this.buffer, this.count, length);
+            this.count += length;
+            this.segmentEnds[this.segmentCount - 1] = this.count;
+            if (this.flushJob.getState() == Job.NONE) {
+                this.flushJob.schedule(FLUSH_DELAY_MILLIS);
+            }
+        }
+    }
+
+    private synchronized void write(OutputStream target, int b) throws IOException {
+        if (this.closed) {
+            throw new IOException("Console output pipeline is closed");
+        }
+
+        if (this.sink != null) {
+            this.sink.write(b);
+        }
+
+        if (this.count == this.buffer.length) {
+            flushBuffer();
+        }
+
+        if (this.segmentCount == 0 || this.segmentTargets[this.segmentCount - 1] != target) {
+            addSegment(target);
+        }
+        this.buffer[this.count++] = (byte) b;
+        this.segmentEnds[this.segmentCount - 1] = this.count;
+        if (this.flushJob.getState() == Job.NONE) {
+            this.flushJob.schedule(FLUSH_DELAY_MILLIS);
+        }
+    }
+
+    private void addSegment(OutputStream target) {
+        if (this.segmentCount == this.segmentTargets.length) {
+            this.segmentTargets = Arrays.copyOf(this.segmentTargets, this.segmentCount * 2);
+            this.segmentEnds = Arrays.copyOf(this.segmentEnds, this.segmentCount * 2);
+        }
+        this.segmentTargets[this.segmentCount] = target;
+        this.segmentEnds[this.segmentCount] = this.count;
+        this.segmentCount++;
+    }
+
+    private void flushBuffer() throws IOException {
+        int start = 0;
+        try {
+            for (int i = 0; i < this.segmentCount; i++) {
+                int end = this.segmentEnds[i];
+                this.segmentTargets[i].write(this.buffer, start, end - start);
+                start = end;
+            }
+        } finally {
+            // drop the buffered output also if a target is closed, the content can't be written anymore
+            Arrays.fill(this.segmentTargets, 0, this.segmentCount, null);
+            this.segmentCount = 0;
+            this.count = 0;
+        }
+    }
+
+    /**
+     * Forwards the buffered output to the target streams and flushes them.
+     *
+     * @throws IOException if the output can't be written
+     */
+    synchronized void flush() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        flushBuffer();
+        if (this.sink != null) {
+            this.sink.flush();
+        }
+    }
+
+    /**
+     * Flushes the buffered output and closes the sink. The target streams are not closed.
+     *
+     * @throws IOException if the output can't be written
+     */
+    synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.flushJob.cancel();
+        try {
+            flushBuffer();
+        } finally {
+            this.closed = true;
+            if (this.sink != null) {
+                this.sink.close();
+            }
+        }
+    }
+
+    /**
+     * Stream writing to the pipeline.
+     */
+    private final class PipelineStream extends OutputStream {
+
+        private final OutputStream target;
+
+        private PipelineStream(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ConsoleOutputPipeline.this.write(this.target, b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ConsoleOutputPipeline.this.write(this.target, b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ConsoleOutputPipeline.this.flush();
+            this.target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            ConsoleOutputPipeline.this.flush();
+            this.target.close();
+        }
+    }
+
+    /**
+     * Forwards the output that has been buffered for longer than the flush delay.
+     */
+    private final class FlushJob extends Job {
+
+        FlushJob() {
+            super("Flush console output");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            try {
+                flush();
+            } catch (IOException ignore) {
+                // the console streams are closed when the console is removed while the build is still running
+            }
+            return Status.OK_STATUS;
+        }
+    }
+}
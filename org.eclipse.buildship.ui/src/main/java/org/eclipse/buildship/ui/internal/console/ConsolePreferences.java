@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.internal.console;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
+
+import org.eclipse.buildship.ui.internal.UiPlugin;
+
+/**
+ * Hidden preferences of the Gradle consoles, stored in the preferences of the UI plugin.
+ */
+final class ConsolePreferences {
+
+    private static final String CONSOLE_MAXIMUM_SIZE = "console.maximumSize"; //$NON-NLS-1$
+    private static final String CONSOLE_HISTORY_SIZE = "console.historySize"; //$NON-NLS-1$
+
+    private ConsolePreferences() {
+    }
+
+    /**
+     * Returns the maximum number of characters retained in a Gradle console. The console discards
+     * the oldest output when the limit is reached; the complete output remains available in the
+     * console history. If the value is {@code 0} (the default) then the console retains all output.
+     *
+     * @return the maximum size of the Gradle consoles
+     */
+    static int getMaximumSize() {
+        return Math.max(0, readInt(CONSOLE_MAXIMUM_SIZE, 0));
+    }
+
+    /**
+     * Returns the number of removed Gradle consoles whose output is kept on disk and remains
+     * browsable in the console history. If the value is {@code 0} then the output is deleted when
+     * the console is removed.
+     *
+     * @return the size of the console history
+     */
+    static int getHistorySize() {
+        return Math.max(0, readInt(CONSOLE_HISTORY_SIZE, 10));
+    }
+
+    private static int readInt(String key, int defaultValue) {
+        IPreferencesService service = Platform.getPreferencesService();
+        return service == null ? defaultValue : service.getInt(UiPlugin.PLUGIN_ID, key, defaultValue, null);
+    }
+}
@@ -14,6 +14,7 @@ package org.eclipse.buildship.ui.internal.console;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.Charset;
 
 import com.google.common.base.Optional;
 
@@ -41,6 +42,12 @@ import org.eclipse.buildship.ui.internal.UiPlugin;
  *
  * Note that once a console is removed, all open streams managed by the console will be closed
  * automatically, thus there is no need for us to close these streams explicitly here.
+ * <p/>
+ * The output is written to the console through a {@link ConsoleOutputPipeline} coalescing the
+ * small writes of the Tooling API. The console retains at most the number of characters defined by
+ * {@link ConsolePreferences#getMaximumSize()}. The complete output of a process is also
+ * written to a {@link ConsoleLog}, which is handed over to the {@link ConsoleHistory} when the
+ * console is removed.
  */
 public final class GradleConsole extends IOConsole implements ProcessStreams {
 
@@ -49,6 +56,11 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
     private final IOConsoleOutputStream outputStream;
     private final IOConsoleOutputStream errorStream;
     private final IOConsoleInputStream inputStream;
+    private final Optional<ConsoleLog> log;
+    private final ConsoleOutputPipeline pipeline;
+    private final OutputStream configurationPipelineStream;
+    private final OutputStream outputPipelineStream;
+    private final OutputStream errorPipelineStream;
 
     public GradleConsole(String name) {
         this(name, Optional.<ProcessDescription>absent());
@@ -67,11 +79,18 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
         this.errorStream = newOutputStream();
         this.inputStream = super.getInputStream();
 
-        // decorate console output such that URLs are presented as clickable links
-        addPatternMatchListener(new UrlPatternMatchListener());
+        int maximumSize = ConsolePreferences.getMaximumSize();
+        if (maximumSize > 0) {
+            setWaterMarks(maximumSize - maximumSize / 5, maximumSize);
+        }
+        this.log = processDescription.isPresent() ? createLog(name, getEncoding()) : Optional.<ConsoleLog>absent();
+        this.pipeline = new ConsoleOutputPipeline(this.log.orNull());
+        this.configurationPipelineStream = this.pipeline.newStream(this.configurationStream);
+        this.outputPipelineStream = this.pipeline.newStream(this.outputStream);
+        this.errorPipelineStream = this.pipeline.newStream(this.errorStream);
 
-        // collect build scan URL
-        addPatternMatchListener(new BuildScanPatternMatchListener());
+        // decorate console output such that URLs are presented as clickable links and collect build scan URL
+        addPatternMatchListener(new ConsoleLinkPatternMatchListener());
 
         // set proper colors on output/error streams (needs to happen in the UI thread)
         PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
@@ -101,10 +120,37 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
         });
     }
 
+    private static Optional<ConsoleLog> createLog(String name, String encoding) {
+        try {
+            Charset charset = encoding != null ? Charset.forName(encoding) : Charset.defaultCharset();
+            return Optional.of(ConsoleLog.create(name, charset));
+        } catch (IOException | IllegalArgumentException e) {
+            UiPlugin.logger().warn(String.format("Cannot create log for console %s.", name), e);
+            return Optional.absent();
+        }
+    }
+
     public Optional<ProcessDescription> getProcessDescription() {
         return this.processDescription;
     }
 
+    /**
+     * Returns the log containing the complete output of the console, including the output
+     * discarded because of the console size limit.
+     *
+     * @return the log of the console, or absent if the console output isn't logged
+     */
+    Optional<ConsoleLog> getLog() {
+        if (this.log.isPresent()) {
+            try {
+                this.pipeline.flush();
+            } catch (IOException e) {
+                UiPlugin.logger().warn(String.format("Cannot flush output of console %s.", getName()), e);
+            }
+        }
+        return this.log;
+    }
+
     public boolean isTerminated() {
         return this.processDescription.isPresent() && this.processDescription.get().getJob().getState() == Job.NONE;
     }
@@ -115,17 +161,17 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
 
     @Override
     public OutputStream getConfiguration() {
-        return this.configurationStream;
+        return this.configurationPipelineStream;
     }
 
     @Override
     public OutputStream getOutput() {
-        return this.outputStream;
+        return this.outputPipelineStream;
     }
 
     @Override
     public OutputStream getError() {
-        return this.errorStream;
+        return this.errorPipelineStream;
     }
 
     @Override
@@ -137,6 +183,11 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
     public void close() {
         Exception e = null;
 
+        try {
+            this.pipeline.close();
+        } catch (IOException ioe) {
+            e = ioe;
+        }
         try {
             this.configurationStream.flush();
             this.configurationStream.close();
@@ -167,4 +218,17 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
             throw new GradlePluginsRuntimeException(message, e);
         }
     }
+
+    @Override
+    protected void dispose() {
+        super.dispose();
+        try {
+            this.pipeline.close();
+        } catch (IOException e) {
+            // the console streams are already closed
+        }
+        if (this.log.isPresent()) {
+            UiPlugin.consoleHistory().add(this.log.get());
+        }
+    }
 }
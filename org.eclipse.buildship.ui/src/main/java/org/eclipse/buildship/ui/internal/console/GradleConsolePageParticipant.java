@@ -27,6 +27,7 @@ public final class GradleConsolePageParticipant implements IConsolePageParticipa
     private RerunBuildExecutionAction rerunBuildExecutionAction;
     private RemoveTerminatedGradleConsoleAction removeConsoleAction;
     private RemoveAllTerminatedGradleConsolesAction removeAllConsolesAction;
+    private ShowConsoleHistoryAction showConsoleHistoryAction;
 
     /**
      * {@inheritDoc}
@@ -37,9 +38,12 @@ public final class GradleConsolePageParticipant implements IConsolePageParticipa
     public void init(IPageBookViewPage page, IConsole console) {
         if (console instanceof GradleConsole) {
             GradleConsole gradleConsole = (GradleConsole) console;
+            IToolBarManager toolBarManager = page.getSite().getActionBars().getToolBarManager();
             if (gradleConsole.isCloseable()) {
-                addActionsToToolbar(page.getSite().getActionBars().getToolBarManager(), gradleConsole);
+                addActionsToToolbar(toolBarManager, gradleConsole);
             }
+            this.showConsoleHistoryAction = new ShowConsoleHistoryAction(gradleConsole);
+            toolBarManager.appendToGroup(IConsoleConstants.OUTPUT_GROUP, this.showConsoleHistoryAction);
         }
     }
 
@@ -89,6 +93,10 @@ public final class GradleConsolePageParticipant implements IConsolePageParticipa
             this.removeAllConsolesAction.dispose();
             this.removeAllConsolesAction = null;
         }
+        if (this.showConsoleHistoryAction != null) {
+            this.showConsoleHistoryAction.dispose();
+            this.showConsoleHistoryAction = null;
+        }
     }
 
 }
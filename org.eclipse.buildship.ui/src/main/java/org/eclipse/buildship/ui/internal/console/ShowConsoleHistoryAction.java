@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.internal.console;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Opens the {@link ConsoleHistoryDialog} presenting the complete output of a {@link GradleConsole}
+ * and of the recently removed consoles.
+ */
+public final class ShowConsoleHistoryAction extends Action {
+
+    private final GradleConsole gradleConsole;
+
+    public ShowConsoleHistoryAction(GradleConsole gradleConsole) {
+        this.gradleConsole = Preconditions.checkNotNull(gradleConsole);
+
+        setToolTipText(ConsoleMessages.Action_ShowConsoleHistory_Tooltip);
+        setImageDescriptor(PlatformUI.getWorkbench().getSharedImages().getImageDescriptor(ISharedImages.IMG_OBJ_FILE));
+    }
+
+    @Override
+    public void run() {
+        ConsoleHistoryDialog.forConsole(PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell(), this.gradleConsole).open();
+    }
+
+    public void dispose() {
+    }
+
+}
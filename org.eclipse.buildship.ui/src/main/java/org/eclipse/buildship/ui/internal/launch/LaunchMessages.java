@@ -35,6 +35,7 @@ public final class LaunchMessages extends NLS {
     public static String Button_Label_BrowseFilesystem;
     public static String Button_Label_BrowseWorkspace;
     public static String Button_Label_SelectVariables;
+    public static String Button_Label_ExecuteContinuously;
 
     public static String ErrorMessage_CannotResolveExpression_0;
 
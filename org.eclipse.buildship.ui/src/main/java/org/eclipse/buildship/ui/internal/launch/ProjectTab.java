@@ -63,6 +63,7 @@ public final class ProjectTab extends AbstractLaunchConfigurationTab {
     private final Validator<File> workingDirValidator;
 
     private Text tasksText;
+    private Button continuousCheckbox;
     private Text workingDirectoryText;
 
     public ProjectTab() {
@@ -107,6 +108,10 @@ public final class ProjectTab extends AbstractLaunchConfigurationTab {
         tasksTextLayoutData.heightHint = 50;
         this.tasksText.setLayoutData(tasksTextLayoutData);
         this.tasksText.addModifyListener(new DialogUpdater());
+
+        this.continuousCheckbox = new Button(container, SWT.CHECK);
+        this.continuousCheckbox.setText(LaunchMessages.Button_Label_ExecuteContinuously);
+        this.continuousCheckbox.addSelectionListener(new DialogUpdater());
     }
 
     private void createWorkingDirectorySelectionControl(Composite container) {
@@ -188,12 +193,14 @@ public final class ProjectTab extends AbstractLaunchConfigurationTab {
     public void initializeFrom(ILaunchConfiguration configuration) {
         GradleRunConfigurationAttributes configurationAttributes = GradleRunConfigurationAttributes.from(configuration);
         this.tasksText.setText(CollectionsUtils.joinWithSpace(configurationAttributes.getTasks()));
+        this.continuousCheckbox.setSelection(GradleRunConfigurationAttributes.isContinuous(configuration));
         this.workingDirectoryText.setText(Strings.nullToEmpty(configurationAttributes.getWorkingDirExpression()));
     }
 
     @Override
     public void performApply(ILaunchConfigurationWorkingCopy configuration) {
         GradleRunConfigurationAttributes.applyTasks(CollectionsUtils.splitBySpace(this.tasksText.getText()), configuration);
+        GradleRunConfigurationAttributes.applyContinuous(this.continuousCheckbox.getSelection(), configuration);
         GradleRunConfigurationAttributes.applyWorkingDirExpression(this.workingDirectoryText.getText(), configuration);
     }
 
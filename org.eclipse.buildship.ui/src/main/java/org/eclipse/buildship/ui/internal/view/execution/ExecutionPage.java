@@ -40,9 +40,7 @@ import org.eclipse.jface.action.Separator;
 import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.DelegatingStyledCellLabelProvider;
 import org.eclipse.jface.viewers.DoubleClickEvent;
-import org.eclipse.jface.viewers.IContentProvider;
 import org.eclipse.jface.viewers.IDoubleClickListener;
-import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.TreeViewerColumn;
 import org.eclipse.swt.SWT;
@@ -70,6 +68,10 @@ import org.eclipse.buildship.ui.internal.view.ShowFilterAction;
 
 /**
  * Displays the tree of a single build execution.
+ * <p/>
+ * If {@link ExecutionsViewPreferences#isVirtual()} is set then the page uses a virtual
+ * tree: tree items are only created for the visible rows, and the updates only touch the rows
+ * that exist and the child counts of the nodes that received new children.
  */
 @SuppressWarnings({"rawtypes", "unchecked"})
 public final class ExecutionPage extends BasePage<FilteredTree> implements NodeSelectionProvider {
@@ -80,6 +82,10 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
     private final Map<OperationDescriptor, OperationItem> allItems;
     private final Set<OperationItem> activeItems;
     private final Set<OperationItem> removedItems;
+    private final boolean virtual;
+    private final Set<OperationItem> newItems;
+    private final Set<OperationItem> grownParents;
+    private final Set<OperationItem> shrunkParents;
 
     private FilteredTree filteredTree;
     private SelectionHistoryManager selectionHistoryManager;
@@ -96,6 +102,10 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
         this.allItems = Maps.newHashMap();
         this.activeItems = Sets.newHashSet();
         this.removedItems = Sets.newHashSet();
+        this.virtual = ExecutionsViewPreferences.isVirtual();
+        this.newItems = Sets.newHashSet();
+        this.grownParents = Sets.newHashSet();
+        this.shrunkParents = Sets.newHashSet();
     }
 
     public ProcessDescription getProcessDescription() {
@@ -110,10 +120,17 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
     @Override
     public FilteredTree createPageWithResult(Composite parent) {
         // configure tree
-        this.filteredTree = new FilteredTree(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL, new PatternFilter(true));
+        int treeStyle = SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | (this.virtual ? SWT.VIRTUAL : SWT.NONE);
+        this.filteredTree = new FilteredTree(parent, treeStyle, new PatternFilter(true));
         this.filteredTree.setShowFilterControls(false);
         this.filteredTree.getViewer().getTree().setHeaderVisible(true);
-        this.filteredTree.getViewer().setContentProvider(new ExecutionPageContentProvider());
+        if (this.virtual) {
+            // lazy tree viewers don't support filters
+            this.filteredTree.getViewer().resetFilters();
+            this.filteredTree.getViewer().setContentProvider(new ExecutionPageLazyContentProvider(this.filteredTree.getViewer()));
+        } else {
+            this.filteredTree.getViewer().setContentProvider(new ExecutionPageContentProvider());
+        }
         this.filteredTree.getViewer().setUseHashlookup(true);
 
         this.nameColumn = new TreeViewerColumn(this.filteredTree.getViewer(), SWT.NONE);
@@ -186,17 +203,20 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
             return;
         }
         OperationItem operationItem = this.allItems.get(descriptor);
-        if (null == operationItem) {
+        boolean isNew = null == operationItem;
+        if (isNew) {
             operationItem = new OperationItem((StartEvent) progressEvent);
             this.allItems.put(descriptor, operationItem);
             this.activeItems.add(operationItem);
+            this.newItems.add(operationItem);
         } else {
             operationItem.setFinishEvent((FinishEvent) progressEvent);
             this.removedItems.add(operationItem);
-            if (isJvmTestSuite(descriptor) && operationItem.getChildren().isEmpty()) {
+            if (isJvmTestSuite(descriptor) && !operationItem.hasChildren()) {
                 // do not display test suite nodes that have no children (unwanted artifacts from Gradle)
                 OperationItem parentOperationItem = this.allItems.get(findFirstNonExcludedParent(descriptor));
                 parentOperationItem.removeChild(operationItem);
+                this.shrunkParents.add(parentOperationItem);
                 return;
             }
         }
@@ -204,6 +224,9 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
         // attach to (first non-excluded) parent, if this is a new operation (in case of StartEvent)
         OperationItem parentExecutionItem = this.allItems.get(findFirstNonExcludedParent(descriptor));
         parentExecutionItem.addChild(operationItem);
+        if (isNew) {
+            this.grownParents.add(parentExecutionItem);
+        }
     }
 
     private boolean isExcluded(OperationDescriptor descriptor) {
@@ -226,16 +249,41 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
 
     public void refreshChangedItems() {
         TreeViewer viewer = this.filteredTree.getViewer();
-        for (OperationItem item : Sets.union(this.activeItems, this.removedItems)) {
-            viewer.update(item, null);
-            if (shouldBeVisible(item)) {
-                viewer.expandToLevel(item, 0);
+        if (this.virtual) {
+            refreshVirtualTree(viewer);
+        } else {
+            for (OperationItem item : Sets.union(this.activeItems, this.removedItems)) {
+                viewer.update(item, null);
+                if (shouldBeVisible(item)) {
+                    viewer.expandToLevel(item, 0);
+                }
             }
+            viewer.refresh(false);
         }
-        viewer.refresh(false);
 
         this.activeItems.removeAll(this.removedItems);
         this.removedItems.clear();
+        this.newItems.clear();
+        this.grownParents.clear();
+        this.shrunkParents.clear();
+    }
+
+    private void refreshVirtualTree(TreeViewer viewer) {
+        for (OperationItem parent : this.grownParents) {
+            viewer.setChildCount(parent, parent.getChildCount());
+        }
+        for (OperationItem parent : this.shrunkParents) {
+            // the indices of the remaining children changed
+            viewer.refresh(parent, false);
+        }
+        for (OperationItem item : Sets.union(this.activeItems, this.removedItems)) {
+            // the update is a no-op for the items without a tree item, i.e. for rows not created yet
+            viewer.update(item, null);
+            boolean becameVisible = this.newItems.contains(item) || (this.removedItems.contains(item) && isFailedOperation(item));
+            if (becameVisible && shouldBeVisible(item)) {
+                viewer.expandToLevel(item, 0);
+            }
+        }
     }
 
     private boolean shouldBeVisible(OperationItem item) {
@@ -288,7 +336,9 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
         IToolBarManager toolbarManager = actionBars.getToolBarManager();
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new ExpandAllTreeNodesAction(getPageControl().getViewer()));
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new CollapseAllTreeNodesAction(getPageControl().getViewer()));
-        toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new ShowFilterAction(getPageControl()));
+        if (!this.virtual) {
+            toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new ShowFilterAction(getPageControl()));
+        }
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new Separator());
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new SwitchToConsoleViewAction(this));
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new Separator());
@@ -339,8 +389,7 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
                 } else if (nodeSelection.isSingleSelection()) {
                     Object selected = nodeSelection.toList().get(0);
                     TreeViewer viewer = getPageControl().getViewer();
-                    IContentProvider provider = viewer.getContentProvider();
-                    if (provider instanceof ITreeContentProvider && ((ITreeContentProvider) provider).hasChildren(selected)) {
+                    if (selected instanceof OperationItem && ((OperationItem) selected).hasChildren()) {
                         if (viewer.getExpandedState(selected)) {
                             viewer.collapseToLevel(selected, AbstractTreeViewer.ALL_LEVELS);
                         } else {
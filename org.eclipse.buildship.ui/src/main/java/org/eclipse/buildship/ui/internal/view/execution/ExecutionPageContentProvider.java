@@ -33,7 +33,7 @@ public class ExecutionPageContentProvider implements ITreeContentProvider {
 
     @Override
     public boolean hasChildren(Object element) {
-        return element instanceof OperationItem ? !((OperationItem)element).getChildren().isEmpty() : false;
+        return element instanceof OperationItem ? ((OperationItem)element).hasChildren() : false;
     }
 
     @Override
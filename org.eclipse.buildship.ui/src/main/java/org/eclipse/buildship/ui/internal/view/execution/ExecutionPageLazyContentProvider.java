@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.internal.view.execution;
+
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+
+/**
+ * Content provider for virtual {@link ExecutionPage} instances. The viewer only requests the
+ * elements of the rows that become visible.
+ */
+public final class ExecutionPageLazyContentProvider implements ILazyTreeContentProvider {
+
+    private final TreeViewer viewer;
+
+    public ExecutionPageLazyContentProvider(TreeViewer viewer) {
+        this.viewer = Preconditions.checkNotNull(viewer);
+    }
+
+    @Override
+    public void updateElement(Object parent, int index) {
+        List<OperationItem> children = ((OperationItem) parent).getChildren();
+        if (index < children.size()) {
+            OperationItem child = children.get(index);
+            this.viewer.replace(parent, index, child);
+            this.viewer.setChildCount(child, child.getChildCount());
+        }
+    }
+
+    @Override
+    public void updateChildCount(Object element, int currentChildCount) {
+        int childCount = element instanceof OperationItem ? ((OperationItem) element).getChildCount() : 0;
+        if (childCount != currentChildCount) {
+            this.viewer.setChildCount(element, childCount);
+        }
+    }
+
+    @Override
+    public Object getParent(Object element) {
+        return element instanceof OperationItem ? ((OperationItem) element).getParent() : null;
+    }
+
+    @Override
+    public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.internal.view.execution;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
+
+import org.eclipse.buildship.ui.internal.UiPlugin;
+
+/**
+ * Hidden preferences of the Executions view, stored in the preferences of the UI plugin.
+ */
+final class ExecutionsViewPreferences {
+
+    private static final String VIRTUAL_EXECUTIONS_VIEW = "executionsView.virtual"; //$NON-NLS-1$
+
+    private ExecutionsViewPreferences() {
+    }
+
+    /**
+     * Returns whether the pages of the Executions view create tree items only for the visible
+     * rows. The virtual pages stay responsive for builds with tens of thousands of operations, but
+     * they don't support filtering.
+     *
+     * @return {@code true} if the Executions view pages are virtual
+     */
+    static boolean isVirtual() {
+        IPreferencesService service = Platform.getPreferencesService();
+        return service != null && service.getBoolean(UiPlugin.PLUGIN_ID, VIRTUAL_EXECUTIONS_VIEW, false, null);
+    }
+}
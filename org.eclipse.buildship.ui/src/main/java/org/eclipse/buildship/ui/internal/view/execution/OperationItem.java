@@ -11,15 +11,17 @@
 
 package org.eclipse.buildship.ui.internal.view.execution;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.gradle.tooling.events.FinishEvent;
 import org.gradle.tooling.events.OperationDescriptor;
 import org.gradle.tooling.events.StartEvent;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.Platform;
@@ -43,6 +45,14 @@ import org.eclipse.buildship.ui.internal.view.ObservableItem;
  *     }
  * }
  * </pre>
+ * <p>
+ * The children are kept in a list and in a set, so adding a child takes constant time also for
+ * nodes with tens of thousands of children (e.g. the test methods of a test class). Removed
+ * children are searched from the end of the list, as usually the last added child is removed.
+ * Since the class doesn't override {@code equals()}, the children are identified by identity. The
+ * list returned by {@link #getChildren()} is a read-only view, which reflects the later changes of
+ * the children.
+ * </p>
  */
 public final class OperationItem extends ObservableItem implements IAdaptable {
 
@@ -50,20 +60,20 @@ public final class OperationItem extends ObservableItem implements IAdaptable {
     private FinishEvent finishEvent;
     private String name;
     private OperationItem parent;
-    private List<OperationItem> children;
+    private final Set<OperationItem> children = Sets.newHashSet();
+    private final List<OperationItem> childList = Lists.newArrayList();
+    private final List<OperationItem> childrenView = Collections.unmodifiableList(this.childList);
 
     public OperationItem() {
         this.startEvent = null;
         this.finishEvent = null;
         this.name = null;
-        this.children = Lists.newArrayList();
     }
 
     public OperationItem(StartEvent startEvent) {
         this.startEvent = Preconditions.checkNotNull(startEvent);
         this.finishEvent = null;
         this.name = startEvent.getDescriptor().getDisplayName();
-        this.children = Lists.newArrayList();
     }
 
     public StartEvent getStartEvent() {
@@ -83,7 +93,15 @@ public final class OperationItem extends ObservableItem implements IAdaptable {
     }
 
     public List<OperationItem> getChildren() {
-        return ImmutableList.copyOf(this.children);
+        return this.childrenView;
+    }
+
+    public int getChildCount() {
+        return this.children.size();
+    }
+
+    public boolean hasChildren() {
+        return !this.children.isEmpty();
     }
 
     public OperationItem getParent() {
@@ -91,26 +109,16 @@ public final class OperationItem extends ObservableItem implements IAdaptable {
     }
 
     public void addChild(OperationItem operationItem) {
-        if (!this.children.contains(operationItem)) {
-            List<OperationItem> children = Lists.newArrayList(this.children);
-            children.add(operationItem);
-            setChildren(children);
+        if (this.children.add(operationItem)) {
+            operationItem.parent = this;
+            this.childList.add(operationItem);
         }
     }
 
     public void removeChild(OperationItem operationItem) {
-        if (this.children.contains(operationItem)) {
-            List<OperationItem> children = Lists.newArrayList(this.children);
-            children.remove(operationItem);
-            setChildren(children);
-        }
-    }
-
-    private void setChildren(List<OperationItem> children) {
-        for (OperationItem child : children) {
-            child.parent = this;
+        if (this.children.remove(operationItem)) {
+            this.childList.remove(this.childList.lastIndexOf(operationItem));
         }
-        this.children = children;
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
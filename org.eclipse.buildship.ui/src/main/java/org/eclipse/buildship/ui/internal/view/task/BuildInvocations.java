@@ -8,28 +8,22 @@
 
 package org.eclipse.buildship.ui.internal.view.task;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.SortedMap;
-import java.util.SortedSet;
+import java.util.TreeMap;
 
 import org.gradle.tooling.model.GradleProject;
 import org.gradle.tooling.model.GradleTask;
 
-import com.google.common.base.Preconditions;
-import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.ImmutableMultimap.Builder;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.ImmutableSortedSet;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Ordering;
-import com.google.common.collect.Sets;
-import com.google.common.collect.TreeBasedTable;
 
 import org.eclipse.buildship.core.internal.util.gradle.Path;
 
@@ -57,100 +51,127 @@ class BuildInvocations {
     }
 
     public static Map<Path, BuildInvocations> collectAll(GradleProject project) {
-        ImmutableMultimap<Path, ProjectTask> projectTasks = getAllProjectTasksByProjectPath(project);
-        ImmutableMultimap<Path, TaskSelector> taskSelectors = getAllTaskSelectorsByProjectPath(project);
-        return buildBuildInvocationsMapping(project, projectTasks, taskSelectors);
+        ImmutableSortedMap.Builder<Path, BuildInvocations> mapping = ImmutableSortedMap.orderedBy(Path.Comparator.INSTANCE);
+        collectAll(project, mapping);
+        return mapping.build();
     }
 
-    private static ImmutableMultimap<Path, ProjectTask> getAllProjectTasksByProjectPath(GradleProject project) {
-        Builder<Path, ProjectTask> tasks = ImmutableMultimap.builder();
-
+    /*
+     * Visits the project hierarchy bottom-up and registers the build invocations of each project in
+     * the mapping. Returns the task selector aggregates of the visited subtree, so the parent can
+     * compute its own selectors by merging the aggregates of its children instead of revisiting all
+     * tasks of the subtree. Projects without tasks get an empty build invocations instance, so the
+     * caller never gets back null for any project in the hierarchy.
+     */
+    private static SortedMap<String, TaskSelectorAggregate> collectAll(GradleProject project, ImmutableSortedMap.Builder<Path, BuildInvocations> mapping) {
+        Path projectPath = Path.from(project.getPath());
+        SortedMap<String, List<TaskSelectorAggregate>> aggregatesByName = new TreeMap<>();
+
+        // the tasks of the project have the shortest paths, hence they come first
+        ImmutableList.Builder<ProjectTask> projectTasks = ImmutableList.builder();
         for (GradleTask task : project.getTasks()) {
-            tasks.put(Path.from(project.getPath()), ProjectTask.from(task));
+            ProjectTask projectTask = ProjectTask.from(task);
+            projectTasks.add(projectTask);
+            addAggregate(aggregatesByName, projectTask.getName(), TaskSelectorAggregate.from(projectTask));
         }
 
-        for (GradleProject child : project.getChildren()) {
-            tasks.putAll(getAllProjectTasksByProjectPath(child));
+        for (GradleProject childProject : project.getChildren()) {
+            for (Map.Entry<String, TaskSelectorAggregate> childAggregate : collectAll(childProject, mapping).entrySet()) {
+                addAggregate(aggregatesByName, childAggregate.getKey(), childAggregate.getValue());
+            }
+        }
+
+        SortedMap<String, TaskSelectorAggregate> result = new TreeMap<>();
+        ImmutableList.Builder<TaskSelector> taskSelectors = ImmutableList.builder();
+        for (Map.Entry<String, List<TaskSelectorAggregate>> entry : aggregatesByName.entrySet()) {
+            TaskSelectorAggregate aggregate = TaskSelectorAggregate.merge(entry.getValue());
+            result.put(entry.getKey(), aggregate);
+            taskSelectors.add(aggregate.toTaskSelector(entry.getKey(), projectPath));
         }
 
-        return tasks.build();
+        mapping.put(projectPath, new BuildInvocations(projectTasks.build(), taskSelectors.build()));
+        return result;
     }
 
-    private static ImmutableMultimap<Path, TaskSelector> getAllTaskSelectorsByProjectPath(GradleProject project) {
-        Builder<Path, TaskSelector> taskSelectors = ImmutableMultimap.builder();
-        TreeBasedTable<String, Path, ProjectTask> tasksByNameAndPath = getAllProjectTasksByNameAndPath(project);
+    private static void addAggregate(Map<String, List<TaskSelectorAggregate>> aggregatesByName, String name, TaskSelectorAggregate aggregate) {
+        List<TaskSelectorAggregate> aggregates = aggregatesByName.get(name);
+        if (aggregates == null) {
+            aggregates = new ArrayList<>(1);
+            aggregatesByName.put(name, aggregates);
+        }
+        aggregates.add(aggregate);
+    }
 
-        for (String selectorName : tasksByNameAndPath.rowKeySet()) {
-            SortedMap<Path, ProjectTask> tasksByPath = tasksByNameAndPath.row(selectorName);
-            ProjectTask taskWithShortestPath = tasksByPath.get(tasksByPath.firstKey());
-            boolean isPublic = Iterables.any(tasksByPath.values(), new Predicate<ProjectTask>() {
+    /**
+     * The tasks with the same name in a project subtree. An aggregate only keeps the task with the
+     * shortest path and references the aggregates it was merged from, so the ancestors share the
+     * aggregates of their subtrees instead of copying their task paths. The paths are collected
+     * once, when a task selector first requests them.
+     */
+    private static final class TaskSelectorAggregate {
+
+        private final ProjectTask taskWithShortestPath;
+        private final boolean isPublic;
+        private final int size;
+        private final ImmutableList<TaskSelectorAggregate> parts;
+        private final Supplier<ImmutableSortedSet<Path>> paths;
+
+        private TaskSelectorAggregate(ProjectTask taskWithShortestPath, boolean isPublic, int size, ImmutableList<TaskSelectorAggregate> parts) {
+            this.taskWithShortestPath = taskWithShortestPath;
+            this.isPublic = isPublic;
+            this.size = size;
+            this.parts = parts;
+            this.paths = Suppliers.memoize(new Supplier<ImmutableSortedSet<Path>>() {
 
                 @Override
-                public boolean apply(ProjectTask input) {
-                    return input.isPublic();
+                public ImmutableSortedSet<Path> get() {
+                    return collectPaths();
                 }
             });
-            SortedSet<Path> selectedPaths = ImmutableSortedSet.copyOf(tasksByPath.comparator(), tasksByPath.keySet());
-
-            TaskSelector taskSelector = TaskSelector
-                    .from(selectorName, taskWithShortestPath.getDescription(), Path.from(project.getPath()), isPublic, taskWithShortestPath.getGroup(), selectedPaths);
-
-            taskSelectors.put(Path.from(project.getPath()), taskSelector);
-        }
-
-        for (GradleProject childProject : project.getChildren()) {
-            taskSelectors.putAll(getAllTaskSelectorsByProjectPath(childProject));
-        }
-
-        return taskSelectors.build();
-    }
-
-    private static TreeBasedTable<String, Path, ProjectTask> getAllProjectTasksByNameAndPath(GradleProject project) {
-        TreeBasedTable<String, Path, ProjectTask> tasks = TreeBasedTable.create(Ordering.natural(), Path.Comparator.INSTANCE);
-        for (GradleTask task : project.getTasks()) {
-            ProjectTask projectTask = ProjectTask.from(task);
-            tasks.put(projectTask.getName(), projectTask.getPath(), projectTask);
         }
 
-        for (GradleProject childProject : project.getChildren()) {
-            tasks.putAll(getAllProjectTasksByNameAndPath(childProject));
+        private TaskSelector toTaskSelector(String name, Path projectPath) {
+            return TaskSelector.from(name, this.taskWithShortestPath.getDescription(), projectPath, this.isPublic, this.taskWithShortestPath.getGroup(), this.paths);
         }
-        return tasks;
-    }
 
-    private static ImmutableSortedMap<Path, BuildInvocations> buildBuildInvocationsMapping(GradleProject project, Multimap<Path, ProjectTask> projectTasks,
-            Multimap<Path, TaskSelector> taskSelectors) {
-        Preconditions.checkState(taskSelectors.keySet().containsAll(projectTasks.keySet()), "Task selectors are always configured for all projects");
-
-        // create mappings for all projects which contain tasks selectors (which covers at least
-        // those projects that contain project tasks)
-        ImmutableSortedMap.Builder<Path, BuildInvocations> mapping = ImmutableSortedMap.orderedBy(Path.Comparator.INSTANCE);
-        for (Path projectPath : taskSelectors.keySet()) {
-            ImmutableList<ProjectTask> projectTasksOfProject = ImmutableList.copyOf(projectTasks.get(projectPath));
-            ImmutableList<TaskSelector> taskSelectorsOfProject = ImmutableList.copyOf(taskSelectors.get(projectPath));
-            mapping.put(projectPath, new BuildInvocations(projectTasksOfProject, taskSelectorsOfProject));
+        private ImmutableSortedSet<Path> collectPaths() {
+            List<Path> paths = new ArrayList<>(this.size);
+            Deque<TaskSelectorAggregate> remaining = new ArrayDeque<>();
+            remaining.push(this);
+            while (!remaining.isEmpty()) {
+                TaskSelectorAggregate aggregate = remaining.pop();
+                if (aggregate.parts.isEmpty()) {
+                    paths.add(aggregate.taskWithShortestPath.getPath());
+                } else {
+                    for (TaskSelectorAggregate part : aggregate.parts) {
+                        remaining.push(part);
+                    }
+                }
+            }
+            return ImmutableSortedSet.copyOf(Path.Comparator.INSTANCE, paths);
         }
 
-        // create additional mappings for all those projects which do not contain any task selectors
-        // this is the case if a project does not contain any tasks nor does any of its child
-        // projects these additional mappings ensure the caller never gets back null for any project
-        // in the hierarchy
-        Set<Path> projectsWithoutTaskSelectors = Sets.difference(getAllProjectPaths(project), taskSelectors.keySet());
-        for (Path projectPath : projectsWithoutTaskSelectors) {
-            mapping.put(projectPath, new BuildInvocations(ImmutableList.<ProjectTask> of(), ImmutableList.<TaskSelector> of()));
+        private static TaskSelectorAggregate from(ProjectTask task) {
+            return new TaskSelectorAggregate(task, task.isPublic(), 1, ImmutableList.<TaskSelectorAggregate>of());
         }
 
-        return mapping.build();
-    }
-
-    private static ImmutableSet<Path> getAllProjectPaths(GradleProject project) {
-        ImmutableSet.Builder<Path> projectPaths = ImmutableSet.builder();
-        projectPaths.add(Path.from(project.getPath()));
-
-        for (GradleProject childProject : project.getChildren()) {
-            projectPaths.addAll(getAllProjectPaths(childProject));
+        private static TaskSelectorAggregate merge(List<TaskSelectorAggregate> aggregates) {
+            if (aggregates.size() == 1) {
+                return aggregates.get(0);
+            }
+
+            TaskSelectorAggregate first = aggregates.get(0);
+            ProjectTask taskWithShortestPath = first.taskWithShortestPath;
+            boolean isPublic = first.isPublic;
+            int size = first.size;
+            for (TaskSelectorAggregate aggregate : aggregates.subList(1, aggregates.size())) {
+                if (Path.Comparator.INSTANCE.compare(aggregate.taskWithShortestPath.getPath(), taskWithShortestPath.getPath()) < 0) {
+                    taskWithShortestPath = aggregate.taskWithShortestPath;
+                }
+                isPublic |= aggregate.isPublic;
+                size += aggregate.size;
+            }
+            return new TaskSelectorAggregate(taskWithShortestPath, isPublic, size, ImmutableList.copyOf(aggregates));
         }
-        return projectPaths.build();
     }
-
-}
\ No newline at end of file
+}
@@ -8,27 +8,41 @@
  */
 package org.eclipse.buildship.ui.internal.view.task;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.gradle.tooling.CancellationTokenSource;
 import org.gradle.tooling.model.eclipse.EclipseProject;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.PlatformUI;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.GradlePluginsRuntimeException;
 import org.eclipse.buildship.core.internal.configuration.GradleProjectNature;
 import org.eclipse.buildship.core.internal.operation.ToolingApiJob;
 import org.eclipse.buildship.core.internal.operation.ToolingApiJobResultHandler;
@@ -39,43 +53,130 @@ import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
 import org.eclipse.buildship.core.internal.workspace.ModelProvider;
 
 /**
- * Loads the tasks for all projects into the cache and refreshes the task view afterwards.
+ * Loads the tasks of the Gradle builds into the cache and refreshes the task view afterwards.
+ * <p/>
+ * The builds are loaded concurrently on a shared pool of daemon threads, at most
+ * {@link TaskViewPreferences#getLoadParallelism()} at a time. The tasks of each build are shown
+ * soon after the build is loaded, so a slow build doesn't hide the others. Setting the view content
+ * rebuilds the whole tree, hence the builds loaded within a short time window are shown in a single
+ * update. The removed builds and the faulty projects are updated together with the last loaded
+ * builds. If a root project directory is specified, then only the tasks of that build are reloaded
+ * and the rest of the view content is kept.
  */
-final class ReloadTaskViewJob extends ToolingApiJob<TaskViewContent> {
+final class ReloadTaskViewJob extends ToolingApiJob<Void> {
+
+    private static final long UPDATE_WINDOW_MILLIS = 200;
+
+    // idle threads are discarded, so the pool doesn't have to be shut down
+    private static final ThreadPoolExecutor LOAD_EXECUTOR = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new LoaderThreadFactory());
+
+    static {
+        LOAD_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
 
     private final TaskView taskView;
     private final FetchStrategy modelFetchStrategy;
+    private final Optional<File> rootProjectDirectory;
 
-    public ReloadTaskViewJob(TaskView taskView, FetchStrategy modelFetchStrategy) {
-        super("Loading tasks of all Gradle projects");
+    public ReloadTaskViewJob(TaskView taskView, FetchStrategy modelFetchStrategy, Optional<File> rootProjectDirectory) {
+        super(rootProjectDirectory.isPresent() ? "Loading tasks of Gradle build at " + rootProjectDirectory.get().getAbsolutePath() : "Loading tasks of all Gradle projects");
         this.taskView = Preconditions.checkNotNull(taskView);
         this.modelFetchStrategy = Preconditions.checkNotNull(modelFetchStrategy);
+        this.rootProjectDirectory = Preconditions.checkNotNull(rootProjectDirectory);
         setResultHandler(new ResultHandler());
-        setRule(ResourcesPlugin.getWorkspace().getRoot());
     }
 
     @Override
-    public TaskViewContent runInToolingApi(CancellationTokenSource tokenSource, IProgressMonitor monitor) throws Exception {
-        return loadContent(tokenSource, monitor);
+    public Void runInToolingApi(CancellationTokenSource tokenSource, IProgressMonitor monitor) throws Exception {
+        Set<InternalGradleBuild> gradleBuilds = CorePlugin.internalGradleWorkspace().getGradleBuilds();
+        Set<File> rootProjectDirectories = Sets.newHashSet();
+        List<InternalGradleBuild> reloadedBuilds = Lists.newArrayList();
+        for (InternalGradleBuild gradleBuild : gradleBuilds) {
+            File rootDir = gradleBuild.getBuildConfig().getRootProjectDirectory();
+            rootProjectDirectories.add(rootDir);
+            if (!this.rootProjectDirectory.isPresent() || this.rootProjectDirectory.get().equals(rootDir)) {
+                reloadedBuilds.add(gradleBuild);
+            }
+        }
+
+        monitor.beginTask(getName(), reloadedBuilds.size() + 1);
+        List<BuildTasks> lastLoadedBuilds = reloadedBuilds.isEmpty() ? ImmutableList.<BuildTasks>of() : loadBuilds(reloadedBuilds, tokenSource, monitor);
+        updateContent(lastLoadedBuilds, rootProjectDirectories, allGradleWorkspaceProjects());
+        monitor.worked(1);
+        return null;
     }
 
-    private TaskViewContent loadContent(CancellationTokenSource tokenSource, IProgressMonitor monitor) {
-        List<EclipseProject> projects = Lists.newArrayList();
-        Map<String, IProject> faultyProjects = allGradleWorkspaceProjects();
+    /*
+     * Publishes the loaded builds to the view, except for the last batch, which is returned so that
+     * the caller can update it together with the removed builds and the faulty projects.
+     */
+    private List<BuildTasks> loadBuilds(List<InternalGradleBuild> gradleBuilds, final CancellationTokenSource tokenSource, IProgressMonitor monitor) throws InterruptedException {
+        updateParallelism(TaskViewPreferences.getLoadParallelism());
+        CompletionService<BuildTasks> completionService = new ExecutorCompletionService<>(LOAD_EXECUTOR);
+        List<Future<BuildTasks>> futures = Lists.newArrayList();
+        try {
+            for (final InternalGradleBuild gradleBuild : gradleBuilds) {
+                futures.add(completionService.submit(new Callable<BuildTasks>() {
 
-        for (InternalGradleBuild gradleBuild : CorePlugin.internalGradleWorkspace().getGradleBuilds()) {
-            try {
-                Set<EclipseProject> eclipseProjects = fetchEclipseGradleProjects(gradleBuild.getModelProvider(), tokenSource, monitor);
-                for (EclipseProject eclipseProject : eclipseProjects) {
-                    faultyProjects.remove(eclipseProject.getName());
+                    @Override
+                    public BuildTasks call() {
+                        return loadBuild(gradleBuild, tokenSource);
+                    }
+                }));
+            }
+
+            int remaining = gradleBuilds.size();
+            while (true) {
+                List<BuildTasks> loadedBuilds = Lists.newArrayList();
+                loadedBuilds.add(completionService.take().get());
+                remaining--;
+
+                // collect the builds finishing shortly after the first one, to update the view only once
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(UPDATE_WINDOW_MILLIS);
+                Future<BuildTasks> next;
+                while (remaining > 0 && (next = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) != null) {
+                    loadedBuilds.add(next.get());
+                    remaining--;
+                }
+                monitor.worked(loadedBuilds.size());
+
+                if (remaining == 0) {
+                    return loadedBuilds;
                 }
-                projects.addAll(eclipseProjects);
-            } catch (RuntimeException e) {
-                // faulty projects will be represented as empty nodes
-                CorePlugin.logger().warn("Tasks can't be loaded for project located at " + gradleBuild.getBuildConfig().getRootProjectDirectory().getAbsolutePath(), e);
+                publishBuilds(loadedBuilds);
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new GradlePluginsRuntimeException(cause);
+        } finally {
+            // stop the loading of the remaining builds if the job is canceled or failed
+            for (Future<BuildTasks> future : futures) {
+                future.cancel(true);
             }
         }
-        return new TaskViewContent(projects, Lists.newArrayList(faultyProjects.values()));
+    }
+
+    private static synchronized void updateParallelism(int parallelism) {
+        // the core size can't exceed the maximum size, so the order of the updates depends on the direction
+        if (parallelism > LOAD_EXECUTOR.getMaximumPoolSize()) {
+            LOAD_EXECUTOR.setMaximumPoolSize(parallelism);
+            LOAD_EXECUTOR.setCorePoolSize(parallelism);
+        } else {
+            LOAD_EXECUTOR.setCorePoolSize(parallelism);
+            LOAD_EXECUTOR.setMaximumPoolSize(parallelism);
+        }
+    }
+
+    private BuildTasks loadBuild(InternalGradleBuild gradleBuild, CancellationTokenSource tokenSource) {
+        File rootDir = gradleBuild.getBuildConfig().getRootProjectDirectory();
+        try {
+            Set<EclipseProject> projects = fetchEclipseGradleProjects(gradleBuild.getModelProvider(), tokenSource, new NullProgressMonitor());
+            return new BuildTasks(rootDir, ImmutableList.copyOf(projects));
+        } catch (RuntimeException e) {
+            // faulty projects will be represented as empty nodes
+            CorePlugin.logger().warn("Tasks can't be loaded for project located at " + rootDir.getAbsolutePath(), e);
+            return new BuildTasks(rootDir, ImmutableList.<EclipseProject>of());
+        }
     }
 
     private Map<String, IProject> allGradleWorkspaceProjects() {
@@ -97,35 +198,94 @@ final class ReloadTaskViewJob extends ToolingApiJob<TaskViewContent> {
         return projects;
     }
 
-    private void refreshTaskView(final TaskViewContent content) {
+    private void publishBuilds(final List<BuildTasks> loadedBuilds) {
+        PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                TaskView taskView = ReloadTaskViewJob.this.taskView;
+                taskView.setContent(withBuilds(taskView.getContent(), loadedBuilds));
+            }
+        });
+    }
+
+    private void updateContent(final List<BuildTasks> loadedBuilds, final Set<File> rootProjectDirectories, final Map<String, IProject> gradleWorkspaceProjects) {
+        // the runnables are executed in order, so this one sees the content of all published builds and
+        // the view is up-to-date when the job finishes
         PlatformUI.getWorkbench().getDisplay().syncExec(new Runnable() {
 
             @Override
             public void run() {
-                ReloadTaskViewJob.this.taskView.setContent(content);
+                TaskView taskView = ReloadTaskViewJob.this.taskView;
+                TaskViewContent content = withBuilds(taskView.getContent(), loadedBuilds).retainBuilds(rootProjectDirectories);
+                Map<String, IProject> faultyProjects = Maps.newLinkedHashMap(gradleWorkspaceProjects);
+                for (EclipseProject eclipseProject : content.getProjects()) {
+                    faultyProjects.remove(eclipseProject.getName());
+                }
+                taskView.setContent(content.withFaultyProjects(Lists.newArrayList(faultyProjects.values())));
             }
         });
     }
 
+    private static TaskViewContent withBuilds(TaskViewContent content, List<BuildTasks> loadedBuilds) {
+        TaskViewContent result = content;
+        for (BuildTasks buildTasks : loadedBuilds) {
+            result = result.withBuild(buildTasks.rootProjectDirectory, buildTasks.projects);
+        }
+        return result;
+    }
+
     @Override
     public boolean shouldSchedule() {
         Job[] jobs = Job.getJobManager().find(CorePlugin.GRADLE_JOB_FAMILY);
         for (Job job : jobs) {
-            if (job instanceof ReloadTaskViewJob) {
+            if (job instanceof ReloadTaskViewJob && ((ReloadTaskViewJob) job).covers(this)) {
                 return false;
             }
         }
         return true;
     }
 
+    private boolean covers(ReloadTaskViewJob other) {
+        return !this.rootProjectDirectory.isPresent() || this.rootProjectDirectory.equals(other.rootProjectDirectory);
+    }
+
+    /**
+     * The projects loaded for a single Gradle build; empty if the build can't be loaded.
+     */
+    private static final class BuildTasks {
+
+        private final File rootProjectDirectory;
+        private final List<EclipseProject> projects;
+
+        private BuildTasks(File rootProjectDirectory, List<EclipseProject> projects) {
+            this.rootProjectDirectory = rootProjectDirectory;
+            this.projects = projects;
+        }
+    }
+
+    /**
+     * Creates named daemon threads for loading the builds.
+     */
+    private static final class LoaderThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Gradle task view loader " + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     /**
-     * Custom result handler to present the results in the view.
+     * Custom result handler logging the reload failures; the view is updated while the job runs.
      */
-    private class ResultHandler implements ToolingApiJobResultHandler<TaskViewContent> {
+    private class ResultHandler implements ToolingApiJobResultHandler<Void> {
 
         @Override
-        public void onSuccess(TaskViewContent content) {
-            refreshTaskView(content);
+        public void onSuccess(Void result) {
         }
 
         @Override
@@ -133,4 +293,4 @@ final class ReloadTaskViewJob extends ToolingApiJob<TaskViewContent> {
             CorePlugin.getInstance().getLog().log(status);
         }
     }
-}
\ No newline at end of file
+}
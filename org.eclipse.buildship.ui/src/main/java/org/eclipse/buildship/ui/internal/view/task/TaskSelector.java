@@ -10,6 +10,8 @@ package org.eclipse.buildship.ui.internal.view.task;
 
 import java.util.SortedSet;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableSortedSet;
 
 import org.eclipse.buildship.core.internal.util.gradle.Path;
@@ -27,7 +29,7 @@ public class TaskSelector {
     private Path projectPath;
     private boolean isPublic;
     private String group;
-    private ImmutableSortedSet<Path> selectedTaskPaths;
+    private Supplier<ImmutableSortedSet<Path>> selectedTaskPaths;
 
     public String getName() {
         return this.name;
@@ -70,14 +72,22 @@ public class TaskSelector {
     }
 
     public ImmutableSortedSet<Path> getSelectedTaskPaths() {
-        return this.selectedTaskPaths;
+        return this.selectedTaskPaths.get();
     }
 
     public void setSelectedTaskPaths(SortedSet<Path> selectedTaskPaths) {
-        this.selectedTaskPaths = ImmutableSortedSet.copyOfSorted(selectedTaskPaths);
+        this.selectedTaskPaths = Suppliers.ofInstance(ImmutableSortedSet.copyOfSorted(selectedTaskPaths));
     }
 
-    public static TaskSelector from(String name, String description, Path projectPath, boolean isPublic, String group, SortedSet<Path> selectedTaskPaths) {
+    private void setSelectedTaskPaths(Supplier<ImmutableSortedSet<Path>> selectedTaskPaths) {
+        this.selectedTaskPaths = selectedTaskPaths;
+    }
+
+    /*
+     * The selected task paths are supplied lazily, so the selectors of a project hierarchy can
+     * share the paths of their subtrees instead of copying them into every ancestor.
+     */
+    public static TaskSelector from(String name, String description, Path projectPath, boolean isPublic, String group, Supplier<ImmutableSortedSet<Path>> selectedTaskPaths) {
         TaskSelector taskSelector = new TaskSelector();
         taskSelector.setName(name);
         taskSelector.setDescription(description);
@@ -12,10 +12,14 @@
 
 package org.eclipse.buildship.ui.internal.view.task;
 
+import java.io.File;
 import java.util.List;
 
 import org.gradle.tooling.model.eclipse.EclipseProject;
 
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jface.viewers.DelegatingStyledCellLabelProvider;
@@ -68,6 +72,7 @@ public final class TaskView extends ViewPart implements NodeSelectionProvider {
     private Composite nonEmptyInputPage;
     private TreeViewer treeViewer;
     private FilteredTree filteredTree;
+    private TaskViewContent content = TaskViewContent.empty();
 
     @Override
     public void init(IViewSite site) throws PartInitException {
@@ -184,21 +189,46 @@ public final class TaskView extends ViewPart implements NodeSelectionProvider {
      * @param content the content, never null
      */
     public void setContent(TaskViewContent content) {
+        this.content = Preconditions.checkNotNull(content);
         if (!this.pages.isDisposed() && !this.treeViewer.getControl().isDisposed()) {
             List<EclipseProject> models = content.getProjects();
             List<IProject> faultyProjects = content.getFaultyProjects();
             this.pages.showPage((models.isEmpty() && faultyProjects.isEmpty()) ? this.emptyInputPage : this.nonEmptyInputPage);
-            this.treeViewer.setInput(content);
+            this.treeViewer.getTree().setRedraw(false);
+            try {
+                this.treeViewer.setInput(content);
+            } finally {
+                this.treeViewer.getTree().setRedraw(true);
+            }
         }
     }
 
+    /**
+     * Returns the content currently displayed in the view. Must be called in the UI thread.
+     *
+     * @return the current content, never null
+     */
+    public TaskViewContent getContent() {
+        return this.content;
+    }
+
     /**
      * Reloads the task model in the background and updates this view once the reload is complete.
      * Can be safely called outside the UI thread.
      * @param fetchStrategy determines how to get the model being visualized from the cache
      */
     public void reload(FetchStrategy fetchStrategy) {
-        new ReloadTaskViewJob(this, fetchStrategy).schedule();
+        new ReloadTaskViewJob(this, fetchStrategy, Optional.<File>absent()).schedule();
+    }
+
+    /**
+     * Reloads the tasks of a single Gradle build in the background and updates its projects in
+     * this view once the reload is complete. Can be safely called outside the UI thread.
+     * @param fetchStrategy determines how to get the model being visualized from the cache
+     * @param rootProjectDirectory the root project directory of the build to reload
+     */
+    public void reload(FetchStrategy fetchStrategy, File rootProjectDirectory) {
+        new ReloadTaskViewJob(this, fetchStrategy, Optional.of(rootProjectDirectory)).schedule();
     }
 
     @Override
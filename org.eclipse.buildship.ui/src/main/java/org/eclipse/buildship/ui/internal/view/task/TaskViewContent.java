@@ -11,30 +11,85 @@
 
 package org.eclipse.buildship.ui.internal.view.task;
 
+import java.io.File;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.gradle.tooling.model.eclipse.EclipseProject;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
 import org.eclipse.core.resources.IProject;
 
 /**
  * Encapsulates the content backing the {@link TaskView}.
+ * <p/>
+ * The projects are stored per Gradle build, so the content can be updated one build at a time.
  */
 public final class TaskViewContent {
 
-    private final List<EclipseProject> projects;
-    private final List<IProject> faultyProjects;
+    private static final TaskViewContent EMPTY = new TaskViewContent(ImmutableMap.<File, ImmutableList<EclipseProject>>of(), ImmutableList.<IProject>of());
+
+    private final ImmutableMap<File, ImmutableList<EclipseProject>> buildProjects;
+    private final ImmutableList<IProject> faultyProjects;
 
-    public TaskViewContent(List<EclipseProject> projects, List<IProject> faultyProjects) {
-        this.projects = projects;
+    private TaskViewContent(ImmutableMap<File, ImmutableList<EclipseProject>> buildProjects, ImmutableList<IProject> faultyProjects) {
+        this.buildProjects = buildProjects;
         this.faultyProjects = faultyProjects;
     }
 
     public List<EclipseProject> getProjects() {
-        return this.projects;
+        ImmutableList.Builder<EclipseProject> result = ImmutableList.builder();
+        for (List<EclipseProject> projects : this.buildProjects.values()) {
+            result.addAll(projects);
+        }
+        return result.build();
     }
 
     public List<IProject> getFaultyProjects() {
         return this.faultyProjects;
     }
+
+    /**
+     * Returns a copy of this content where the projects of the target build are replaced.
+     *
+     * @param rootProjectDirectory the root project directory of the build
+     * @param projects the projects of the build
+     * @return the new content
+     */
+    public TaskViewContent withBuild(File rootProjectDirectory, List<EclipseProject> projects) {
+        Map<File, ImmutableList<EclipseProject>> buildProjects = Maps.newLinkedHashMap(this.buildProjects);
+        buildProjects.put(Preconditions.checkNotNull(rootProjectDirectory), ImmutableList.copyOf(projects));
+        return new TaskViewContent(ImmutableMap.copyOf(buildProjects), this.faultyProjects);
+    }
+
+    /**
+     * Returns a copy of this content containing only the target builds.
+     *
+     * @param rootProjectDirectories the root project directories of the builds to keep
+     * @return the new content
+     */
+    public TaskViewContent retainBuilds(Set<File> rootProjectDirectories) {
+        Map<File, ImmutableList<EclipseProject>> buildProjects = Maps.newLinkedHashMap(this.buildProjects);
+        buildProjects.keySet().retainAll(rootProjectDirectories);
+        return new TaskViewContent(ImmutableMap.copyOf(buildProjects), this.faultyProjects);
+    }
+
+    /**
+     * Returns a copy of this content with the given faulty projects.
+     *
+     * @param faultyProjects the workspace projects for which no tasks could be loaded
+     * @return the new content
+     */
+    public TaskViewContent withFaultyProjects(List<IProject> faultyProjects) {
+        return new TaskViewContent(this.buildProjects, ImmutableList.copyOf(faultyProjects));
+    }
+
+    public static TaskViewContent empty() {
+        return EMPTY;
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2019 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.internal.view.task;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
+
+import org.eclipse.buildship.ui.internal.UiPlugin;
+
+/**
+ * Hidden preferences of the Gradle Tasks view, stored in the preferences of the UI plugin.
+ */
+final class TaskViewPreferences {
+
+    private static final String LOAD_PARALLELISM = "taskView.loadParallelism"; //$NON-NLS-1$
+
+    private TaskViewPreferences() {
+    }
+
+    /**
+     * Returns the maximum number of Gradle builds whose tasks are loaded concurrently for the
+     * Gradle Tasks view.
+     *
+     * @return the task view load parallelism, at least {@code 1}
+     */
+    static int getLoadParallelism() {
+        IPreferencesService service = Platform.getPreferencesService();
+        int parallelism = service == null ? 4 : service.getInt(UiPlugin.PLUGIN_ID, LOAD_PARALLELISM, 4, null);
+        return Math.max(1, parallelism);
+    }
+}
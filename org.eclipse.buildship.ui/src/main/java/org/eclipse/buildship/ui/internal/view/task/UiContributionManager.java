@@ -135,7 +135,7 @@ public final class UiContributionManager {
         this.taskView.getTreeViewer().addDoubleClickListener(this.treeViewerDoubleClickListener);
         this.taskView.getSite().getPage().addPartListener(this.contextActivatingViewPartListener);
         this.taskView.getSite().getWorkbenchWindow().getSelectionService().addSelectionListener(this.workbenchSelectionListener);
-        CorePlugin.listenerRegistry().addEventListener(this.workspaceProjectsChangeListener);
+        this.workspaceProjectsChangeListener.register(CorePlugin.listenerRegistry());
     }
 
     public void dispose() {
@@ -144,7 +144,7 @@ public final class UiContributionManager {
         this.taskView.getTreeViewer().removeDoubleClickListener(this.treeViewerDoubleClickListener);
         this.taskView.getSite().getPage().removePartListener(this.contextActivatingViewPartListener);
         this.taskView.getSite().getWorkbenchWindow().getSelectionService().removeSelectionListener(this.workbenchSelectionListener);
-        CorePlugin.listenerRegistry().removeEventListener(this.workspaceProjectsChangeListener);
+        this.workspaceProjectsChangeListener.unregister(CorePlugin.listenerRegistry());
     }
 
 }
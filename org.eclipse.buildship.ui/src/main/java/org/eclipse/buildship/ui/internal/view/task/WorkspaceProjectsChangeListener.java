@@ -11,26 +11,37 @@
 
 package org.eclipse.buildship.ui.internal.view.task;
 
+import java.io.File;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import com.google.common.base.Preconditions;
 
+import org.eclipse.core.resources.IProject;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.configuration.ProjectConfiguration;
 import org.eclipse.buildship.core.internal.event.Event;
-import org.eclipse.buildship.core.internal.event.EventListener;
+import org.eclipse.buildship.core.internal.event.EventDelivery;
+import org.eclipse.buildship.core.internal.event.ListenerRegistry;
+import org.eclipse.buildship.core.internal.event.TypedEventListener;
+import org.eclipse.buildship.core.internal.workspace.BaseProjectChangedEvent;
 import org.eclipse.buildship.core.internal.workspace.FetchStrategy;
 import org.eclipse.buildship.core.internal.workspace.GradleNatureAddedEvent;
-import org.eclipse.buildship.core.internal.workspace.ProjectClosedEvent;
-import org.eclipse.buildship.core.internal.workspace.ProjectCreatedEvent;
-import org.eclipse.buildship.core.internal.workspace.ProjectDeletedEvent;
-import org.eclipse.buildship.core.internal.workspace.ProjectMovedEvent;
-import org.eclipse.buildship.core.internal.workspace.ProjectOpenedEvent;
 
 /**
  * Tracks the creation/deletion/closed/opened of projects in the workspace and updates the {@link TaskView}
  * accordingly.
  * <p>
  * Every time a project is added or removed from the workspace or change the state of the project to open or
- * closed, the listener updates the content of the task view.
+ * closed, the listener updates the content of the task view. Only the builds of the changed projects are
+ * reloaded if they can be determined from the project configuration.
+ * <p>
+ * The events are received asynchronously, so the reloads don't block the resource change notification.
+ * A burst of events, like the ones sent during an import, triggers a single reload per build.
  */
-public final class WorkspaceProjectsChangeListener implements EventListener {
+public final class WorkspaceProjectsChangeListener implements TypedEventListener<Event> {
 
     private final TaskView taskView;
 
@@ -38,15 +49,35 @@ public final class WorkspaceProjectsChangeListener implements EventListener {
         this.taskView = Preconditions.checkNotNull(taskView);
     }
 
+    public void register(ListenerRegistry registry) {
+        registry.addEventListener(BaseProjectChangedEvent.class, this, EventDelivery.ASYNCHRONOUS);
+        registry.addEventListener(GradleNatureAddedEvent.class, this, EventDelivery.ASYNCHRONOUS);
+    }
+
+    public void unregister(ListenerRegistry registry) {
+        registry.removeEventListener(this);
+    }
+
     @Override
-    public void onEvent(Event event) {
-        if (event instanceof GradleNatureAddedEvent
-                || event instanceof ProjectCreatedEvent
-                || event instanceof ProjectDeletedEvent
-                || event instanceof ProjectClosedEvent
-                || event instanceof ProjectOpenedEvent
-                || event instanceof ProjectMovedEvent) {
-            this.taskView.reload(FetchStrategy.LOAD_IF_NOT_CACHED);
+    public void onEvents(List<? extends Event> events) {
+        Set<File> rootProjectDirectories = new LinkedHashSet<>();
+        for (Event event : events) {
+            File rootProjectDirectory = findRootProjectDirectory(event);
+            if (rootProjectDirectory == null) {
+                this.taskView.reload(FetchStrategy.LOAD_IF_NOT_CACHED);
+                return;
+            }
+            rootProjectDirectories.add(rootProjectDirectory);
+        }
+        for (File rootProjectDirectory : rootProjectDirectories) {
+            this.taskView.reload(FetchStrategy.LOAD_IF_NOT_CACHED, rootProjectDirectory);
         }
     }
+
+    private static File findRootProjectDirectory(Event event) {
+        // projects without a readable Gradle configuration (e.g. deleted or closed ones) require a full reload
+        IProject project = event instanceof GradleNatureAddedEvent ? ((GradleNatureAddedEvent) event).getProject() : ((BaseProjectChangedEvent) event).getProject();
+        ProjectConfiguration configuration = CorePlugin.configurationManager().tryLoadProjectConfiguration(project);
+        return configuration == null ? null : configuration.getBuildConfiguration().getRootProjectDirectory();
+    }
 }